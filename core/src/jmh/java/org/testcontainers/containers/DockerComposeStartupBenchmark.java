@@ -0,0 +1,87 @@
+package org.testcontainers.containers;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starting a compose environment of a database, a service waiting for it to be healthy and two independent services,
+ * with Docker Compose in a container, the local Docker Compose binary, or the native engine. Only the start is
+ * measured, the environment is stopped after every invocation. The images are pulled beforehand. Needs a Docker
+ * environment, and {@code docker-compose} on the PATH for the local mode.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+@Fork(1)
+public class DockerComposeStartupBenchmark {
+
+    private static final String COMPOSE_FILE =
+        "version: '2.4'\n" +
+        "services:\n" +
+        "  db:\n" +
+        "    image: redis:3.0.2\n" +
+        "    healthcheck:\n" +
+        "      test: [\"CMD\", \"redis-cli\", \"ping\"]\n" +
+        "      interval: 200ms\n" +
+        "  app:\n" +
+        "    image: redis:3.0.2\n" +
+        "    command: sh -c 'redis-cli -h db ping && sleep 10000'\n" +
+        "    depends_on:\n" +
+        "      db:\n" +
+        "        condition: service_healthy\n" +
+        "  worker:\n" +
+        "    image: alpine:3.2\n" +
+        "    command: sleep 10000\n" +
+        "  cache:\n" +
+        "    image: redis:3.0.2\n";
+
+    @Param({"container", "local", "native"})
+    public String mode;
+
+    private File composeFile;
+
+    private DockerComposeContainer<?> environment;
+
+    @Setup(Level.Trial)
+    public void writeComposeFile() throws IOException {
+        Path directory = Files.createTempDirectory("compose-benchmark");
+        composeFile = Files.write(directory.resolve("docker-compose.yml"), COMPOSE_FILE.getBytes(StandardCharsets.UTF_8)).toFile();
+    }
+
+    @Setup(Level.Invocation)
+    public void createEnvironment() {
+        environment = new DockerComposeContainer<>(composeFile)
+            .withLocalCompose("local".equals(mode))
+            .withNativeCompose("native".equals(mode));
+    }
+
+    @TearDown(Level.Invocation)
+    public void stopEnvironment() {
+        environment.stop();
+    }
+
+    @Benchmark
+    public void start() {
+        environment.start();
+    }
+}
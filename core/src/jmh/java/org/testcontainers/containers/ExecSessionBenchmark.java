@@ -0,0 +1,67 @@
+package org.testcontainers.containers;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Running a series of short commands in a container, as done by module setup code, with one exec each or through an
+ * {@link ExecSession}. Needs a Docker environment.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ExecSessionBenchmark {
+
+    @Param({"1", "10", "50"})
+    public int commands;
+
+    private GenericContainer<?> container;
+
+    @Setup(Level.Trial)
+    public void startContainer() {
+        container = new GenericContainer<>(DockerImageName.parse("alpine:3.2")).withCommand("top");
+        container.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContainer() {
+        container.stop();
+    }
+
+    @Benchmark
+    public void separateExecs(Blackhole blackhole) throws Exception {
+        for (int i = 0; i < commands; i++) {
+            blackhole.consume(container.execInContainer("echo", "command", String.valueOf(i)));
+        }
+    }
+
+    /**
+     * Includes opening and closing the session, i.e. the cost of a single exec
+     */
+    @Benchmark
+    public void session(Blackhole blackhole) throws Exception {
+        try (ExecSession session = container.openExecSession()) {
+            for (int i = 0; i < commands; i++) {
+                blackhole.consume(session.execInContainer("echo", "command", String.valueOf(i)));
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package org.testcontainers.containers;
+
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.testcontainers.utility.DockerImageName;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A container calling an HTTP server of the test JVM, which only listens on the loopback interface, through the
+ * forwarded host port: downloading a large response (throughput), and many small requests (latency). Every mode runs in
+ * its own fork, as the forwarding mode is the same for the whole JVM. Needs a local Docker host for the relay mode.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class HostPortForwardingBenchmark {
+
+    private static final int LARGE_RESPONSE_SIZE = 256 * 1024 * 1024;
+
+    private static final int CONTAINER_PORT = 8080;
+
+    private static final int SMALL_REQUESTS = 50;
+
+    @Param({"ssh", "relay"})
+    public String mode;
+
+    private HttpServer server;
+
+    private GenericContainer<?> client;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        byte[] chunk = new byte[64 * 1024];
+        server.createContext("/large", exchange -> {
+            exchange.sendResponseHeaders(200, LARGE_RESPONSE_SIZE);
+            try (OutputStream body = exchange.getResponseBody()) {
+                for (int written = 0; written < LARGE_RESPONSE_SIZE; written += chunk.length) {
+                    body.write(chunk);
+                }
+            }
+        });
+        server.createContext("/small", exchange -> {
+            exchange.sendResponseHeaders(200, 2);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write("ok".getBytes());
+            }
+        });
+        server.start();
+
+        PortForwardingContainer.INSTANCE.exposeHostPort(server.getAddress().getPort(), CONTAINER_PORT, mode);
+
+        client = new GenericContainer<>(DockerImageName.parse("alpine:3.2")).withCommand("top");
+        client.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.stop();
+        server.stop(0);
+    }
+
+    @Benchmark
+    public void throughput() throws Exception {
+        exec("wget -q -O /dev/null http://" + GenericContainer.INTERNAL_HOST_HOSTNAME + ":" + CONTAINER_PORT + "/large");
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SMALL_REQUESTS)
+    public void latency() throws Exception {
+        exec(
+            "for i in $(seq " + SMALL_REQUESTS + "); do " +
+                "wget -q -O /dev/null http://" + GenericContainer.INTERNAL_HOST_HOSTNAME + ":" + CONTAINER_PORT + "/small || exit 1; " +
+                "done"
+        );
+    }
+
+    private void exec(String script) throws Exception {
+        Container.ExecResult result = client.execInContainer("sh", "-c", script);
+        if (result.getExitCode() != 0) {
+            throw new IllegalStateException("Request failed: " + result.getStderr());
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package org.testcontainers.images.builder;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.testcontainers.utility.MountableFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Throughput of producing a ~500MB build context (many small files and a few large ones) and streaming it through a
+ * pipe, as {@link ImageFromDockerfile} does towards the daemon. The daemon itself is not involved: the other end of
+ * the pipe is drained by a thread, so the results isolate the cost of archiving, compressing and buffering.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class BuildContextWriterBenchmark {
+
+    private static final int SMALL_FILES = 20_000;
+
+    private static final int SMALL_FILE_SIZE = 16 * 1024;
+
+    private static final int LARGE_FILES = 4;
+
+    private static final int LARGE_FILE_SIZE = 45 * 1024 * 1024;
+
+    /**
+     * See {@link java.util.zip.Deflater}: 0 disables compression
+     */
+    @Param({"0", "1", "6"})
+    public int compressionLevel;
+
+    private Path contextDirectory;
+
+    private Map<String, Transferable> context;
+
+    @Setup(Level.Trial)
+    public void createContext() throws IOException {
+        contextDirectory = Files.createTempDirectory("build-context-benchmark");
+        Random random = new Random(42);
+
+        // half random, half repeated, so that compression has something to do
+        byte[] block = new byte[SMALL_FILE_SIZE];
+        for (int i = 0; i < SMALL_FILES; i++) {
+            Path file = contextDirectory.resolve("src/module-" + (i % 100) + "/file-" + i);
+            Files.createDirectories(file.getParent());
+            random.nextBytes(block);
+            Arrays.fill(block, SMALL_FILE_SIZE / 2, SMALL_FILE_SIZE, (byte) i);
+            Files.write(file, block);
+        }
+
+        byte[] largeBlock = new byte[1024 * 1024];
+        for (int i = 0; i < LARGE_FILES; i++) {
+            Path file = contextDirectory.resolve("lib/large-" + i + ".bin");
+            Files.createDirectories(file.getParent());
+            try (OutputStream out = Files.newOutputStream(file)) {
+                for (int written = 0; written < LARGE_FILE_SIZE; written += largeBlock.length) {
+                    random.nextBytes(largeBlock);
+                    out.write(largeBlock);
+                }
+            }
+        }
+
+        context = Collections.singletonMap("app", MountableFile.forHostPath(contextDirectory));
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteContext() throws IOException {
+        try (Stream<Path> paths = Files.walk(contextDirectory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    /**
+     * The former pipeline: default pipe size, files archived one after the other, gzip with default settings.
+     */
+    @Benchmark
+    public long sequential() throws Exception {
+        PipedInputStream in = new PipedInputStream();
+        PipedOutputStream out = new PipedOutputStream(in);
+        CompletableFuture<Long> drained = drain(in);
+
+        try (
+            GZIPOutputStream gzipStream = new GZIPOutputStream(out);
+            TarArchiveOutputStream tarArchive = new TarArchiveOutputStream(gzipStream)
+        ) {
+            tarArchive.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
+            for (Map.Entry<String, Transferable> entry : context.entrySet()) {
+                entry.getValue().transferTo(tarArchive, entry.getKey());
+            }
+            tarArchive.finish();
+        }
+        return drained.get();
+    }
+
+    @Benchmark
+    public long buildContextWriter() throws Exception {
+        PipedInputStream in = new PipedInputStream(BuildContextWriter.BUFFER_SIZE);
+        PipedOutputStream out = new PipedOutputStream(in);
+        CompletableFuture<Long> drained = drain(in);
+
+        new BuildContextWriter(compressionLevel).write(context, out);
+        out.close();
+        return drained.get();
+    }
+
+    private static CompletableFuture<Long> drain(InputStream in) {
+        return CompletableFuture.supplyAsync(() -> {
+            byte[] buffer = new byte[BuildContextWriter.BUFFER_SIZE];
+            long total = 0;
+            try (InputStream stream = in) {
+                int read;
+                while ((read = stream.read(buffer)) != -1) {
+                    total += read;
+                }
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+            return total;
+        });
+    }
+}
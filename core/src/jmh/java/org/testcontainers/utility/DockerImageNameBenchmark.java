@@ -0,0 +1,139 @@
+package org.testcontainers.utility;
+
+import com.google.common.net.HostAndPort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Parsing and validating the repo tags of a host with thousands of local images, as found by e.g. {@code docker images}:
+ * mostly Docker Hub names, some of them with a registry, a few pinned by digest.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DockerImageNameBenchmark {
+
+    private static final int NAMES = 3000;
+
+    private static final String[] REGISTRIES = {"", "", "", "docker.io/", "quay.io/", "registry.example.com:5000/", "localhost/"};
+
+    private static final String[] REPOS = {
+        "alpine", "postgres", "mysql", "redis", "library/nginx", "confluentinc/cp-kafka", "testcontainers/ryuk",
+        "testcontainers/sshd", "selenium/standalone-chrome-debug", "team/service_name", "org/some-app/worker",
+    };
+
+    private static final String[] TAGS = {
+        "latest", "3.12", "13-alpine", "5.7.32", "6-alpine3.12", "1.2.3-SNAPSHOT", "0.3.0", "4.0.0_build.17",
+    };
+
+    /* The former, regex based, parsing and validation */
+    private static final String ALPHA_NUMERIC = "[a-z0-9]+";
+    private static final String SEPARATOR = "([.]|_{1,2}|-+)";
+    private static final String REPO_NAME_PART = ALPHA_NUMERIC + "(" + SEPARATOR + ALPHA_NUMERIC + ")*";
+    private static final Pattern REPO_NAME = Pattern.compile(REPO_NAME_PART + "(/" + REPO_NAME_PART + ")*");
+
+    private String[] names;
+
+    @Setup
+    public void generateNames() {
+        Random random = new Random(42);
+        names = new String[NAMES];
+        for (int i = 0; i < NAMES; i++) {
+            String name = REGISTRIES[random.nextInt(REGISTRIES.length)] + REPOS[random.nextInt(REPOS.length)];
+            if (random.nextInt(20) == 0) {
+                StringBuilder hash = new StringBuilder();
+                for (int j = 0; j < 64; j++) {
+                    hash.append(Character.forDigit(random.nextInt(16), 16));
+                }
+                names[i] = name + "@sha256:" + hash;
+            } else {
+                names[i] = name + ":" + TAGS[random.nextInt(TAGS.length)];
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NAMES)
+    public void legacy(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(legacyParseAndValidate(name));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NAMES)
+    public void uncached(Blackhole blackhole) {
+        for (String name : names) {
+            DockerImageName imageName = DockerImageName.parseUncached(name);
+            imageName.assertValid();
+            blackhole.consume(imageName);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NAMES)
+    public void cached(Blackhole blackhole) {
+        for (String name : names) {
+            DockerImageName imageName = DockerImageName.parse(name);
+            imageName.assertValid();
+            blackhole.consume(imageName);
+        }
+    }
+
+    private static String[] legacyParseAndValidate(String fullImageName) {
+        final int slashIndex = fullImageName.indexOf('/');
+
+        String registry;
+        String remoteName;
+        if (slashIndex == -1 ||
+            (!fullImageName.substring(0, slashIndex).contains(".") &&
+                !fullImageName.substring(0, slashIndex).contains(":") &&
+                !fullImageName.substring(0, slashIndex).equals("localhost"))) {
+            registry = "";
+            remoteName = fullImageName;
+        } else {
+            registry = fullImageName.substring(0, slashIndex);
+            remoteName = fullImageName.substring(slashIndex + 1);
+        }
+
+        String repo;
+        String version;
+        boolean validVersion;
+        if (remoteName.contains("@sha256:")) {
+            repo = remoteName.split("@sha256:")[0];
+            version = remoteName.split("@sha256:")[1];
+            validVersion = version.matches("[0-9a-fA-F]{32,}");
+        } else if (remoteName.contains(":")) {
+            repo = remoteName.split(":")[0];
+            version = remoteName.split(":")[1];
+            validVersion = version.matches("[\\w][\\w.\\-]{0,127}");
+        } else {
+            repo = remoteName;
+            version = "";
+            validVersion = true;
+        }
+
+        HostAndPort.fromString(registry);
+        if (!REPO_NAME.matcher(repo).matches() || !validVersion) {
+            throw new IllegalArgumentException(fullImageName);
+        }
+        return new String[]{registry, repo, version};
+    }
+}
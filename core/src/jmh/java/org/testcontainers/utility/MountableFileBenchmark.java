@@ -0,0 +1,118 @@
+package org.testcontainers.utility;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.io.output.NullOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Archiving a fixture directory made of many small files, as done when copying it into a container or sending it as
+ * part of a build context. The archive is discarded, so that the results isolate walking the tree and reading the files.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MountableFileBenchmark {
+
+    @Param({"1000", "20000"})
+    public int files;
+
+    @Param({"512", "8192"})
+    public int fileSize;
+
+    private Path directory;
+
+    private MountableFile mountableFile;
+
+    @Setup(Level.Trial)
+    public void createTree() throws IOException {
+        directory = Files.createTempDirectory("mountable-file-benchmark");
+        Random random = new Random(42);
+        byte[] content = new byte[fileSize];
+        for (int i = 0; i < files; i++) {
+            // a few levels of nesting, ~50 files per directory
+            Path file = directory.resolve("module-" + (i % 20) + "/package-" + (i % 400) + "/file-" + i + ".txt");
+            Files.createDirectories(file.getParent());
+            random.nextBytes(content);
+            Files.write(file, content);
+        }
+        mountableFile = MountableFile.forHostPath(directory);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteTree() {
+        PathUtils.recursiveDeleteDir(directory);
+    }
+
+    @Benchmark
+    public void walkFileTree() throws IOException {
+        try (TarArchiveOutputStream tarArchive = newTarArchive()) {
+            mountableFile.transferTo(tarArchive, "fixtures");
+            tarArchive.finish();
+        }
+    }
+
+    /**
+     * The former implementation: canonical paths for every file, {@link Files#copy} for the contents
+     */
+    @Benchmark
+    public void recursiveCanonicalPaths() throws IOException {
+        try (TarArchiveOutputStream tarArchive = newTarArchive()) {
+            legacyRecursiveTar("fixtures", directory.toString(), directory.toString(), tarArchive);
+            tarArchive.finish();
+        }
+    }
+
+    private static TarArchiveOutputStream newTarArchive() {
+        TarArchiveOutputStream tarArchive = new TarArchiveOutputStream(new NullOutputStream());
+        tarArchive.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
+        return tarArchive;
+    }
+
+    private static void legacyRecursiveTar(String entryFilename, String rootPath, String itemPath, TarArchiveOutputStream tarArchive) throws IOException {
+        final File sourceFile = new File(itemPath).getCanonicalFile();
+        final File sourceRootFile = new File(rootPath).getCanonicalFile();
+        final String relativePathToSourceFile = sourceRootFile.toPath().relativize(sourceFile.toPath()).toFile().toString();
+
+        final String tarEntryFilename = relativePathToSourceFile.isEmpty()
+            ? entryFilename
+            : entryFilename + "/" + relativePathToSourceFile;
+
+        final TarArchiveEntry tarEntry = new TarArchiveEntry(sourceFile, tarEntryFilename.replaceAll("^/", ""));
+        tarEntry.setMode(MountableFile.getUnixFileMode(sourceFile.toPath()));
+        tarArchive.putArchiveEntry(tarEntry);
+        if (sourceFile.isFile()) {
+            Files.copy(sourceFile.toPath(), tarArchive);
+        }
+        tarArchive.closeArchiveEntry();
+
+        final File[] children = sourceFile.listFiles();
+        if (children != null) {
+            for (final File child : children) {
+                legacyRecursiveTar(entryFilename, sourceRootFile.getCanonicalPath(), child.getCanonicalPath(), tarArchive);
+            }
+        }
+    }
+}
@@ -7,6 +7,7 @@ import com.github.dockerjava.api.exception.InternalServerErrorException;
 import com.github.dockerjava.api.exception.NotFoundException;
 import com.github.dockerjava.api.model.AccessMode;
 import com.github.dockerjava.api.model.Bind;
+import com.github.dockerjava.api.model.EventType;
 import com.github.dockerjava.api.model.Frame;
 import com.github.dockerjava.api.model.Image;
 import com.github.dockerjava.api.model.Info;
@@ -20,11 +21,15 @@ import lombok.Synchronized;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang.SystemUtils;
+import org.jetbrains.annotations.Nullable;
+import org.testcontainers.dockerclient.DockerClientMetrics;
 import org.testcontainers.dockerclient.DockerClientProviderStrategy;
 import org.testcontainers.dockerclient.DockerMachineClientProviderStrategy;
+import org.testcontainers.dockerclient.MetricsDockerClient;
 import org.testcontainers.dockerclient.TransportConfig;
 import org.testcontainers.images.TimeLimitedLoggedPullImageResultCallback;
 import org.testcontainers.utility.ComparableVersion;
+import org.testcontainers.utility.DockerEventsHub;
 import org.testcontainers.utility.MountableFile;
 import org.testcontainers.utility.ResourceReaper;
 import org.testcontainers.utility.TestcontainersConfiguration;
@@ -39,6 +44,12 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.ServiceLoader;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 
@@ -62,6 +73,9 @@ public class DockerClientFactory {
     );
 
     private static final String TINY_IMAGE = TestcontainersConfiguration.getInstance().getTinyDockerImageName().asCanonicalNameString();
+
+    private static final String CHECKS_CACHE_KEY = "checks.cache";
+
     private static DockerClientFactory instance;
 
     // Cached client configuration
@@ -72,13 +86,37 @@ public class DockerClientFactory {
     DockerClient dockerClient;
 
     @VisibleForTesting
-    RuntimeException cachedClientFailure;
+    volatile RuntimeException cachedClientFailure;
 
     private String activeApiVersion;
     private String activeExecutionDriver;
 
-    @Getter(lazy = true)
-    private final boolean fileMountingSupported = checkMountableFile();
+    private volatile CompletableFuture<Void> environmentChecks;
+
+    /**
+     * Failure of the background environment checks, only reported by {@link #awaitEnvironmentChecks()}: the client
+     * itself works, and e.g. cleanup must still be able to use it
+     */
+    @VisibleForTesting
+    volatile RuntimeException environmentChecksFailure;
+
+    /**
+     * Statistics of the global client's Docker commands, only recorded if enabled in the configuration.
+     */
+    @Getter
+    @UnstableAPI
+    private final DockerClientMetrics clientMetrics = new DockerClientMetrics();
+
+    private volatile CompletableFuture<Boolean> fileMountingSupported;
+
+    private static final AtomicInteger CHECKS_THREAD_ID = new AtomicInteger(0);
+
+    private static final Executor CHECKS_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(TESTCONTAINERS_THREAD_GROUP, runnable);
+        thread.setDaemon(true);
+        thread.setName("testcontainers-checks-" + CHECKS_THREAD_ID.incrementAndGet());
+        return thread;
+    });
 
 
     static {
@@ -155,27 +193,42 @@ public class DockerClientFactory {
     }
 
     /**
+     * Environment checks (such as the disk space check) are started in the background and do not block this method,
+     * see {@link #awaitEnvironmentChecks()}.
      *
      * @return a new initialized Docker client
      */
     @Synchronized
     public DockerClient client() {
 
-        if (dockerClient != null) {
-            return dockerClient;
-        }
-
         // fail-fast if checks have failed previously
         if (cachedClientFailure != null) {
             log.debug("There is a cached checks failure - throwing", cachedClientFailure);
             throw cachedClientFailure;
         }
 
+        if (dockerClient != null) {
+            return dockerClient;
+        }
+
         final DockerClientProviderStrategy strategy = getOrInitializeStrategy();
 
         String hostIpAddress = strategy.getDockerHostIpAddress();
         log.info("Docker host IP address is {}", hostIpAddress);
-        final DockerClient client = new DelegatingDockerClient(strategy.getDockerClient()) {
+        DockerClient strategyClient = strategy.getDockerClient();
+        if (TestcontainersConfiguration.getInstance().isClientMetricsEnabled()) {
+            log.debug("Docker client metrics are enabled");
+            strategyClient = new MetricsDockerClient(strategyClient, clientMetrics);
+            Runtime.getRuntime().addShutdownHook(new Thread(TESTCONTAINERS_THREAD_GROUP, () -> log.info(clientMetrics.getSummary())));
+        }
+
+        InspectCachingDockerClient inspectCachingClient = new InspectCachingDockerClient(
+            strategyClient,
+            TestcontainersConfiguration.getInstance().getInspectCacheTtl()
+        );
+        strategyClient = inspectCachingClient;
+
+        final DockerClient client = new DelegatingDockerClient(strategyClient) {
             @Override
             public void close() {
                 throw new IllegalStateException("You should never close the global DockerClient!");
@@ -216,34 +269,133 @@ public class DockerClientFactory {
             try {
                 log.info("Checking the system...");
                 checkDockerVersion(version.getVersion());
-                if (ryukContainerId != null) {
-                    checkDiskSpace(client, ryukContainerId);
-                } else {
-                    runInsideDocker(
-                        client,
-                        createContainerCmd -> {
-                            createContainerCmd.withName("testcontainers-checks-" + SESSION_ID);
-                            createContainerCmd.getHostConfig().withAutoRemove(true);
-                            createContainerCmd.withCmd("tail", "-f", "/dev/null");
-                        },
-                        (__, containerId) -> {
-                            checkDiskSpace(client, containerId);
-                            return "";
-                        }
-                    );
-                }
             } catch (RuntimeException e) {
                 cachedClientFailure = e;
                 throw e;
             }
+            environmentChecks = startEnvironmentChecks(client, dockerInfo.getId(), ryukContainerId);
         } else {
             log.debug("Checks are disabled");
         }
 
         dockerClient = client;
+
+        // Containers also change state on their own (e.g. when their process exits), which only matters when
+        // inspections are cached, as listening for it keeps an events stream open
+        if (TestcontainersConfiguration.getInstance().getInspectCacheTtl() > 0) {
+            DockerEventsHub.instance().addListener(EventType.CONTAINER, event -> {
+                String containerId = event.getActor() != null ? event.getActor().getId() : event.getId();
+                if (containerId != null) {
+                    inspectCachingClient.invalidate(containerId);
+                }
+            });
+        }
+
         return dockerClient;
     }
 
+    /**
+     * Waits for the environment checks that {@link #client()} started in the background.
+     *
+     * @throws IllegalStateException if one of the checks has failed
+     */
+    @UnstableAPI
+    public void awaitEnvironmentChecks() {
+        client();
+
+        CompletableFuture<Void> checks = environmentChecks;
+        if (checks != null) {
+            try {
+                checks.join();
+            } catch (CompletionException e) {
+                // the failure is recorded by the checks themselves
+            }
+        }
+
+        RuntimeException failure = environmentChecksFailure;
+        if (failure != null) {
+            log.debug("There is a cached environment checks failure - throwing", failure);
+            throw failure;
+        }
+    }
+
+    private CompletableFuture<Void> startEnvironmentChecks(DockerClient client, @Nullable String daemonId, @Nullable String ryukContainerId) {
+        Optional<Boolean> cachedFileMountingSupport = getCachedFileMountingSupport(daemonId);
+        if (cachedFileMountingSupport.isPresent()) {
+            log.info("Environment checks have recently passed for this Docker daemon, skipping them");
+            fileMountingSupported = CompletableFuture.completedFuture(cachedFileMountingSupport.get());
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<Void> diskSpaceCheck = CompletableFuture.runAsync(() -> {
+            if (ryukContainerId != null) {
+                checkDiskSpace(client, ryukContainerId);
+            } else {
+                runInsideDocker(
+                    client,
+                    createContainerCmd -> {
+                        createContainerCmd.withName("testcontainers-checks-" + SESSION_ID);
+                        createContainerCmd.getHostConfig().withAutoRemove(true);
+                        createContainerCmd.withCmd("tail", "-f", "/dev/null");
+                    },
+                    (__, containerId) -> {
+                        checkDiskSpace(client, containerId);
+                        return "";
+                    }
+                );
+            }
+        }, CHECKS_EXECUTOR);
+
+        CompletableFuture<Boolean> fileMountingCheck = CompletableFuture.supplyAsync(() -> checkMountableFile(client), CHECKS_EXECUTOR);
+        fileMountingSupported = fileMountingCheck;
+
+        return CompletableFuture.allOf(diskSpaceCheck, fileMountingCheck).whenComplete((__, e) -> {
+            if (e != null) {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                environmentChecksFailure = cause instanceof RuntimeException
+                    ? (RuntimeException) cause
+                    : new IllegalStateException("Environment checks failed", cause);
+            } else if (daemonId != null && TestcontainersConfiguration.getInstance().getChecksCacheTtl() > 0) {
+                // a single entry, for the last daemon checked, so that the file does not grow with every daemon
+                TestcontainersConfiguration.getInstance().updateGlobalConfig(
+                    CHECKS_CACHE_KEY,
+                    daemonId + "," + System.currentTimeMillis() + "," + fileMountingCheck.join()
+                );
+            }
+        });
+    }
+
+    /**
+     * @return file mounting support as recorded by the last successful checks, if they were run against the same
+     * daemon recently enough
+     */
+    private Optional<Boolean> getCachedFileMountingSupport(@Nullable String daemonId) {
+        long ttl = TimeUnit.SECONDS.toMillis(TestcontainersConfiguration.getInstance().getChecksCacheTtl());
+        if (daemonId == null || ttl <= 0) {
+            return Optional.empty();
+        }
+
+        String cachedValue = TestcontainersConfiguration.getInstance().getUserProperty(CHECKS_CACHE_KEY, null);
+        if (cachedValue == null) {
+            return Optional.empty();
+        }
+
+        try {
+            String[] parts = cachedValue.split(",");
+            if (!daemonId.equals(parts[0])) {
+                return Optional.empty();
+            }
+            long checkedAt = Long.parseLong(parts[1]);
+            if (System.currentTimeMillis() - checkedAt > ttl) {
+                return Optional.empty();
+            }
+            return Optional.of(Boolean.parseBoolean(parts[2]));
+        } catch (RuntimeException e) {
+            log.debug("Ignoring invalid cached checks result {}", cachedValue, e);
+            return Optional.empty();
+        }
+    }
+
     private void checkDockerVersion(String dockerVersion) {
         boolean versionIsSufficient = new ComparableVersion(dockerVersion).compareTo(new ComparableVersion("1.6.0")) >= 0;
         check("Docker server version should be at least 1.6.0", versionIsSufficient);
@@ -295,14 +447,29 @@ public class DockerClientFactory {
         }
     }
 
-    private boolean checkMountableFile() {
-        DockerClient dockerClient = client();
+    /**
+     * @return whether files from the test host can be mounted into containers
+     */
+    public boolean isFileMountingSupported() {
+        DockerClient client = client();
+
+        if (fileMountingSupported == null) {
+            synchronized (this) {
+                if (fileMountingSupported == null) {
+                    fileMountingSupported = CompletableFuture.completedFuture(checkMountableFile(client));
+                }
+            }
+        }
+        return fileMountingSupported.join();
+    }
 
+    private boolean checkMountableFile(DockerClient dockerClient) {
         MountableFile mountableFile = MountableFile.forClasspathResource(ResourceReaper.class.getName().replace(".", "/") + ".class");
 
         Volume volume = new Volume("/dummy");
         try {
             return runInsideDocker(
+                dockerClient,
                 createContainerCmd -> createContainerCmd.withBinds(new Bind(mountableFile.getResolvedPath(), volume, AccessMode.ro)),
                 (__, containerId) -> {
                     try (InputStream stream = dockerClient.copyArchiveFromContainerCmd(containerId, volume.getPath()).exec()) {
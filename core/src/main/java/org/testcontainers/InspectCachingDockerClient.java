@@ -0,0 +1,228 @@
+package org.testcontainers;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.command.ConnectToNetworkCmd;
+import com.github.dockerjava.api.command.DisconnectFromNetworkCmd;
+import com.github.dockerjava.api.command.InspectContainerCmd;
+import com.github.dockerjava.api.command.InspectContainerResponse;
+import com.github.dockerjava.api.command.KillContainerCmd;
+import com.github.dockerjava.api.command.PauseContainerCmd;
+import com.github.dockerjava.api.command.RemoveContainerCmd;
+import com.github.dockerjava.api.command.RestartContainerCmd;
+import com.github.dockerjava.api.command.StartContainerCmd;
+import com.github.dockerjava.api.command.StopContainerCmd;
+import com.github.dockerjava.api.command.SyncDockerCmd;
+import com.github.dockerjava.api.command.UnpauseContainerCmd;
+import lombok.experimental.Delegate;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Wrapper for {@link DockerClient} that reduces the number of {@code inspectContainerCmd} round trips:
+ * <ul>
+ *     <li>concurrent inspections of the same container share a single in-flight request</li>
+ *     <li>the result is cached for a short time, unless a command issued through this client
+ *     (start, stop, kill, network changes, ...) or {@link #invalidate(String)} tells otherwise</li>
+ * </ul>
+ */
+@SuppressWarnings("unchecked")
+class InspectCachingDockerClient implements DockerClient {
+
+    @Delegate(excludes = InterceptedMethods.class)
+    private final DockerClient wrappedClient;
+
+    private final long ttlNanos;
+
+    private final Map<String, CachedInspection> inspections = new ConcurrentHashMap<>();
+
+    InspectCachingDockerClient(DockerClient wrappedClient, long ttlMillis) {
+        this.wrappedClient = wrappedClient;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+    }
+
+    /**
+     * Forgets the cached state of a container, e.g. after it has changed outside of this client.
+     *
+     * @param containerId the full ID, an ID prefix or the name the container was inspected with
+     */
+    void invalidate(String containerId) {
+        inspections.entrySet().removeIf(entry -> entry.getKey().equals(containerId) || entry.getValue().matches(containerId));
+    }
+
+    @Override
+    public InspectContainerCmd inspectContainerCmd(@NotNull String containerId) {
+        InspectContainerCmd cmd = wrappedClient.inspectContainerCmd(containerId);
+        return (InspectContainerCmd) Proxy.newProxyInstance(
+            InspectContainerCmd.class.getClassLoader(),
+            new Class<?>[]{InspectContainerCmd.class},
+            (proxy, method, args) -> {
+                if (method.getName().equals("exec")) {
+                    if (Boolean.TRUE.equals(cmd.getSize())) {
+                        // size calculation is expensive and rarely requested, don't mix it with the cached state
+                        return cmd.exec();
+                    }
+                    return inspect(containerId, cmd);
+                }
+                Object result = invoke(cmd, method, args);
+                return result == cmd ? proxy : result;
+            }
+        );
+    }
+
+    @Override
+    public StartContainerCmd startContainerCmd(@NotNull String containerId) {
+        return invalidatingCommand(StartContainerCmd.class, wrappedClient.startContainerCmd(containerId), () -> containerId);
+    }
+
+    @Override
+    public StopContainerCmd stopContainerCmd(@NotNull String containerId) {
+        return invalidatingCommand(StopContainerCmd.class, wrappedClient.stopContainerCmd(containerId), () -> containerId);
+    }
+
+    @Override
+    public KillContainerCmd killContainerCmd(@NotNull String containerId) {
+        return invalidatingCommand(KillContainerCmd.class, wrappedClient.killContainerCmd(containerId), () -> containerId);
+    }
+
+    @Override
+    public RemoveContainerCmd removeContainerCmd(@NotNull String containerId) {
+        return invalidatingCommand(RemoveContainerCmd.class, wrappedClient.removeContainerCmd(containerId), () -> containerId);
+    }
+
+    @Override
+    public RestartContainerCmd restartContainerCmd(@NotNull String containerId) {
+        return invalidatingCommand(RestartContainerCmd.class, wrappedClient.restartContainerCmd(containerId), () -> containerId);
+    }
+
+    @Override
+    public PauseContainerCmd pauseContainerCmd(@NotNull String containerId) {
+        return invalidatingCommand(PauseContainerCmd.class, wrappedClient.pauseContainerCmd(containerId), () -> containerId);
+    }
+
+    @Override
+    public UnpauseContainerCmd unpauseContainerCmd(@NotNull String containerId) {
+        return invalidatingCommand(UnpauseContainerCmd.class, wrappedClient.unpauseContainerCmd(containerId), () -> containerId);
+    }
+
+    @Override
+    public ConnectToNetworkCmd connectToNetworkCmd() {
+        ConnectToNetworkCmd cmd = wrappedClient.connectToNetworkCmd();
+        return invalidatingCommand(ConnectToNetworkCmd.class, cmd, cmd::getContainerId);
+    }
+
+    @Override
+    public DisconnectFromNetworkCmd disconnectFromNetworkCmd() {
+        DisconnectFromNetworkCmd cmd = wrappedClient.disconnectFromNetworkCmd();
+        return invalidatingCommand(DisconnectFromNetworkCmd.class, cmd, cmd::getContainerId);
+    }
+
+    private InspectContainerResponse inspect(String containerId, InspectContainerCmd cmd) {
+        while (true) {
+            CachedInspection cached = inspections.get(containerId);
+            if (cached != null) {
+                if (!cached.result.isDone() || cached.isFresh()) {
+                    try {
+                        return cached.result.join();
+                    } catch (CompletionException e) {
+                        throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+                    }
+                }
+                inspections.remove(containerId, cached);
+                continue;
+            }
+
+            CachedInspection inspection = new CachedInspection();
+            if (inspections.putIfAbsent(containerId, inspection) != null) {
+                // another thread has just started the same inspection
+                continue;
+            }
+
+            try {
+                InspectContainerResponse response = cmd.exec();
+                inspection.complete(response);
+                return response;
+            } catch (RuntimeException e) {
+                // failures are shared with the waiting threads, but never cached
+                inspections.remove(containerId, inspection);
+                inspection.result.completeExceptionally(e);
+                throw e;
+            }
+        }
+    }
+
+    private <T extends SyncDockerCmd<?>> T invalidatingCommand(Class<T> clazz, T cmd, Supplier<String> containerId) {
+        return (T) Proxy.newProxyInstance(
+            clazz.getClassLoader(),
+            new Class<?>[]{clazz},
+            (proxy, method, args) -> {
+                if (method.getName().equals("exec")) {
+                    try {
+                        return invoke(cmd, method, args);
+                    } finally {
+                        String id = containerId.get();
+                        if (id != null) {
+                            invalidate(id);
+                        }
+                    }
+                }
+                Object result = invoke(cmd, method, args);
+                return result == cmd ? proxy : result;
+            }
+        );
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private final class CachedInspection {
+
+        final CompletableFuture<InspectContainerResponse> result = new CompletableFuture<>();
+
+        volatile long completedAt;
+
+        volatile String id;
+
+        void complete(InspectContainerResponse response) {
+            id = response.getId();
+            completedAt = System.nanoTime();
+            result.complete(response);
+        }
+
+        boolean isFresh() {
+            return !result.isCompletedExceptionally() && System.nanoTime() - completedAt < ttlNanos;
+        }
+
+        boolean matches(String containerId) {
+            String resolvedId = id;
+            return resolvedId != null && resolvedId.startsWith(containerId);
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private interface InterceptedMethods {
+        InspectContainerCmd inspectContainerCmd(String containerId);
+        StartContainerCmd startContainerCmd(String containerId);
+        StopContainerCmd stopContainerCmd(String containerId);
+        KillContainerCmd killContainerCmd(String containerId);
+        RemoveContainerCmd removeContainerCmd(String containerId);
+        RestartContainerCmd restartContainerCmd(String containerId);
+        PauseContainerCmd pauseContainerCmd(String containerId);
+        UnpauseContainerCmd unpauseContainerCmd(String containerId);
+        ConnectToNetworkCmd connectToNetworkCmd();
+        DisconnectFromNetworkCmd disconnectFromNetworkCmd();
+    }
+}
@@ -1,11 +1,16 @@
 package org.testcontainers;
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
 
 import lombok.experimental.UtilityClass;
 
 import org.testcontainers.containers.PortForwardingContainer;
+import org.testcontainers.images.RemoteDockerImage;
+import org.testcontainers.utility.DockerImageName;
 
 @UtilityClass
 public class Testcontainers {
@@ -21,4 +26,28 @@ public class Testcontainers {
     		PortForwardingContainer.INSTANCE.exposeHostPort(entry.getKey(), entry.getValue());
     	}
     }
+
+    /**
+     * Starts pulling the given images in the background (unless they are available locally already), so that the
+     * containers using them start faster later on. Images needed by starting containers are pulled first.
+     *
+     * @return a future completed once all the images are available locally
+     */
+    @UnstableAPI
+    public CompletableFuture<Void> prefetch(DockerImageName... imageNames) {
+        return prefetch(Arrays.asList(imageNames));
+    }
+
+    /**
+     * @see #prefetch(DockerImageName...)
+     */
+    @UnstableAPI
+    public CompletableFuture<Void> prefetch(Collection<DockerImageName> imageNames) {
+        return CompletableFuture.allOf(
+            imageNames.stream()
+                .distinct()
+                .map(it -> new RemoteDockerImage(it).prefetch())
+                .toArray(CompletableFuture[]::new)
+        );
+    }
 }
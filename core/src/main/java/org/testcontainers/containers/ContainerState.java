@@ -12,9 +12,11 @@ import lombok.SneakyThrows;
 import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
 import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
 import org.apache.commons.compress.utils.IOUtils;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.testcontainers.DockerClientFactory;
+import org.testcontainers.UnstableAPI;
 import org.testcontainers.containers.output.OutputFrame;
 import org.testcontainers.images.builder.Transferable;
 import org.testcontainers.utility.LogUtils;
@@ -27,12 +29,15 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 public interface ContainerState {
@@ -51,11 +56,13 @@ public interface ContainerState {
 
     /**
      * Get the host that this container may be reached on (may not be the local machine).
+     * With direct container access enabled, this is the IP address of the container itself when it is reachable.
      *
      * @return a host
      */
     default String getHost() {
-        return DockerClientFactory.instance().dockerHostIpAddress();
+        return DirectContainerAccess.getIpAddress(this)
+            .orElseGet(() -> DockerClientFactory.instance().dockerHostIpAddress());
     }
 
     /**
@@ -134,6 +141,8 @@ public interface ContainerState {
      * Get the actual mapped port for a given port exposed by the container.
      * Should be used in conjunction with {@link #getHost()}.
      *
+     * With direct container access enabled, this is the original port when the container is reachable.
+     *
      * @param originalPort the original TCP port that is exposed
      * @return the port that the exposed port is mapped to, or null if it is not exposed
      */
@@ -143,7 +152,12 @@ public interface ContainerState {
         Ports.Binding[] binding = new Ports.Binding[0];
         final InspectContainerResponse containerInfo = this.getContainerInfo();
         if (containerInfo != null) {
-            binding = containerInfo.getNetworkSettings().getPorts().getBindings().get(new ExposedPort(originalPort));
+            Map<ExposedPort, Ports.Binding[]> bindings = containerInfo.getNetworkSettings().getPorts().getBindings();
+            // exposed ports are listed whether they are published or not
+            if (bindings.containsKey(new ExposedPort(originalPort)) && DirectContainerAccess.getIpAddress(this).isPresent()) {
+                return originalPort;
+            }
+            binding = bindings.get(new ExposedPort(originalPort));
         }
 
         if (binding != null && binding.length > 0 && binding[0] != null) {
@@ -232,6 +246,89 @@ public interface ContainerState {
         return ExecInContainerPattern.execInContainer(getContainerInfo(), outputCharset, command);
     }
 
+    /**
+     * Run several commands inside a running container with a single "docker exec", interpreting their output as UTF8.
+     * The commands following the first one with a non-zero exit code are skipped.
+     * <p>
+     * @return the results of the commands which ran, in order
+     * @see ExecInContainerPattern#execInContainerBatch(InspectContainerResponse, Charset, boolean, List)
+     */
+    @UnstableAPI
+    default List<Container.ExecResult> execInContainerBatch(List<String[]> commands) throws UnsupportedOperationException, IOException, InterruptedException {
+        return execInContainerBatch(commands, true);
+    }
+
+    /**
+     * Run several commands inside a running container with a single "docker exec", interpreting their output as UTF8.
+     * <p>
+     * @param stopOnFailure whether the commands following a command with a non-zero exit code are skipped
+     * @return the results of the commands which ran, in order
+     * @see ExecInContainerPattern#execInContainerBatch(InspectContainerResponse, Charset, boolean, List)
+     */
+    @UnstableAPI
+    default List<Container.ExecResult> execInContainerBatch(List<String[]> commands, boolean stopOnFailure) throws UnsupportedOperationException, IOException, InterruptedException {
+        return ExecInContainerPattern.execInContainerBatch(getContainerInfo(), StandardCharsets.UTF_8, stopOnFailure, commands);
+    }
+
+    /**
+     * Run a command inside a running container, as though using "docker exec", streaming its output to a consumer
+     * instead of collecting it in memory.
+     * <p>
+     * @return the exit code of the command
+     * @see ExecInContainerPattern#execInContainerStreaming(InspectContainerResponse, InputStream, Consumer, String...)
+     */
+    @UnstableAPI
+    default int execInContainerStreaming(Consumer<OutputFrame> outputConsumer, String... command) throws UnsupportedOperationException, IOException, InterruptedException {
+        return execInContainerStreaming(null, outputConsumer, command);
+    }
+
+    /**
+     * Run a command inside a running container, as though using "docker exec", piping data to its standard input and
+     * streaming its output to a consumer instead of collecting it in memory.
+     * <p>
+     * @return the exit code of the command
+     * @see ExecInContainerPattern#execInContainerStreaming(InspectContainerResponse, InputStream, Consumer, String...)
+     */
+    @UnstableAPI
+    default int execInContainerStreaming(@Nullable InputStream stdin, Consumer<OutputFrame> outputConsumer, String... command) throws UnsupportedOperationException, IOException, InterruptedException {
+        return ExecInContainerPattern.execInContainerStreaming(getContainerInfo(), stdin, outputConsumer, command);
+    }
+
+    /**
+     * Run a command inside a running container, as though using "docker exec", piping data to its standard input and
+     * writing its stdout and stderr to the given streams as they are produced.
+     * <p>
+     * @return the exit code of the command
+     * @see ExecInContainerPattern#execInContainerStreaming(InspectContainerResponse, InputStream, OutputStream, OutputStream, String...)
+     */
+    @UnstableAPI
+    default int execInContainerStreaming(@Nullable InputStream stdin, OutputStream stdout, OutputStream stderr, String... command) throws UnsupportedOperationException, IOException, InterruptedException {
+        return ExecInContainerPattern.execInContainerStreaming(getContainerInfo(), stdin, stdout, stderr, command);
+    }
+
+    /**
+     * Opens a shell in the running container to run many commands with a single "docker exec", interpreting their
+     * output as UTF8. The session must be closed once done.
+     * <p>
+     * @see ExecSession
+     */
+    @UnstableAPI
+    default ExecSession openExecSession() {
+        return openExecSession(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Opens a shell in the running container to run many commands with a single "docker exec". The session must be
+     * closed once done.
+     * <p>
+     * @param outputCharset the character set used to interpret the output of the commands
+     * @see ExecSession
+     */
+    @UnstableAPI
+    default ExecSession openExecSession(Charset outputCharset) {
+        return new ExecSession(this, outputCharset);
+    }
+
     /**
      *
      * Copies a file or directory to the container.
@@ -281,6 +378,27 @@ public interface ContainerState {
         }
     }
 
+    /**
+     * Makes a directory of the container match a directory of the host. Only the files which are new or changed since the
+     * previous sync of this directory to this container are sent, and files deleted since are removed with a single
+     * exec. Meant for containers which get the same directory pushed repeatedly, e.g. reused ones.
+     * <p>
+     * The container directory is expected to be changed by this method only.
+     *
+     * @param hostPath directory of the host which is synced
+     * @param containerPath directory of the container which receives the content of the host directory
+     * @throws IOException if there's an issue reading the host directory or communicating with Docker
+     * @throws InterruptedException if the thread waiting for the removal of deleted files is interrupted
+     */
+    @UnstableAPI
+    default void syncDirectoryToContainer(String hostPath, String containerPath) throws IOException, InterruptedException {
+        if (!isCreated()) {
+            throw new IllegalStateException("syncDirectoryToContainer can only be used with created / running container");
+        }
+
+        DirectorySync.sync(this, Paths.get(hostPath), containerPath);
+    }
+
     /**
      * Copies a file which resides inside the container to user defined directory
      *
@@ -298,6 +416,26 @@ public interface ContainerState {
         });
     }
 
+    /**
+     * Copies a directory which resides inside the container, with all of its content, to a directory of the host.
+     * The archive sent by Docker is streamed once and every entry is extracted straight to disk, keeping the file modes.
+     *
+     * @param containerPath path to the directory which is copied from container
+     * @param destinationPath host directory to which the content of the container directory is copied, created if missing
+     * @throws IOException if there's an issue communicating with Docker or writing the extracted files
+     */
+    @UnstableAPI
+    default void copyDirectoryFromContainer(String containerPath, String destinationPath) throws IOException {
+        if (!isCreated()) {
+            throw new IllegalStateException("copyDirectoryFromContainer can only be used when the Container is created.");
+        }
+
+        DockerClient dockerClient = DockerClientFactory.instance().client();
+        try (InputStream inputStream = dockerClient.copyArchiveFromContainerCmd(getContainerId(), containerPath).exec()) {
+            TarExtractor.extractDirectory(inputStream, Paths.get(destinationPath));
+        }
+    }
+
     /**
      * Streams a file which resides inside the container
      *
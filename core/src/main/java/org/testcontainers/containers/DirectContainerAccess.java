@@ -0,0 +1,138 @@
+package org.testcontainers.containers;
+
+import com.github.dockerjava.api.command.InspectContainerResponse;
+import com.github.dockerjava.api.model.ContainerNetwork;
+import com.github.dockerjava.api.model.Network;
+import com.github.dockerjava.api.model.NetworkSettings;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang.SystemUtils;
+import org.jetbrains.annotations.Nullable;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.utility.TestcontainersConfiguration;
+
+import java.net.InetAddress;
+import java.net.NetworkInterface;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lets the test JVM connect to containers through their own IP address and exposed ports, skipping the ports published
+ * on the Docker host and the proxy behind them.
+ * <p>
+ * A container is reachable when the gateway of one of its networks is an address of this machine: the network is a
+ * bridge of a local Docker host, which the JVM routes to. This is only checked on Linux, where bridges are not hidden
+ * in a VM.
+ */
+@Slf4j
+@UtilityClass
+class DirectContainerAccess {
+
+    private static final Map<String, Boolean> LOCAL_GATEWAYS = new ConcurrentHashMap<>();
+
+    private static final Map<String, Boolean> REACHABLE_NETWORKS = new ConcurrentHashMap<>();
+
+    private static volatile Boolean available;
+
+    /**
+     * @return whether direct access is enabled and containers of the default bridge network can be reached
+     */
+    boolean isEnabled() {
+        if (!TestcontainersConfiguration.getInstance().isContainerDirectAccessEnabled()) {
+            return false;
+        }
+        if (available == null) {
+            synchronized (DirectContainerAccess.class) {
+                if (available == null) {
+                    available = checkAvailable();
+                }
+            }
+        }
+        return available;
+    }
+
+    /**
+     * @param networkMode the network mode of a container about to be created, null for the default bridge network
+     * @return whether direct access is enabled and the container will be reachable on that network, i.e. whether its
+     * ports need not be published
+     */
+    boolean isReachable(@Nullable String networkMode) {
+        if (!isEnabled()) {
+            return false;
+        }
+        if (networkMode == null || networkMode.isEmpty() || "default".equals(networkMode) || "bridge".equals(networkMode)) {
+            return true;
+        }
+        if ("host".equals(networkMode) || "none".equals(networkMode) || networkMode.startsWith("container:")) {
+            return false;
+        }
+        return REACHABLE_NETWORKS.computeIfAbsent(networkMode, it -> {
+            try {
+                Network network = DockerClientFactory.instance().client().inspectNetworkCmd().withNetworkId(it).exec();
+                return network.getIpam() != null && network.getIpam().getConfig() != null && network.getIpam().getConfig().stream()
+                    .anyMatch(config -> isLocalAddress(config.getGateway()));
+            } catch (Exception e) {
+                log.debug("Could not check whether containers of network {} can be reached directly", it, e);
+                return false;
+            }
+        });
+    }
+
+    /**
+     * @return the IP address the container can be reached on, if direct access is enabled and possible
+     */
+    Optional<String> getIpAddress(ContainerState container) {
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+        InspectContainerResponse containerInfo = container.getContainerInfo();
+        if (containerInfo == null) {
+            return Optional.empty();
+        }
+        NetworkSettings networkSettings = containerInfo.getNetworkSettings();
+        if (networkSettings == null || networkSettings.getNetworks() == null) {
+            return Optional.empty();
+        }
+        return networkSettings.getNetworks().values().stream()
+            .filter(it -> it.getIpAddress() != null && !it.getIpAddress().isEmpty())
+            .filter(it -> isLocalAddress(it.getGateway()))
+            .map(ContainerNetwork::getIpAddress)
+            .findFirst();
+    }
+
+    private boolean checkAvailable() {
+        if (!SystemUtils.IS_OS_LINUX) {
+            log.info("Direct access to containers is only supported on Linux, using published ports");
+            return false;
+        }
+        try {
+            Network bridge = DockerClientFactory.instance().client().inspectNetworkCmd().withNetworkId("bridge").exec();
+            boolean reachable = bridge.getIpam().getConfig().stream()
+                .anyMatch(it -> isLocalAddress(it.getGateway()));
+            if (reachable) {
+                log.info("Accessing containers directly through their IP address");
+            } else {
+                log.info("Containers cannot be reached directly from this JVM, using published ports");
+            }
+            return reachable;
+        } catch (Exception e) {
+            log.warn("Could not check whether containers can be reached directly, using published ports", e);
+            return false;
+        }
+    }
+
+    private boolean isLocalAddress(@Nullable String address) {
+        if (address == null || address.isEmpty()) {
+            return false;
+        }
+        return LOCAL_GATEWAYS.computeIfAbsent(address, it -> {
+            try {
+                return NetworkInterface.getByInetAddress(InetAddress.getByName(it)) != null;
+            } catch (Exception e) {
+                log.debug("Could not check whether {} is a local address", it, e);
+                return false;
+            }
+        });
+    }
+}
@@ -0,0 +1,247 @@
+package org.testcontainers.containers;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import lombok.Value;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.utility.MountableFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps directories of containers in sync with host directories, sending only what changed since the previous sync.
+ * <p>
+ * A manifest of the synced files (size, modification time, mode and content hash) is kept per container and
+ * destination path. Files whose size and modification time did not change are not even read again, the others are
+ * hashed and only sent if their content or mode differ. The container directory is assumed not to be modified by
+ * other means in between.
+ */
+@UtilityClass
+@Slf4j
+class DirectorySync {
+
+    /**
+     * Container id -> container path -> path relative to the synced directory -> state when it was sent
+     */
+    private static final Map<String, Map<String, Map<String, FileState>>> MANIFESTS = new ConcurrentHashMap<>();
+
+    /**
+     * Maximum length of the paths removed by a single command, well below the smallest argument limits of Linux
+     */
+    private static final int MAX_REMOVE_ARGUMENTS_LENGTH = 64 * 1024;
+
+    void sync(ContainerState container, Path hostDirectory, String containerPath) throws IOException, InterruptedException {
+        if (!Files.isDirectory(hostDirectory)) {
+            throw new IllegalArgumentException(hostDirectory + " is not a directory");
+        }
+        final String destination = containerPath.endsWith("/") && containerPath.length() > 1
+            ? containerPath.substring(0, containerPath.length() - 1)
+            : containerPath;
+
+        final Map<String, Map<String, FileState>> containerManifests = MANIFESTS.computeIfAbsent(
+            container.getContainerId(),
+            __ -> new ConcurrentHashMap<>()
+        );
+
+        // concurrent syncs of the same directory would otherwise send the same changes twice
+        synchronized (containerManifests) {
+            final Map<String, FileState> previous = containerManifests.getOrDefault(destination, new HashMap<>());
+            final Map<String, FileState> current = scan(hostDirectory.toRealPath(), previous);
+
+            final Set<String> removed = new HashSet<>();
+            previous.forEach((relativePath, previousState) -> {
+                FileState currentState = current.get(relativePath);
+                // a file replaced by a directory, or the opposite, has to be removed first
+                if (currentState == null || currentState.isDirectory() != previousState.isDirectory()) {
+                    removed.add(relativePath);
+                }
+            });
+
+            final List<String> changed = new ArrayList<>();
+            current.forEach((relativePath, currentState) -> {
+                FileState previousState = previous.get(relativePath);
+                if (previousState == null || removed.contains(relativePath) || !currentState.hasSameContent(previousState)) {
+                    changed.add(relativePath);
+                }
+            });
+
+            if (!removed.isEmpty()) {
+                remove(container, destination, removed);
+            }
+            if (!changed.isEmpty()) {
+                send(container, hostDirectory.toRealPath(), destination, current, changed);
+            }
+            containerManifests.put(destination, current);
+
+            log.debug("Synced {} to {}:{}, {} entries sent, {} removed, {} unchanged",
+                hostDirectory, container.getContainerId(), destination,
+                changed.size(), removed.size(), current.size() - changed.size()
+            );
+        }
+    }
+
+    /**
+     * Drops the manifests of a container, e.g. once it is removed
+     */
+    void forget(String containerId) {
+        MANIFESTS.remove(containerId);
+    }
+
+    private static Map<String, FileState> scan(Path root, Map<String, FileState> previous) throws IOException {
+        final Map<String, FileState> states = new HashMap<>();
+        Files.walkFileTree(root, EnumSet.of(FileVisitOption.FOLLOW_LINKS), Integer.MAX_VALUE, new SimpleFileVisitor<Path>() {
+
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attributes) {
+                if (!dir.equals(root)) {
+                    states.put(relativize(root, dir), new FileState(true, 0, 0, MountableFile.getUnixFileMode(dir), null));
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) throws IOException {
+                if (!attributes.isRegularFile()) {
+                    return FileVisitResult.CONTINUE;
+                }
+                final String relativePath = relativize(root, file);
+                final long lastModified = attributes.lastModifiedTime().toMillis();
+                final int mode = MountableFile.getUnixFileMode(file);
+
+                final FileState previousState = previous.get(relativePath);
+                if (previousState != null && previousState.getSize() == attributes.size() &&
+                    previousState.getLastModified() == lastModified && previousState.getMode() == mode) {
+                    states.put(relativePath, previousState);
+                } else {
+                    HashCode hash = com.google.common.io.Files.asByteSource(file.toFile()).hash(Hashing.sha256());
+                    states.put(relativePath, new FileState(false, attributes.size(), lastModified, mode, hash));
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return states;
+    }
+
+    private static void remove(ContainerState container, String destination, Collection<String> relativePaths) throws IOException, InterruptedException {
+        // many paths would exceed the argument limits of a single command
+        List<String> paths = new ArrayList<>();
+        int length = 0;
+        for (String relativePath : relativePaths) {
+            String path = destination + "/" + relativePath;
+            int pathLength = path.getBytes(StandardCharsets.UTF_8).length + 1;
+            if (!paths.isEmpty() && length + pathLength > MAX_REMOVE_ARGUMENTS_LENGTH) {
+                removePaths(container, destination, paths);
+                paths.clear();
+                length = 0;
+            }
+            paths.add(path);
+            length += pathLength;
+        }
+        removePaths(container, destination, paths);
+    }
+
+    private static void removePaths(ContainerState container, String destination, List<String> paths) throws IOException, InterruptedException {
+        final List<String> command = new ArrayList<>();
+        command.add("rm");
+        command.add("-rf");
+        command.add("--");
+        command.addAll(paths);
+
+        Container.ExecResult result = container.execInContainer(command.toArray(new String[0]));
+        if (result.getExitCode() != 0) {
+            throw new IOException("Could not remove deleted files from " + destination + ": " + result.getStderr());
+        }
+    }
+
+    private static void send(
+        ContainerState container,
+        Path root,
+        String destination,
+        Map<String, FileState> states,
+        List<String> relativePaths
+    ) throws IOException {
+        // parents first, so that their mode applies when extracted
+        relativePaths.sort(null);
+
+        try (
+            ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+            TarArchiveOutputStream tarArchive = new TarArchiveOutputStream(byteArrayOutputStream)
+        ) {
+            tarArchive.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
+            tarArchive.setBigNumberMode(TarArchiveOutputStream.BIGNUMBER_POSIX);
+
+            for (String relativePath : relativePaths) {
+                final FileState state = states.get(relativePath);
+                final Path path = root.resolve(relativePath);
+                final TarArchiveEntry tarEntry = new TarArchiveEntry(
+                    destination + "/" + relativePath + (state.isDirectory() ? "/" : "")
+                );
+                tarEntry.setMode(state.getMode());
+                if (!state.isDirectory()) {
+                    tarEntry.setSize(state.getSize());
+                    tarEntry.setModTime(state.getLastModified());
+                }
+                tarArchive.putArchiveEntry(tarEntry);
+                if (!state.isDirectory()) {
+                    Files.copy(path, tarArchive);
+                }
+                tarArchive.closeArchiveEntry();
+            }
+            tarArchive.finish();
+
+            DockerClientFactory.instance().client()
+                .copyArchiveToContainerCmd(container.getContainerId())
+                .withTarInputStream(new ByteArrayInputStream(byteArrayOutputStream.toByteArray()))
+                .withRemotePath("/")
+                .exec();
+        }
+    }
+
+    private static String relativize(Path root, Path path) {
+        return root.relativize(path).toString().replace('\\', '/');
+    }
+
+    @Value
+    static class FileState {
+
+        boolean directory;
+
+        long size;
+
+        long lastModified;
+
+        int mode;
+
+        /**
+         * SHA-256 of the content, {@code null} for directories
+         */
+        HashCode hash;
+
+        boolean hasSameContent(FileState other) {
+            return directory == other.directory && mode == other.mode && size == other.size &&
+                (directory || hash.equals(other.hash));
+        }
+    }
+}
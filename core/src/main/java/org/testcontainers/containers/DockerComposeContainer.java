@@ -18,6 +18,7 @@ import org.junit.runner.Description;
 import org.junit.runners.model.Statement;
 import org.slf4j.Logger;
 import org.testcontainers.DockerClientFactory;
+import org.testcontainers.UnstableAPI;
 import org.testcontainers.containers.output.OutputFrame;
 import org.testcontainers.containers.output.Slf4jLogConsumer;
 import org.testcontainers.containers.startupcheck.IndefiniteWaitOneShotStartupCheckStrategy;
@@ -25,10 +26,12 @@ import org.testcontainers.containers.wait.strategy.Wait;
 import org.testcontainers.containers.wait.strategy.WaitAllStrategy;
 import org.testcontainers.containers.wait.strategy.WaitStrategy;
 import org.testcontainers.dockerclient.TransportConfig;
+import org.testcontainers.images.RemoteDockerImage;
 import org.testcontainers.lifecycle.Startable;
 import org.testcontainers.utility.AuditLogger;
 import org.testcontainers.utility.Base58;
 import org.testcontainers.utility.CommandLine;
+import org.testcontainers.utility.DockerImageName;
 import org.testcontainers.utility.DockerLoggerFactory;
 import org.testcontainers.utility.LogUtils;
 import org.testcontainers.utility.MountableFile;
@@ -55,7 +58,6 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static com.google.common.base.Preconditions.checkArgument;
@@ -76,10 +78,11 @@ public class DockerComposeContainer<SELF extends DockerComposeContainer<SELF>> e
      */
     private final String identifier;
     private final List<File> composeFiles;
-    private Set<ParsedDockerComposeFile> parsedComposeFiles;
+    private List<ParsedDockerComposeFile> parsedComposeFiles;
     private final Map<String, Integer> scalingPreferences = new HashMap<>();
     private DockerClient dockerClient;
     private boolean localCompose;
+    private boolean nativeCompose;
     private boolean pull = true;
     private boolean build = false;
     private Set<String> options = new HashSet<>();
@@ -94,8 +97,6 @@ public class DockerComposeContainer<SELF extends DockerComposeContainer<SELF>> e
     private final SocatContainer ambassadorContainer = new SocatContainer();
     private final Map<String, List<Consumer<OutputFrame>>> logConsumers = new ConcurrentHashMap<>();
 
-    private static final Object MUTEX = new Object();
-
     private List<String> services = new ArrayList<>();
 
     /**
@@ -125,7 +126,7 @@ public class DockerComposeContainer<SELF extends DockerComposeContainer<SELF>> e
     public DockerComposeContainer(String identifier, List<File> composeFiles) {
 
         this.composeFiles = composeFiles;
-        this.parsedComposeFiles = composeFiles.stream().map(ParsedDockerComposeFile::new).collect(Collectors.toSet());
+        this.parsedComposeFiles = composeFiles.stream().map(ParsedDockerComposeFile::new).collect(toList());
 
         // Use a unique identifier so that containers created for this compose environment can be identified
         this.identifier = identifier;
@@ -162,21 +163,23 @@ public class DockerComposeContainer<SELF extends DockerComposeContainer<SELF>> e
         stop();
     }
 
+    /**
+     * Starts the environment. Every instance has its own compose project, so instances are independent of each other
+     * and may be started concurrently, whereas a single instance must not be started or stopped concurrently.
+     */
     @Override
     public void start() {
-        synchronized (MUTEX) {
-            registerContainersForShutdown();
-            if (pull) {
-                try {
-                    pullImages();
-                } catch (ContainerLaunchException e) {
-                    log.warn("Exception while pulling images, using local images if available", e);
-                }
+        registerContainersForShutdown();
+        if (pull) {
+            try {
+                pullImages();
+            } catch (ContainerLaunchException e) {
+                log.warn("Exception while pulling images, using local images if available", e);
             }
-            createServices();
-            startAmbassadorContainers();
-            waitUntilServiceStarted();
         }
+        createServices();
+        startAmbassadorContainers();
+        waitUntilServiceStarted();
     }
 
     private void pullImages() {
@@ -188,7 +191,8 @@ public class DockerComposeContainer<SELF extends DockerComposeContainer<SELF>> e
             .forEach(imageName -> {
                 try {
                     log.info("Preemptively checking local images for '{}', referenced via a compose file or transitive Dockerfile. If not available, it will be pulled.", imageName);
-                    DockerClientFactory.instance().checkAndPullImage(dockerClient, imageName);
+                    // concurrent environments using the same image share a single pull
+                    new RemoteDockerImage(DockerImageName.parse(imageName)).get();
                 } catch (Exception e) {
                     log.warn("Unable to pre-fetch an image ({}) depended upon by Docker Compose build - startup will continue but may fail. Exception message was: {}", imageName, e.getMessage());
                 }
@@ -201,6 +205,17 @@ public class DockerComposeContainer<SELF extends DockerComposeContainer<SELF>> e
     }
 
     private void createServices() {
+        if (nativeCompose) {
+            if (!options.isEmpty()) {
+                log.warn("Options {} are ignored by the native Compose engine", options);
+            }
+            List<String> requestedServices = Stream.concat(services.stream(), scalingPreferences.keySet().stream())
+                .distinct()
+                .collect(toList());
+            nativeCompose().up(requestedServices, scalingPreferences, build);
+            return;
+        }
+
         // services that have been explicitly requested to be started. If empty, all services should be started.
         final String serviceNameArgs = Stream.concat(
             services.stream(),                      // services that have been specified with `withServices`
@@ -292,6 +307,11 @@ public class DockerComposeContainer<SELF extends DockerComposeContainer<SELF>> e
         return String.format("%s_%s", containerName, containerNumber);
     }
 
+    private NativeDockerCompose nativeCompose() {
+        checkArgument(!composeFiles.isEmpty(), "No docker compose file have been provided");
+        return new NativeDockerCompose(dockerClient, composeFiles, parsedComposeFiles, project, env);
+    }
+
     private void runWithCompose(String cmd) {
         checkNotNull(composeFiles);
         checkArgument(!composeFiles.isEmpty(), "No docker compose file have been provided");
@@ -333,21 +353,23 @@ public class DockerComposeContainer<SELF extends DockerComposeContainer<SELF>> e
 
     @Override
     public void stop() {
-        synchronized (MUTEX) {
-            try {
-                // shut down the ambassador container
-                ambassadorContainer.stop();
+        try {
+            // shut down the ambassador container
+            ambassadorContainer.stop();
 
+            if (nativeCompose) {
+                nativeCompose().down(removeImages);
+            } else {
                 // Kill the services using docker-compose
                 String cmd = "down -v";
                 if (removeImages != null) {
                     cmd += " --rmi " + removeImages.dockerRemoveImagesType();
                 }
                 runWithCompose(cmd);
-
-            } finally {
-                project = randomProjectId();
             }
+
+        } finally {
+            project = randomProjectId();
         }
     }
 
@@ -485,6 +507,19 @@ public class DockerComposeContainer<SELF extends DockerComposeContainer<SELF>> e
         return self();
     }
 
+    /**
+     * Start the services with the Docker API instead of Docker Compose, concurrently as far as their
+     * {@code depends_on} allow. Only the compose file keys commonly used by tests are supported, and
+     * {@link #withOptions(String...)} is ignored.
+     *
+     * @return this instance, for chaining
+     */
+    @UnstableAPI
+    public SELF withNativeCompose(boolean nativeCompose) {
+        this.nativeCompose = nativeCompose;
+        return self();
+    }
+
     /**
      * Whether to pull images first.
      *
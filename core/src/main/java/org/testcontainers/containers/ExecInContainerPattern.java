@@ -1,19 +1,34 @@
 package org.testcontainers.containers;
 
 import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.async.ResultCallbackTemplate;
 import com.github.dockerjava.api.command.ExecCreateCmdResponse;
+import com.github.dockerjava.api.command.ExecStartCmd;
 import com.github.dockerjava.api.command.InspectContainerResponse;
 import com.github.dockerjava.api.exception.DockerException;
+import com.github.dockerjava.api.model.Frame;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.Nullable;
 import org.testcontainers.DockerClientFactory;
+import org.testcontainers.UnstableAPI;
 import org.testcontainers.containers.output.FrameConsumerResultCallback;
 import org.testcontainers.containers.output.OutputFrame;
 import org.testcontainers.containers.output.ToStringConsumer;
 import org.testcontainers.utility.TestEnvironment;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /**
  * Provides utility methods for executing commands in containers
@@ -50,16 +65,7 @@ public class ExecInContainerPattern {
      */
     public Container.ExecResult execInContainer(InspectContainerResponse containerInfo, Charset outputCharset, String... command)
         throws UnsupportedOperationException, IOException, InterruptedException {
-        if (!TestEnvironment.dockerExecutionDriverSupportsExec()) {
-            // at time of writing, this is the expected result in CircleCI.
-            throw new UnsupportedOperationException(
-                "Your docker daemon is running the \"lxc\" driver, which doesn't support \"docker exec\".");
-
-        }
-
-        if (!isRunning(containerInfo)) {
-            throw new IllegalStateException("execInContainer can only be used while the Container is running");
-        }
+        checkExecPossible(containerInfo);
 
         String containerId = containerInfo.getId();
         String containerName = containerInfo.getName();
@@ -91,6 +97,171 @@ public class ExecInContainerPattern {
         return result;
     }
 
+    /**
+     * Run several commands inside a running container with a single "docker exec", as one shell script.
+     * <p>
+     * Every command is followed by markers printed to stdout and stderr, which delimit its output and carry its exit
+     * code, so that each command still gets its own result. Commands get their standard input from {@code /dev/null}.
+     * <p>
+     * @param containerInfo the container info
+     * @param outputCharset the character set used to interpret the output.
+     * @param stopOnFailure whether the commands following a command with a non-zero exit code are skipped
+     * @param commands the commands to run, each made of its parts
+     * @return the results of the commands which ran, in order, i.e. up to the first failed one if stopping on failure
+     * @throws IOException if there's an issue communicating with Docker
+     * @throws InterruptedException if the thread waiting for the response is interrupted
+     * @throws UnsupportedOperationException if the docker daemon you're connecting to doesn't support "exec".
+     */
+    @UnstableAPI
+    public List<Container.ExecResult> execInContainerBatch(
+        InspectContainerResponse containerInfo,
+        Charset outputCharset,
+        boolean stopOnFailure,
+        List<String[]> commands
+    ) throws UnsupportedOperationException, IOException, InterruptedException {
+        if (commands.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        final String markerPrefix = "__testcontainers_batch_" + UUID.randomUUID().toString().replace("-", "") + "_";
+        final StringBuilder script = new StringBuilder();
+        for (int i = 0; i < commands.size(); i++) {
+            final String marker = markerPrefix + i;
+            script.append(toShellCommand(commands.get(i))).append(" </dev/null\n")
+                .append("__tc_exit_code=$?\n")
+                .append("printf '%s %d\\n' '").append(marker).append("' \"$__tc_exit_code\"\n")
+                .append("printf '%s\\n' '").append(marker).append("' >&2\n");
+            if (stopOnFailure) {
+                script.append("[ \"$__tc_exit_code\" -eq 0 ] || exit 0\n");
+            }
+        }
+
+        final Container.ExecResult batchResult = execInContainer(containerInfo, outputCharset, "sh", "-c", script.toString());
+        final String stdout = batchResult.getStdout();
+        final String stderr = batchResult.getStderr();
+
+        final List<Container.ExecResult> results = new ArrayList<>(commands.size());
+        int stdoutFrom = 0;
+        int stderrFrom = 0;
+        for (int i = 0; i < commands.size(); i++) {
+            final String marker = markerPrefix + i;
+            final int stdoutMarker = stdout.indexOf(marker, stdoutFrom);
+            final int stderrMarker = stderr.indexOf(marker, stderrFrom);
+            if (stdoutMarker == -1 || stderrMarker == -1) {
+                // skipped, or the script itself failed
+                break;
+            }
+            final int exitCodeEnd = stdout.indexOf('\n', stdoutMarker);
+            results.add(new Container.ExecResult(
+                Integer.parseInt(stdout.substring(stdoutMarker + marker.length(), exitCodeEnd).trim()),
+                stdout.substring(stdoutFrom, stdoutMarker),
+                stderr.substring(stderrFrom, stderrMarker)
+            ));
+            stdoutFrom = exitCodeEnd + 1;
+            stderrFrom = stderrMarker + marker.length() + 1;
+        }
+        return results;
+    }
+
+    /**
+     * Run a command inside a running container, as though using "docker exec", streaming its output to a consumer
+     * instead of collecting it. The consumer is called on the thread reading the output from Docker, with frames holding
+     * the raw bytes, so a slow consumer slows down the command rather than making its output pile up in memory. It
+     * finally receives {@link OutputFrame#END}.
+     * <p>
+     * @param containerInfo the container info
+     * @param stdin data written to the standard input of the command, or {@code null}
+     * @param outputConsumer consumer of the stdout and stderr frames
+     * @param command the parts of the command to run
+     * @return the exit code of the command
+     * @throws IOException if there's an issue communicating with Docker
+     * @throws InterruptedException if the thread waiting for the response is interrupted
+     * @throws UnsupportedOperationException if the docker daemon you're connecting to doesn't support "exec".
+     */
+    @UnstableAPI
+    public int execInContainerStreaming(
+        InspectContainerResponse containerInfo,
+        @Nullable InputStream stdin,
+        Consumer<OutputFrame> outputConsumer,
+        String... command
+    ) throws UnsupportedOperationException, IOException, InterruptedException {
+        checkExecPossible(containerInfo);
+
+        String containerName = containerInfo.getName();
+        DockerClient dockerClient = DockerClientFactory.instance().client();
+
+        log.debug("{}: Running \"exec\" command with streamed output: {}", containerName, String.join(" ", command));
+        final ExecCreateCmdResponse execCreateCmdResponse = dockerClient.execCreateCmd(containerInfo.getId())
+            .withAttachStdout(true).withAttachStderr(true).withAttachStdin(stdin != null).withCmd(command).exec();
+
+        ExecStartCmd execStartCmd = dockerClient.execStartCmd(execCreateCmdResponse.getId());
+        if (stdin != null) {
+            execStartCmd.withStdIn(stdin);
+        }
+        try (StreamingCallback callback = execStartCmd.exec(new StreamingCallback(outputConsumer))) {
+            callback.awaitCompletion();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return dockerClient.inspectExecCmd(execCreateCmdResponse.getId()).exec().getExitCode();
+    }
+
+    /**
+     * Run a command inside a running container, as though using "docker exec", writing its stdout and stderr to the
+     * given streams as they are produced. The streams are not closed.
+     * <p>
+     * @see #execInContainerStreaming(InspectContainerResponse, InputStream, Consumer, String...)
+     */
+    @UnstableAPI
+    public int execInContainerStreaming(
+        InspectContainerResponse containerInfo,
+        @Nullable InputStream stdin,
+        OutputStream stdout,
+        OutputStream stderr,
+        String... command
+    ) throws UnsupportedOperationException, IOException, InterruptedException {
+        return execInContainerStreaming(containerInfo, stdin, frame -> {
+            try {
+                switch (frame.getType()) {
+                    case STDOUT:
+                        stdout.write(frame.getBytes());
+                        break;
+                    case STDERR:
+                        stderr.write(frame.getBytes());
+                        break;
+                    case END:
+                        stdout.flush();
+                        stderr.flush();
+                        break;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, command);
+    }
+
+    /**
+     * @return the command as a line of shell script, with its parts quoted
+     */
+    String toShellCommand(String... command) {
+        return Arrays.stream(command)
+            .map(part -> "'" + part.replace("'", "'\\''") + "'")
+            .collect(Collectors.joining(" "));
+    }
+
+    void checkExecPossible(InspectContainerResponse containerInfo) {
+        if (!TestEnvironment.dockerExecutionDriverSupportsExec()) {
+            // at time of writing, this is the expected result in CircleCI.
+            throw new UnsupportedOperationException(
+                "Your docker daemon is running the \"lxc\" driver, which doesn't support \"docker exec\".");
+
+        }
+
+        if (!isRunning(containerInfo)) {
+            throw new IllegalStateException("execInContainer can only be used while the Container is running");
+        }
+    }
+
     private boolean isRunning(InspectContainerResponse containerInfo) {
         try {
             return containerInfo != null && containerInfo.getState().getRunning();
@@ -98,4 +269,31 @@ public class ExecInContainerPattern {
             return false;
         }
     }
+
+    /**
+     * Hands the raw frames over to the consumer, unlike {@link FrameConsumerResultCallback} which decodes and splits them
+     * into lines.
+     */
+    private static class StreamingCallback extends ResultCallbackTemplate<StreamingCallback, Frame> {
+
+        private final Consumer<OutputFrame> consumer;
+
+        private StreamingCallback(Consumer<OutputFrame> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void onNext(Frame frame) {
+            OutputFrame outputFrame = OutputFrame.forFrame(frame);
+            if (outputFrame != null && outputFrame.getBytes() != null && outputFrame.getBytes().length > 0) {
+                consumer.accept(outputFrame);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            consumer.accept(OutputFrame.END);
+            super.onComplete();
+        }
+    }
 }
@@ -0,0 +1,281 @@
+package org.testcontainers.containers;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.async.ResultCallbackTemplate;
+import com.github.dockerjava.api.command.ExecCreateCmdResponse;
+import com.github.dockerjava.api.model.Frame;
+import lombok.extern.slf4j.Slf4j;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.UnstableAPI;
+import org.testcontainers.containers.output.OutputFrame;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A shell kept running in a container, to run many commands with a single "docker exec" instead of one each.
+ * <p>
+ * Every {@link #execInContainer(String...)} writes the command to the standard input of the shell, followed by markers
+ * printed to stdout and stderr which delimit its output and carry its exit code. This saves the create, start, attach
+ * and inspect round trips of separate execs, which dominate the cost of short commands.
+ * <p>
+ * Commands run one after the other, with their standard input redirected from {@code /dev/null}, in the same shell,
+ * so the container must provide {@code sh}. The session must be closed once done.
+ */
+@UnstableAPI
+@Slf4j
+public class ExecSession implements AutoCloseable {
+
+    private static final long CLOSE_TIMEOUT_SECONDS = 10;
+
+    private final String containerName;
+
+    private final Charset outputCharset;
+
+    private final String markerPrefix = "__testcontainers_exec_" + UUID.randomUUID().toString().replace("-", "") + "_";
+
+    private final ShellInput shellInput = new ShellInput();
+
+    private final OutputCallback callback = new OutputCallback();
+
+    private final Object lock = new Object();
+
+    private final OutputBuffer stdout = new OutputBuffer();
+
+    private final OutputBuffer stderr = new OutputBuffer();
+
+    private boolean terminated = false;
+
+    private long commandCount = 0;
+
+    ExecSession(ContainerState container, Charset outputCharset) {
+        ExecInContainerPattern.checkExecPossible(container.getContainerInfo());
+        this.containerName = container.getContainerInfo().getName();
+        this.outputCharset = outputCharset;
+
+        DockerClient dockerClient = DockerClientFactory.instance().client();
+        ExecCreateCmdResponse execCreateCmdResponse = dockerClient.execCreateCmd(container.getContainerId())
+            .withAttachStdin(true).withAttachStdout(true).withAttachStderr(true).withCmd("sh").exec();
+
+        log.debug("{}: Opened exec session", containerName);
+        dockerClient.execStartCmd(execCreateCmdResponse.getId()).withStdIn(shellInput).exec(callback);
+    }
+
+    /**
+     * Run a command in the shell of this session.
+     *
+     * @param command the parts of the command to run
+     * @return the result of execution
+     * @throws InterruptedException if the thread waiting for the result is interrupted
+     * @throws IllegalStateException if the session is closed, or the shell terminated
+     */
+    public synchronized Container.ExecResult execInContainer(String... command) throws InterruptedException {
+        final String marker = markerPrefix + commandCount++;
+        final byte[] markerBytes = marker.getBytes(StandardCharsets.UTF_8);
+
+        log.debug("{}: Running command in exec session: {}", containerName, String.join(" ", command));
+        shellInput.write(
+            ExecInContainerPattern.toShellCommand(command) + " </dev/null\n" +
+                "__tc_exit_code=$?\n" +
+                "printf '%s %d\\n' '" + marker + "' \"$__tc_exit_code\"\n" +
+                "printf '%s\\n' '" + marker + "' >&2\n"
+        );
+
+        synchronized (lock) {
+            int stdoutMarker;
+            int stderrMarker;
+            int exitCodeEnd;
+            while (true) {
+                stdoutMarker = stdout.indexOf(markerBytes);
+                exitCodeEnd = stdoutMarker == -1 ? -1 : stdout.indexOf((byte) '\n', stdoutMarker + markerBytes.length);
+                stderrMarker = stderr.indexOf(markerBytes);
+                if (exitCodeEnd != -1 && stderrMarker != -1) {
+                    break;
+                }
+                if (terminated) {
+                    throw new IllegalStateException("The shell of the exec session terminated");
+                }
+                lock.wait();
+            }
+
+            final int exitCode = Integer.parseInt(
+                new String(stdout.bytes, stdoutMarker + markerBytes.length, exitCodeEnd - stdoutMarker - markerBytes.length, StandardCharsets.UTF_8).trim()
+            );
+            final Container.ExecResult result = new Container.ExecResult(
+                exitCode,
+                new String(stdout.bytes, 0, stdoutMarker, outputCharset),
+                new String(stderr.bytes, 0, stderrMarker, outputCharset)
+            );
+            stdout.reset();
+            stderr.reset();
+
+            log.trace("{}: stdout: {}", containerName, result.getStdout());
+            log.trace("{}: stderr: {}", containerName, result.getStderr());
+            return result;
+        }
+    }
+
+    /**
+     * Terminates the shell of this session.
+     */
+    @Override
+    public void close() throws IOException {
+        if (shellInput.closed) {
+            return;
+        }
+        shellInput.write("exit\n");
+        shellInput.close();
+        try {
+            callback.awaitCompletion(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            callback.close();
+        }
+        log.debug("{}: Closed exec session", containerName);
+    }
+
+    private class OutputCallback extends ResultCallbackTemplate<OutputCallback, Frame> {
+
+        @Override
+        public void onNext(Frame frame) {
+            OutputFrame outputFrame = OutputFrame.forFrame(frame);
+            if (outputFrame == null || outputFrame.getBytes() == null) {
+                return;
+            }
+            synchronized (lock) {
+                (outputFrame.getType() == OutputFrame.OutputType.STDERR ? stderr : stdout).append(outputFrame.getBytes());
+                lock.notifyAll();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            synchronized (lock) {
+                terminated = true;
+                lock.notifyAll();
+            }
+            super.close();
+        }
+    }
+
+    /**
+     * Output of the running command, searched for its marker as it arrives
+     */
+    private static class OutputBuffer {
+
+        private byte[] bytes = new byte[8192];
+
+        private int length = 0;
+
+        /**
+         * Where the next search starts, as the previous ones did not find the target before
+         */
+        private int searchFrom = 0;
+
+        void append(byte[] data) {
+            if (length + data.length > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + data.length));
+            }
+            System.arraycopy(data, 0, bytes, length, data.length);
+            length += data.length;
+        }
+
+        int indexOf(byte[] target) {
+            for (int i = searchFrom; i <= length - target.length; i++) {
+                int j = 0;
+                while (j < target.length && bytes[i + j] == target[j]) {
+                    j++;
+                }
+                if (j == target.length) {
+                    return i;
+                }
+            }
+            searchFrom = Math.max(searchFrom, length - target.length + 1);
+            return -1;
+        }
+
+        int indexOf(byte target, int from) {
+            for (int i = from; i < length; i++) {
+                if (bytes[i] == target) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        void reset() {
+            length = 0;
+            searchFrom = 0;
+        }
+    }
+
+    /**
+     * Standard input of the shell. Unlike a {@link java.io.PipedInputStream}, it does not depend on the writing thread
+     * staying alive, so that a session can be used from any thread.
+     */
+    private static class ShellInput extends InputStream {
+
+        private static final byte[] EOF = new byte[0];
+
+        private final LinkedBlockingQueue<byte[]> chunks = new LinkedBlockingQueue<>();
+
+        private byte[] current;
+
+        private int position;
+
+        private volatile boolean closed = false;
+
+        void write(String script) {
+            if (closed) {
+                throw new IllegalStateException("The exec session is closed");
+            }
+            chunks.add(script.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            try {
+                if (current == null || position == current.length) {
+                    current = chunks.take();
+                    position = 0;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for commands", e);
+            }
+            if (current == EOF) {
+                // keep returning EOF on subsequent reads
+                chunks.add(EOF);
+                return -1;
+            }
+            int count = Math.min(length, current.length - position);
+            System.arraycopy(current, position, buffer, offset, count);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                chunks.add(EOF);
+            }
+        }
+    }
+}
@@ -355,6 +355,9 @@ public class GenericContainer<SELF extends GenericContainer<SELF>>
             String dockerImageName = getDockerImageName();
             logger().debug("Starting container: {}", dockerImageName);
 
+            // The checks were running in the background while the image was being resolved
+            DockerClientFactory.instance().awaitEnvironmentChecks();
+
             logger().info("Creating container for image: {}", dockerImageName);
             CreateContainerCmd createCommand = dockerClient.createContainerCmd(dockerImageName);
             applyConfiguration(createCommand);
@@ -602,6 +605,7 @@ public class GenericContainer<SELF extends GenericContainer<SELF>>
             ResourceReaper.instance().stopAndRemoveContainer(containerId, imageName);
             containerIsStopped(containerInfo);
         } finally {
+            DirectorySync.forget(containerId);
             containerId = null;
             containerInfo = null;
         }
@@ -800,8 +804,6 @@ public class GenericContainer<SELF extends GenericContainer<SELF>>
             createCommand.withNetworkMode(networkForLinks.get());
         }
 
-        createCommand.withPublishAllPorts(true);
-
         PortForwardingContainer.INSTANCE.getNetwork().ifPresent(it -> {
             withExtraHost(INTERNAL_HOST_HOSTNAME, it.getIpAddress());
         });
@@ -827,6 +829,14 @@ public class GenericContainer<SELF extends GenericContainer<SELF>>
 
         createContainerCmdModifiers.forEach(hook -> hook.accept(createCommand));
 
+        // containers reachable on the network the modifiers leave them on need no published ports, fixed host ports
+        // are still bound. A modifier deciding to publish ports itself is not overridden
+        HostConfig createHostConfig = createCommand.getHostConfig();
+        if (createHostConfig == null || createHostConfig.getPublishAllPorts() == null) {
+            String createNetworkMode = createHostConfig != null ? createHostConfig.getNetworkMode() : null;
+            createCommand.withPublishAllPorts(!DirectContainerAccess.isReachable(createNetworkMode));
+        }
+
         Map<String, String> combinedLabels = new HashMap<>();
         combinedLabels.putAll(labels);
         if (createCommand.getLabels() != null) {
@@ -1193,6 +1203,9 @@ public class GenericContainer<SELF extends GenericContainer<SELF>>
 
         if (mode == BindMode.READ_ONLY && selinuxContext == SelinuxContext.NONE) {
             withCopyFileToContainer(mountableFile, containerPath);
+        } else if (mode == BindMode.READ_WRITE) {
+            // the container must not modify resources extracted for subsequent runs
+            addFileSystemBind(mountableFile.getPrivateResolvedPath(), containerPath, mode, selinuxContext);
         } else {
             addFileSystemBind(mountableFile.getResolvedPath(), containerPath, mode, selinuxContext);
         }
@@ -0,0 +1,293 @@
+package org.testcontainers.containers;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.testcontainers.DockerClientFactory;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Relays TCP connections accepted on an address reachable by containers to ports of the host that may only listen on
+ * the loopback interface.
+ * <p>
+ * All the connections are served by a single thread with a {@link Selector}. Every accepted connection gets its own
+ * connection to the host port, and data is moved between them through direct buffers, without encryption or
+ * multiplexing. A side is only read while the buffer towards the other side is empty, so a slow reader slows down the
+ * writer instead of letting data pile up.
+ */
+@Slf4j
+class HostPortRelay implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    @Getter
+    private final InetAddress bindAddress;
+
+    private final Selector selector;
+
+    private final Queue<Runnable> pendingRegistrations = new ConcurrentLinkedQueue<>();
+
+    private final Thread thread;
+
+    private volatile boolean running = true;
+
+    HostPortRelay(InetAddress bindAddress) throws IOException {
+        this.bindAddress = bindAddress;
+        this.selector = Selector.open();
+        this.thread = new Thread(DockerClientFactory.TESTCONTAINERS_THREAD_GROUP, this::run, "testcontainers-host-port-relay-" + THREAD_COUNTER.incrementAndGet());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Starts relaying connections to the given port of the host.
+     *
+     * @param hostPort the port connections are relayed to, on the loopback interface
+     * @return the port, of the bind address, accepting the connections to relay
+     */
+    int listen(int hostPort) throws IOException {
+        ServerSocketChannel serverChannel = ServerSocketChannel.open();
+        try {
+            serverChannel.bind(new InetSocketAddress(bindAddress, 0));
+            serverChannel.configureBlocking(false);
+        } catch (IOException e) {
+            serverChannel.close();
+            throw e;
+        }
+
+        // channels can only be registered while the selector is not selecting, i.e. from the relay thread
+        pendingRegistrations.add(() -> {
+            try {
+                serverChannel.register(selector, SelectionKey.OP_ACCEPT, hostPort);
+            } catch (IOException e) {
+                log.warn("Could not relay connections to port {}", hostPort, e);
+            }
+        });
+        selector.wakeup();
+
+        int relayPort = ((InetSocketAddress) serverChannel.getLocalAddress()).getPort();
+        log.debug("Relaying connections to {}:{} to port {}", bindAddress.getHostAddress(), relayPort, hostPort);
+        return relayPort;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        selector.wakeup();
+    }
+
+    private void run() {
+        try {
+            while (running) {
+                selector.select();
+
+                Runnable registration;
+                while ((registration = pendingRegistrations.poll()) != null) {
+                    registration.run();
+                }
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+
+                    if (key.attachment() instanceof Integer) {
+                        accept((ServerSocketChannel) key.channel(), (Integer) key.attachment());
+                    } else {
+                        Relay relay = (Relay) key.attachment();
+                        try {
+                            relay.handle(key);
+                        } catch (IOException | CancelledKeyException e) {
+                            log.trace("Relayed connection failed", e);
+                            relay.close();
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Host port relay stopped", e);
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                closeQuietly(key.channel());
+            }
+            closeQuietly(selector);
+        }
+    }
+
+    private void accept(ServerSocketChannel serverChannel, int hostPort) {
+        SocketChannel client = null;
+        SocketChannel upstream = null;
+        try {
+            client = serverChannel.accept();
+            if (client == null) {
+                return;
+            }
+            client.configureBlocking(false);
+            client.setOption(StandardSocketOptions.TCP_NODELAY, true);
+
+            upstream = SocketChannel.open();
+            upstream.configureBlocking(false);
+            upstream.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            boolean connected = upstream.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), hostPort));
+
+            new Relay(client, upstream, connected).updateInterests();
+        } catch (IOException e) {
+            log.debug("Could not relay connection to port {}", hostPort, e);
+            closeQuietly(client);
+            closeQuietly(upstream);
+        }
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        if (closeable != null) {
+            try {
+                closeable.close();
+            } catch (Exception ignored) {
+            }
+        }
+    }
+
+    /**
+     * A connection accepted by the relay, and the connection to the host port it is relayed to
+     */
+    private final class Relay {
+
+        private final SocketChannel client;
+
+        private final SocketChannel upstream;
+
+        private final SelectionKey clientKey;
+
+        private final SelectionKey upstreamKey;
+
+        private final Flow toUpstream;
+
+        private final Flow toClient;
+
+        private boolean connected;
+
+        private Relay(SocketChannel client, SocketChannel upstream, boolean connected) throws IOException {
+            this.client = client;
+            this.upstream = upstream;
+            this.connected = connected;
+            this.toUpstream = new Flow(client, upstream);
+            this.toClient = new Flow(upstream, client);
+            this.clientKey = client.register(selector, 0, this);
+            this.upstreamKey = upstream.register(selector, 0, this);
+        }
+
+        void handle(SelectionKey key) throws IOException {
+            if (key.isConnectable() && upstream.finishConnect()) {
+                connected = true;
+            }
+            if (key.isReadable()) {
+                (key == clientKey ? toUpstream : toClient).read();
+            }
+            if (key.isValid() && key.isWritable()) {
+                (key == clientKey ? toClient : toUpstream).write();
+            }
+
+            if (toUpstream.isDone() && toClient.isDone()) {
+                close();
+            } else {
+                updateInterests();
+            }
+        }
+
+        void updateInterests() {
+            if (!connected) {
+                // the client is only read once its data can be sent somewhere
+                clientKey.interestOps(0);
+                upstreamKey.interestOps(SelectionKey.OP_CONNECT);
+                return;
+            }
+            clientKey.interestOps(toUpstream.interestsOfSource() | toClient.interestsOfSink());
+            upstreamKey.interestOps(toClient.interestsOfSource() | toUpstream.interestsOfSink());
+        }
+
+        void close() {
+            closeQuietly(client);
+            closeQuietly(upstream);
+        }
+    }
+
+    /**
+     * One direction of a relayed connection
+     */
+    private static final class Flow {
+
+        private final SocketChannel source;
+
+        private final SocketChannel sink;
+
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        /**
+         * Whether the buffer holds data read from the source and not written to the sink yet
+         */
+        private boolean pending = false;
+
+        private boolean endOfStream = false;
+
+        private boolean done = false;
+
+        private Flow(SocketChannel source, SocketChannel sink) {
+            this.source = source;
+            this.sink = sink;
+        }
+
+        void read() throws IOException {
+            int read = source.read(buffer);
+            if (read == -1) {
+                endOfStream = true;
+            } else if (read > 0) {
+                buffer.flip();
+                pending = true;
+            }
+            // most of the time the sink can take the data right away
+            write();
+        }
+
+        void write() throws IOException {
+            if (pending) {
+                sink.write(buffer);
+                if (!buffer.hasRemaining()) {
+                    buffer.clear();
+                    pending = false;
+                }
+            }
+            if (endOfStream && !pending && !done) {
+                // half-close, so that the other direction keeps working until its own end
+                sink.shutdownOutput();
+                done = true;
+            }
+        }
+
+        boolean isDone() {
+            return done;
+        }
+
+        int interestsOfSource() {
+            return endOfStream || pending ? 0 : SelectionKey.OP_READ;
+        }
+
+        int interestsOfSink() {
+            return pending ? SelectionKey.OP_WRITE : 0;
+        }
+    }
+}
@@ -0,0 +1,975 @@
+package org.testcontainers.containers;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.command.CreateContainerCmd;
+import com.github.dockerjava.api.command.CreateNetworkCmd;
+import com.github.dockerjava.api.command.CreateVolumeCmd;
+import com.github.dockerjava.api.command.InspectContainerResponse;
+import com.github.dockerjava.api.exception.NotFoundException;
+import com.github.dockerjava.api.model.AccessMode;
+import com.github.dockerjava.api.model.Bind;
+import com.github.dockerjava.api.model.Container;
+import com.github.dockerjava.api.model.ContainerNetwork;
+import com.github.dockerjava.api.model.ExposedPort;
+import com.github.dockerjava.api.model.HealthCheck;
+import com.github.dockerjava.api.model.HostConfig;
+import com.github.dockerjava.api.model.InspectVolumeResponse;
+import com.github.dockerjava.api.model.Link;
+import com.github.dockerjava.api.model.PortBinding;
+import com.github.dockerjava.api.model.RestartPolicy;
+import com.github.dockerjava.api.model.Volume;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.Nullable;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.images.builder.ImageFromDockerfile;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Starts the services of compose files with the Docker API, instead of running Docker Compose.
+ * <p>
+ * Networks and volumes are created first. The services then start concurrently, each one as soon as the services it
+ * {@code depends_on} are started, healthy or completed, as the condition of the dependency requires. Containers,
+ * networks and volumes are named and labelled the way Docker Compose does, so that they are found and cleaned up the
+ * same way.
+ * <p>
+ * Only the parts of the compose file format commonly used by tests are supported. Services using other keys are
+ * rejected rather than started differently than Docker Compose would.
+ */
+@Slf4j
+class NativeDockerCompose {
+
+    private static final String PROJECT_LABEL = "com.docker.compose.project";
+
+    private static final String SERVICE_LABEL = "com.docker.compose.service";
+
+    private static final String CONTAINER_NUMBER_LABEL = "com.docker.compose.container-number";
+
+    private static final String ONEOFF_LABEL = "com.docker.compose.oneoff";
+
+    private static final String NETWORK_LABEL = "com.docker.compose.network";
+
+    private static final String VOLUME_LABEL = "com.docker.compose.volume";
+
+    private static final String DEFAULT_NETWORK = "default";
+
+    private static final Set<String> SUPPORTED_SERVICE_KEYS = ImmutableSet.of(
+        "image", "build", "command", "entrypoint", "environment", "env_file", "labels", "ports", "expose", "volumes",
+        "networks", "network_mode", "depends_on", "links", "healthcheck", "working_dir", "user", "hostname",
+        "privileged", "extra_hosts", "scale", "restart", "tty", "stdin_open"
+    );
+
+    /**
+     * Keys whose values are added to, rather than replaced by, the values of later compose files
+     */
+    private static final Set<String> CONCATENATED_SERVICE_KEYS = ImmutableSet.of("ports", "expose", "volumes", "extra_hosts");
+
+    private static final Pattern VARIABLE = Pattern.compile("\\$(?:(\\$)|\\{([^}]*)}|([A-Za-z_][A-Za-z0-9_]*))");
+
+    private static final Pattern VARIABLE_EXPRESSION = Pattern.compile("([A-Za-z_][A-Za-z0-9_]*)(?:(:?)([-?])(.*))?");
+
+    private static final Pattern DURATION = Pattern.compile("(\\d+(?:\\.\\d+)?)(h|ms|m|s|us|ns)");
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final DockerClient client;
+
+    private final String project;
+
+    private final Path projectDirectory;
+
+    private final Map<String, String> variables;
+
+    private final Map<String, Map<String, Object>> serviceDefinitions = new LinkedHashMap<>();
+
+    private final Map<String, Map<String, Object>> networkDefinitions = new LinkedHashMap<>();
+
+    private final Map<String, Map<String, Object>> volumeDefinitions = new LinkedHashMap<>();
+
+    NativeDockerCompose(DockerClient client, List<File> composeFiles, List<ParsedDockerComposeFile> parsedComposeFiles, String project, Map<String, String> env) {
+        this.client = client;
+        this.project = project;
+        this.projectDirectory = composeFiles.get(0).getAbsoluteFile().getParentFile().toPath();
+        this.variables = getVariables(env);
+
+        // later files override earlier ones, as with Docker Compose
+        for (ParsedDockerComposeFile composeFile : parsedComposeFiles) {
+            composeFile.getServiceDefinitions().forEach((name, definition) ->
+                serviceDefinitions.merge(name, normalize(asMap(interpolate(definition))), NativeDockerCompose::merge)
+            );
+            composeFile.getDefinitions("networks").forEach((name, definition) ->
+                networkDefinitions.merge(name, asMap(interpolate(definition)), NativeDockerCompose::merge)
+            );
+            composeFile.getDefinitions("volumes").forEach((name, definition) ->
+                volumeDefinitions.merge(name, asMap(interpolate(definition)), NativeDockerCompose::merge)
+            );
+        }
+    }
+
+    /**
+     * Creates and starts the services, like {@code docker-compose up -d}.
+     *
+     * @param requestedServices the services to start, with the services they depend on, or all services if empty
+     * @param scaling           the number of containers of services, instead of their {@code scale}
+     * @param build             whether to build images even if they exist already
+     */
+    @SneakyThrows
+    void up(Collection<String> requestedServices, Map<String, Integer> scaling, boolean build) {
+        Map<String, Map<String, String>> dependencies = new LinkedHashMap<>();
+        for (String service : serviceDefinitions.keySet()) {
+            dependencies.put(service, getDependencies(service));
+        }
+        List<String> startOrder = sort(requestedServices.isEmpty() ? serviceDefinitions.keySet() : requestedServices, dependencies);
+        startOrder.forEach(this::validate);
+
+        ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(DockerClientFactory.TESTCONTAINERS_THREAD_GROUP, runnable);
+            thread.setDaemon(true);
+            thread.setName("testcontainers-compose-" + THREAD_COUNTER.incrementAndGet());
+            return thread;
+        });
+
+        log.info("Starting {} services of project {}", startOrder.size(), project);
+        long start = System.nanoTime();
+        try {
+            createNetworks(startOrder);
+            createVolumes(startOrder);
+
+            Map<String, CompletableFuture<List<String>>> started = new LinkedHashMap<>();
+            Map<String, CompletableFuture<?>> conditions = new HashMap<>();
+            for (String service : startOrder) {
+                CompletableFuture<?>[] ready = dependencies.get(service).entrySet().stream()
+                    .map(dependency -> conditions.computeIfAbsent(
+                        dependency.getKey() + ":" + dependency.getValue(),
+                        __ -> getCondition(dependency.getKey(), dependency.getValue(), started.get(dependency.getKey()), executor)
+                    ))
+                    .toArray(CompletableFuture[]::new);
+
+                int scale = scaling.getOrDefault(service, getScale(serviceDefinitions.get(service)));
+                started.put(service, CompletableFuture.allOf(ready).thenApplyAsync(__ -> startService(service, scale, build), executor));
+            }
+
+            CompletableFuture.allOf(started.values().toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            throw e.getCause();
+        } finally {
+            executor.shutdown();
+        }
+        log.info("Started {} services of project {} in {}ms", startOrder.size(), project, Duration.ofNanos(System.nanoTime() - start).toMillis());
+    }
+
+    /**
+     * Removes the containers, networks and volumes of the project, like {@code docker-compose down -v}.
+     *
+     * @param removeImages which images of the services to remove as well, if any
+     */
+    void down(@Nullable DockerComposeContainer.RemoveImages removeImages) {
+        List<Container> containers = client.listContainersCmd()
+            .withShowAll(true)
+            .withLabelFilter(Collections.singletonMap(PROJECT_LABEL, project))
+            .exec();
+        containers.parallelStream().forEach(container ->
+            ignoringNotFound(() -> client.removeContainerCmd(container.getId()).withForce(true).withRemoveVolumes(true).exec())
+        );
+
+        client.listNetworksCmd().withNameFilter(project + "_").exec().stream()
+            .filter(network -> network.getLabels() != null && project.equals(network.getLabels().get(PROJECT_LABEL)))
+            .forEach(network -> ignoringNotFound(() -> client.removeNetworkCmd(network.getId()).exec()));
+
+        List<InspectVolumeResponse> volumes = client.listVolumesCmd().exec().getVolumes();
+        if (volumes != null) {
+            volumes.stream()
+                .map(InspectVolumeResponse::getName)
+                .filter(name -> name.startsWith(project + "_"))
+                .forEach(name -> ignoringNotFound(() -> client.removeVolumeCmd(name).exec()));
+        }
+
+        if (removeImages != null) {
+            serviceDefinitions.forEach((service, definition) -> {
+                boolean customImageName = definition.containsKey("image");
+                if (removeImages == DockerComposeContainer.RemoveImages.ALL || !customImageName) {
+                    String imageName = customImageName ? (String) definition.get("image") : getBuiltImageName(service);
+                    ignoringNotFound(() -> client.removeImageCmd(imageName).withForce(true).exec());
+                }
+            });
+        }
+    }
+
+    private CompletableFuture<?> getCondition(String service, String condition, CompletableFuture<List<String>> started, ExecutorService executor) {
+        switch (condition) {
+            case "service_started":
+                return started;
+            case "service_healthy":
+                return started.thenAcceptAsync(containerIds -> containerIds.forEach(id -> waitUntilHealthy(service, id)), executor);
+            case "service_completed_successfully":
+                return started.thenAcceptAsync(containerIds -> containerIds.forEach(id -> waitUntilCompleted(service, id)), executor);
+            default:
+                throw new ContainerLaunchException("Unknown condition '" + condition + "' of the dependency on service " + service);
+        }
+    }
+
+    private List<String> startService(String service, int scale, boolean build) {
+        Map<String, Object> definition = serviceDefinitions.get(service);
+        String image = getImage(service, definition, build);
+
+        List<String> containerIds = new ArrayList<>();
+        for (int number = 1; number <= scale; number++) {
+            String containerId = createContainer(service, number, image, definition);
+            client.startContainerCmd(containerId).exec();
+            containerIds.add(containerId);
+        }
+        log.debug("Started service {} of project {}", service, project);
+        return containerIds;
+    }
+
+    @SuppressWarnings("deprecation")
+    private String createContainer(String service, int number, String image, Map<String, Object> definition) {
+        String containerName = project + "_" + service + "_" + number;
+        CreateContainerCmd createCommand = client.createContainerCmd(image).withName(containerName);
+        HostConfig hostConfig = new HostConfig();
+
+        Map<String, String> labels = new LinkedHashMap<>(DockerClientFactory.DEFAULT_LABELS);
+        labels.putAll(getStrings(definition.get("labels")));
+        labels.put(PROJECT_LABEL, project);
+        labels.put(SERVICE_LABEL, service);
+        labels.put(CONTAINER_NUMBER_LABEL, Integer.toString(number));
+        labels.put(ONEOFF_LABEL, "False");
+        createCommand.withLabels(labels);
+
+        Map<String, String> environment = new LinkedHashMap<>();
+        for (Object envFile : asList(definition.get("env_file"))) {
+            environment.putAll(readEnvFile(projectDirectory.resolve(envFile.toString())));
+        }
+        getStrings(definition.get("environment")).forEach((key, value) -> {
+            // variables without a value are taken from the environment of Compose, if set there
+            String resolved = value != null ? value : variables.get(key);
+            if (resolved != null) {
+                environment.put(key, resolved);
+            }
+        });
+        createCommand.withEnv(environment.entrySet().stream().map(it -> it.getKey() + "=" + it.getValue()).collect(Collectors.toList()));
+
+        if (definition.containsKey("command")) {
+            createCommand.withCmd(getCommand(definition.get("command")));
+        }
+        if (definition.containsKey("entrypoint")) {
+            createCommand.withEntrypoint(getCommand(definition.get("entrypoint")));
+        }
+
+        List<ExposedPort> exposedPorts = new ArrayList<>();
+        List<PortBinding> portBindings = new ArrayList<>();
+        for (Object port : asList(definition.get("ports"))) {
+            PortBinding portBinding = PortBinding.parse(requirePort(service, port));
+            portBindings.add(portBinding);
+            exposedPorts.add(portBinding.getExposedPort());
+        }
+        for (Object port : asList(definition.get("expose"))) {
+            exposedPorts.add(ExposedPort.parse(port.toString()));
+        }
+        createCommand.withExposedPorts(exposedPorts);
+        createCommand.withPortBindings(portBindings.toArray(new PortBinding[0]));
+
+        List<Bind> binds = new ArrayList<>();
+        List<Volume> anonymousVolumes = new ArrayList<>();
+        for (Object volume : asList(definition.get("volumes"))) {
+            String[] parts = requireString(service, "volumes", volume).split(":");
+            if (parts.length == 1) {
+                anonymousVolumes.add(new Volume(parts[0]));
+            } else {
+                AccessMode accessMode = parts.length > 2 && parts[2].contains("ro") ? AccessMode.ro : AccessMode.rw;
+                binds.add(new Bind(getVolumeSource(parts[0]), new Volume(parts[1]), accessMode));
+            }
+        }
+        createCommand.withVolumes(anonymousVolumes);
+        hostConfig.withBinds(binds);
+
+        hostConfig.withLinks(asList(definition.get("links")).stream()
+            .map(Object::toString)
+            .map(link -> {
+                String[] parts = link.split(":", 2);
+                return new Link(project + "_" + parts[0] + "_1", parts.length > 1 ? parts[1] : parts[0]);
+            })
+            .toArray(Link[]::new)
+        );
+
+        hostConfig.withExtraHosts(asList(definition.get("extra_hosts")).stream()
+            .map(extraHost -> requireString(service, "extra_hosts", extraHost))
+            .toArray(String[]::new)
+        );
+        if (definition.containsKey("privileged")) {
+            hostConfig.withPrivileged(Boolean.valueOf(definition.get("privileged").toString()));
+        }
+        if (definition.containsKey("restart")) {
+            hostConfig.withRestartPolicy(getRestartPolicy(service, definition.get("restart")));
+        }
+        createCommand.withHostConfig(hostConfig);
+
+        if (definition.containsKey("healthcheck")) {
+            createCommand.withHealthcheck(getHealthCheck(asMap(definition.get("healthcheck"))));
+        }
+        if (definition.containsKey("working_dir")) {
+            createCommand.withWorkingDir(definition.get("working_dir").toString());
+        }
+        if (definition.containsKey("user")) {
+            createCommand.withUser(definition.get("user").toString());
+        }
+        if (definition.containsKey("hostname")) {
+            createCommand.withHostName(definition.get("hostname").toString());
+        }
+        if (definition.containsKey("tty")) {
+            createCommand.withTty(Boolean.valueOf(definition.get("tty").toString()));
+        }
+        if (definition.containsKey("stdin_open")) {
+            createCommand.withStdinOpen(Boolean.valueOf(definition.get("stdin_open").toString()));
+        }
+
+        Map<String, Object> networks = getNetworks(definition);
+        String networkMode = (String) definition.get("network_mode");
+        if (networkMode != null) {
+            createCommand.withNetworkMode(networkMode.startsWith("service:")
+                ? "container:" + project + "_" + networkMode.substring("service:".length()) + "_1"
+                : networkMode
+            );
+        } else {
+            Map.Entry<String, Object> primary = networks.entrySet().iterator().next();
+            createCommand.withNetworkMode(getNetworkName(primary.getKey()));
+            createCommand.withAliases(getAliases(service, primary.getValue()));
+        }
+
+        String containerId = createCommand.exec().getId();
+
+        if (networkMode == null) {
+            // only one network can be given when creating the container
+            networks.entrySet().stream().skip(1).forEach(network ->
+                client.connectToNetworkCmd()
+                    .withContainerId(containerId)
+                    .withNetworkId(getNetworkName(network.getKey()))
+                    .withContainerNetwork(new ContainerNetwork().withAliases(getAliases(service, network.getValue())))
+                    .exec()
+            );
+        }
+        return containerId;
+    }
+
+    @SneakyThrows
+    private String getImage(String service, Map<String, Object> definition, boolean build) {
+        Object buildDefinition = definition.get("build");
+        String image = (String) definition.get("image");
+        if (buildDefinition == null) {
+            if (image == null) {
+                throw new ContainerLaunchException("Service " + service + " has neither an image nor a build");
+            }
+            DockerClientFactory.instance().checkAndPullImage(client, image);
+            return image;
+        }
+
+        String imageName = image != null ? image : getBuiltImageName(service);
+        if (!build && imageExists(imageName)) {
+            return imageName;
+        }
+
+        Map<String, Object> buildConfig = buildDefinition instanceof Map
+            ? asMap(buildDefinition)
+            : Collections.singletonMap("context", buildDefinition);
+        Path context = projectDirectory.resolve(Objects.toString(buildConfig.get("context"), ".")).normalize();
+        ImageFromDockerfile imageFromDockerfile = new ImageFromDockerfile(imageName, false)
+            .withFileFromPath(".", context)
+            .withDockerfilePath(Objects.toString(buildConfig.get("dockerfile"), "Dockerfile"));
+        getStrings(buildConfig.get("args")).forEach((key, value) -> {
+            String resolved = value != null ? value : variables.get(key);
+            if (resolved != null) {
+                imageFromDockerfile.withBuildArg(key, resolved);
+            }
+        });
+        log.info("Building image {} of service {}", imageName, service);
+        return imageFromDockerfile.get();
+    }
+
+    private boolean imageExists(String imageName) {
+        try {
+            client.inspectImageCmd(imageName).exec();
+            return true;
+        } catch (NotFoundException e) {
+            return false;
+        }
+    }
+
+    private String getBuiltImageName(String service) {
+        return project + "_" + service;
+    }
+
+    private void waitUntilHealthy(String service, String containerId) {
+        while (true) {
+            InspectContainerResponse.ContainerState state = client.inspectContainerCmd(containerId).exec().getState();
+            if (state.getHealth() == null) {
+                throw new ContainerLaunchException("Service " + service + " is a dependency with condition service_healthy, but has no healthcheck");
+            }
+            String status = state.getHealth().getStatus();
+            if (ContainerState.STATE_HEALTHY.equals(status)) {
+                return;
+            }
+            if ("unhealthy".equals(status) || !Boolean.TRUE.equals(state.getRunning())) {
+                throw new ContainerLaunchException("Service " + service + " is " + (Boolean.TRUE.equals(state.getRunning()) ? "unhealthy" : "not running"));
+            }
+            sleep();
+        }
+    }
+
+    private void waitUntilCompleted(String service, String containerId) {
+        while (true) {
+            InspectContainerResponse.ContainerState state = client.inspectContainerCmd(containerId).exec().getState();
+            if (!Boolean.TRUE.equals(state.getRunning())) {
+                Integer exitCode = state.getExitCode();
+                if (exitCode == null || exitCode != 0) {
+                    throw new ContainerLaunchException("Service " + service + " did not complete successfully, exit code " + exitCode);
+                }
+                return;
+            }
+            sleep();
+        }
+    }
+
+    @SneakyThrows(InterruptedException.class)
+    private static void sleep() {
+        TimeUnit.MILLISECONDS.sleep(100);
+    }
+
+    private void createNetworks(List<String> services) {
+        Set<String> networks = new LinkedHashSet<>();
+        for (String service : services) {
+            Map<String, Object> definition = serviceDefinitions.get(service);
+            if (!definition.containsKey("network_mode")) {
+                networks.addAll(getNetworks(definition).keySet());
+            }
+        }
+
+        for (String network : networks) {
+            Map<String, Object> definition = networkDefinitions.getOrDefault(network, Collections.emptyMap());
+            if (isExternal(definition)) {
+                continue;
+            }
+            Map<String, String> labels = new LinkedHashMap<>(DockerClientFactory.DEFAULT_LABELS);
+            labels.putAll(getStrings(definition.get("labels")));
+            labels.put(PROJECT_LABEL, project);
+            labels.put(NETWORK_LABEL, network);
+
+            CreateNetworkCmd createNetworkCmd = client.createNetworkCmd()
+                .withName(getNetworkName(network))
+                .withDriver(Objects.toString(definition.get("driver"), "bridge"))
+                .withInternal(Boolean.valueOf(Objects.toString(definition.get("internal"), "false")))
+                .withCheckDuplicate(true)
+                .withLabels(labels);
+            if (definition.containsKey("driver_opts")) {
+                createNetworkCmd.withOptions(getStrings(definition.get("driver_opts")));
+            }
+            createNetworkCmd.exec();
+        }
+    }
+
+    private void createVolumes(List<String> services) {
+        Set<String> volumes = new LinkedHashSet<>();
+        for (String service : services) {
+            for (Object volume : asList(serviceDefinitions.get(service).get("volumes"))) {
+                String source = volume.toString().split(":")[0];
+                if (volume.toString().contains(":") && volumeDefinitions.containsKey(source)) {
+                    volumes.add(source);
+                }
+            }
+        }
+
+        for (String volume : volumes) {
+            Map<String, Object> definition = volumeDefinitions.get(volume);
+            if (isExternal(definition)) {
+                continue;
+            }
+            Map<String, String> labels = new LinkedHashMap<>(DockerClientFactory.DEFAULT_LABELS);
+            labels.putAll(getStrings(definition.get("labels")));
+            labels.put(PROJECT_LABEL, project);
+            labels.put(VOLUME_LABEL, volume);
+
+            CreateVolumeCmd createVolumeCmd = client.createVolumeCmd()
+                .withName(getVolumeName(volume))
+                .withLabels(labels);
+            if (definition.containsKey("driver")) {
+                createVolumeCmd.withDriver(definition.get("driver").toString());
+            }
+            if (definition.containsKey("driver_opts")) {
+                createVolumeCmd.withDriverOpts(getStrings(definition.get("driver_opts")));
+            }
+            createVolumeCmd.exec();
+        }
+    }
+
+    private String getVolumeSource(String source) {
+        if (source.startsWith("~")) {
+            return Paths.get(System.getProperty("user.home") + source.substring(1)).toString();
+        }
+        if (source.startsWith(".") || source.startsWith("/")) {
+            return projectDirectory.resolve(source).normalize().toString();
+        }
+        if (!volumeDefinitions.containsKey(source)) {
+            throw new ContainerLaunchException("Named volume '" + source + "' is used by a service but not declared in the volumes of the compose file");
+        }
+        return getVolumeName(source);
+    }
+
+    private String getNetworkName(String network) {
+        return getResourceName(network, networkDefinitions.getOrDefault(network, Collections.emptyMap()));
+    }
+
+    private String getVolumeName(String volume) {
+        return getResourceName(volume, volumeDefinitions.getOrDefault(volume, Collections.emptyMap()));
+    }
+
+    /**
+     * @return the name of a network or volume: as defined for external ones and ones with a name, otherwise prefixed
+     * with the project
+     */
+    private String getResourceName(String key, Map<String, Object> definition) {
+        Object external = definition.get("external");
+        if (external instanceof Map && asMap(external).containsKey("name")) {
+            return asMap(external).get("name").toString();
+        }
+        if (definition.containsKey("name")) {
+            return definition.get("name").toString();
+        }
+        return isExternal(definition) ? key : project + "_" + key;
+    }
+
+    private static boolean isExternal(Map<String, Object> definition) {
+        Object external = definition.get("external");
+        return external instanceof Map || Boolean.parseBoolean(Objects.toString(external, "false"));
+    }
+
+    private static Map<String, Object> getNetworks(Map<String, Object> definition) {
+        Map<String, Object> networks = asMap(definition.get("networks"));
+        return networks.isEmpty() ? Collections.singletonMap(DEFAULT_NETWORK, null) : networks;
+    }
+
+    private static List<String> getAliases(String service, @Nullable Object networkConfig) {
+        List<String> aliases = new ArrayList<>();
+        aliases.add(service);
+        for (Object alias : asList(asMap(networkConfig).get("aliases"))) {
+            aliases.add(alias.toString());
+        }
+        return aliases;
+    }
+
+    private static int getScale(Map<String, Object> definition) {
+        return Integer.parseInt(Objects.toString(definition.get("scale"), "1"));
+    }
+
+    /**
+     * @return the services the service depends on, with the condition to wait for
+     */
+    private Map<String, String> getDependencies(String service) {
+        Map<String, Object> definition = serviceDefinitions.get(service);
+        Map<String, String> dependencies = new LinkedHashMap<>();
+        asMap(definition.get("depends_on")).forEach((dependency, config) ->
+            dependencies.put(dependency, Objects.toString(asMap(config).get("condition"), "service_started"))
+        );
+        for (Object link : asList(definition.get("links"))) {
+            dependencies.putIfAbsent(link.toString().split(":")[0], "service_started");
+        }
+        Object networkMode = definition.get("network_mode");
+        if (networkMode != null && networkMode.toString().startsWith("service:")) {
+            dependencies.putIfAbsent(networkMode.toString().substring("service:".length()), "service_started");
+        }
+
+        for (String dependency : dependencies.keySet()) {
+            if (!serviceDefinitions.containsKey(dependency)) {
+                throw new ContainerLaunchException("Service " + service + " depends on undefined service " + dependency);
+            }
+        }
+        return dependencies;
+    }
+
+    /**
+     * @return the services and the services they depend on, every service after its dependencies
+     */
+    private static List<String> sort(Collection<String> services, Map<String, Map<String, String>> dependencies) {
+        Set<String> sorted = new LinkedHashSet<>();
+        Set<String> visiting = new LinkedHashSet<>();
+        for (String service : services) {
+            if (!dependencies.containsKey(service)) {
+                throw new ContainerLaunchException("No such service: " + service);
+            }
+            visit(service, dependencies, visiting, sorted);
+        }
+        return new ArrayList<>(sorted);
+    }
+
+    private static void visit(String service, Map<String, Map<String, String>> dependencies, Set<String> visiting, Set<String> sorted) {
+        if (sorted.contains(service)) {
+            return;
+        }
+        if (!visiting.add(service)) {
+            List<String> cycle = new ArrayList<>(visiting);
+            cycle = cycle.subList(cycle.indexOf(service), cycle.size());
+            cycle.add(service);
+            throw new ContainerLaunchException("Services depend on each other in a cycle: " + cycle);
+        }
+
+        for (String dependency : dependencies.get(service).keySet()) {
+            visit(dependency, dependencies, visiting, sorted);
+        }
+
+        visiting.remove(service);
+        sorted.add(service);
+    }
+
+    private void validate(String service) {
+        Set<String> unsupportedKeys = Sets.difference(serviceDefinitions.get(service).keySet(), SUPPORTED_SERVICE_KEYS);
+        if (!unsupportedKeys.isEmpty()) {
+            throw new ContainerLaunchException(
+                "Service " + service + " uses " + unsupportedKeys + ", which the native Compose engine does not support. " +
+                    "Please use Docker Compose instead, locally or in a container."
+            );
+        }
+    }
+
+    private static HealthCheck getHealthCheck(Map<String, Object> definition) {
+        HealthCheck healthCheck = new HealthCheck();
+        if (Boolean.parseBoolean(Objects.toString(definition.get("disable"), "false"))) {
+            return healthCheck.withTest(Collections.singletonList("NONE"));
+        }
+        Object test = definition.get("test");
+        if (test instanceof String) {
+            healthCheck.withTest(Arrays.asList("CMD-SHELL", (String) test));
+        } else if (test != null) {
+            healthCheck.withTest(asList(test).stream().map(Object::toString).collect(Collectors.toList()));
+        }
+        if (definition.containsKey("interval")) {
+            healthCheck.withInterval(parseDuration(definition.get("interval").toString()));
+        }
+        if (definition.containsKey("timeout")) {
+            healthCheck.withTimeout(parseDuration(definition.get("timeout").toString()));
+        }
+        if (definition.containsKey("start_period")) {
+            healthCheck.withStartPeriod(parseDuration(definition.get("start_period").toString()));
+        }
+        if (definition.containsKey("retries")) {
+            healthCheck.withRetries(Integer.valueOf(definition.get("retries").toString()));
+        }
+        return healthCheck;
+    }
+
+    /**
+     * @param duration a duration of the compose file, e.g. {@code 1m30s}
+     * @return the duration in nanoseconds
+     */
+    static long parseDuration(String duration) {
+        Matcher matcher = DURATION.matcher(duration);
+        double nanos = 0;
+        int end = 0;
+        while (matcher.find() && matcher.start() == end) {
+            double value = Double.parseDouble(matcher.group(1));
+            switch (matcher.group(2)) {
+                case "h":
+                    nanos += value * TimeUnit.HOURS.toNanos(1);
+                    break;
+                case "m":
+                    nanos += value * TimeUnit.MINUTES.toNanos(1);
+                    break;
+                case "s":
+                    nanos += value * TimeUnit.SECONDS.toNanos(1);
+                    break;
+                case "ms":
+                    nanos += value * TimeUnit.MILLISECONDS.toNanos(1);
+                    break;
+                case "us":
+                    nanos += value * TimeUnit.MICROSECONDS.toNanos(1);
+                    break;
+                default:
+                    nanos += value;
+            }
+            end = matcher.end();
+        }
+        if (end == 0 || end != duration.length()) {
+            throw new IllegalArgumentException("Invalid duration: " + duration);
+        }
+        return (long) nanos;
+    }
+
+    private static List<String> getCommand(Object command) {
+        if (command instanceof String) {
+            return splitCommand((String) command);
+        }
+        return asList(command).stream().map(Object::toString).collect(Collectors.toList());
+    }
+
+    /**
+     * Splits a command given as a string into arguments, as a POSIX shell would, without any expansion.
+     */
+    static List<String> splitCommand(String command) {
+        List<String> arguments = new ArrayList<>();
+        StringBuilder argument = null;
+        char quote = 0;
+        for (int i = 0; i < command.length(); i++) {
+            char c = command.charAt(i);
+            if (quote == '\'') {
+                if (c == '\'') {
+                    quote = 0;
+                } else {
+                    argument.append(c);
+                }
+            } else if (quote == '"') {
+                if (c == '"') {
+                    quote = 0;
+                } else if (c == '\\' && i + 1 < command.length() && "\"\\$`".indexOf(command.charAt(i + 1)) >= 0) {
+                    argument.append(command.charAt(++i));
+                } else {
+                    argument.append(c);
+                }
+            } else if (Character.isWhitespace(c)) {
+                if (argument != null) {
+                    arguments.add(argument.toString());
+                    argument = null;
+                }
+            } else {
+                if (argument == null) {
+                    argument = new StringBuilder();
+                }
+                if (c == '\'' || c == '"') {
+                    quote = c;
+                } else if (c == '\\' && i + 1 < command.length()) {
+                    argument.append(command.charAt(++i));
+                } else {
+                    argument.append(c);
+                }
+            }
+        }
+        if (quote != 0) {
+            throw new IllegalArgumentException("Unterminated quote in command: " + command);
+        }
+        if (argument != null) {
+            arguments.add(argument.toString());
+        }
+        return arguments;
+    }
+
+    /**
+     * @return the variables available to the compose files: from the {@code .env} file of the project, overridden by
+     * the environment of the JVM, overridden by the environment given to the compose container
+     */
+    private Map<String, String> getVariables(Map<String, String> env) {
+        Map<String, String> variables = new LinkedHashMap<>(readEnvFile(projectDirectory.resolve(".env")));
+        variables.putAll(System.getenv());
+        variables.putAll(env);
+        return variables;
+    }
+
+    private static Map<String, String> readEnvFile(Path envFile) {
+        if (!Files.isRegularFile(envFile)) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> variables = new LinkedHashMap<>();
+        try {
+            for (String line : Files.readAllLines(envFile, StandardCharsets.UTF_8)) {
+                line = line.trim();
+                int separator = line.indexOf('=');
+                if (line.isEmpty() || line.startsWith("#") || separator < 1) {
+                    continue;
+                }
+                variables.put(line.substring(0, separator).trim(), line.substring(separator + 1).trim());
+            }
+        } catch (IOException e) {
+            throw new ContainerLaunchException("Could not read " + envFile, e);
+        }
+        return variables;
+    }
+
+    /**
+     * @return the value, with the variables of strings substituted as Docker Compose does
+     */
+    private Object interpolate(@Nullable Object value) {
+        if (value instanceof String) {
+            return interpolate((String) value);
+        }
+        if (value instanceof Map) {
+            Map<Object, Object> interpolated = new LinkedHashMap<>();
+            ((Map<?, ?>) value).forEach((key, element) -> interpolated.put(key, interpolate(element)));
+            return interpolated;
+        }
+        if (value instanceof List) {
+            return ((List<?>) value).stream().map(this::interpolate).collect(Collectors.toList());
+        }
+        return value;
+    }
+
+    private String interpolate(String value) {
+        Matcher matcher = VARIABLE.matcher(value);
+        StringBuffer result = new StringBuffer();
+        while (matcher.find()) {
+            String replacement;
+            if (matcher.group(1) != null) {
+                replacement = "$";
+            } else if (matcher.group(3) != null) {
+                replacement = variables.getOrDefault(matcher.group(3), "");
+            } else {
+                replacement = resolveVariable(matcher.group(2));
+            }
+            matcher.appendReplacement(result, Matcher.quoteReplacement(replacement));
+        }
+        matcher.appendTail(result);
+        return result.toString();
+    }
+
+    /**
+     * @param expression the content of {@code ${...}}, e.g. {@code VAR:-default}
+     */
+    private String resolveVariable(String expression) {
+        Matcher matcher = VARIABLE_EXPRESSION.matcher(expression);
+        if (!matcher.matches()) {
+            throw new ContainerLaunchException("Invalid variable in compose file: ${" + expression + "}");
+        }
+        String value = variables.get(matcher.group(1));
+        boolean unset = matcher.group(2) != null && matcher.group(2).isEmpty() ? value == null : value == null || value.isEmpty();
+        if (matcher.group(3) == null || !unset) {
+            return value != null ? value : "";
+        }
+        if ("-".equals(matcher.group(3))) {
+            return matcher.group(4);
+        }
+        throw new ContainerLaunchException("Missing variable " + matcher.group(1) + " of compose file: " + matcher.group(4));
+    }
+
+    /**
+     * Turns the keys which may be given either as a list or as a map into maps, so that they can be merged.
+     */
+    private static Map<String, Object> normalize(Map<String, Object> definition) {
+        Map<String, Object> normalized = new LinkedHashMap<>(definition);
+        for (String key : new String[]{"environment", "labels"}) {
+            if (definition.get(key) instanceof List) {
+                Map<String, Object> entries = new LinkedHashMap<>();
+                for (Object entry : asList(definition.get(key))) {
+                    String[] parts = entry.toString().split("=", 2);
+                    entries.put(parts[0], parts.length > 1 ? parts[1] : null);
+                }
+                normalized.put(key, entries);
+            }
+        }
+        for (String key : new String[]{"depends_on", "networks"}) {
+            if (definition.get(key) instanceof List) {
+                Map<String, Object> entries = new LinkedHashMap<>();
+                for (Object entry : asList(definition.get(key))) {
+                    entries.put(entry.toString(), null);
+                }
+                normalized.put(key, entries);
+            }
+        }
+        return normalized;
+    }
+
+    private static Map<String, Object> merge(Map<String, Object> base, Map<String, Object> override) {
+        Map<String, Object> merged = new LinkedHashMap<>(base);
+        override.forEach((key, value) -> {
+            Object baseValue = merged.get(key);
+            if (baseValue instanceof Map && value instanceof Map) {
+                merged.put(key, merge(asMap(baseValue), asMap(value)));
+            } else if (CONCATENATED_SERVICE_KEYS.contains(key) && baseValue instanceof List && value instanceof List) {
+                Set<Object> values = new LinkedHashSet<>(asList(baseValue));
+                values.addAll(asList(value));
+                merged.put(key, new ArrayList<>(values));
+            } else {
+                merged.put(key, value);
+            }
+        });
+        return merged;
+    }
+
+    private static String requireString(String service, String key, Object value) {
+        if (value instanceof Map) {
+            throw new ContainerLaunchException(
+                "Service " + service + " uses the long or mapping syntax of '" + key + "', which the native Compose engine does not support"
+            );
+        }
+        return value.toString();
+    }
+
+    /**
+     * @return the short syntax of a published port, e.g. {@code 127.0.0.1:8080:80/tcp}, as long as it is a single port
+     */
+    static String requirePort(String service, Object port) {
+        String spec = requireString(service, "ports", port);
+        String[] parts = spec.split("/", 2)[0].split(":");
+        // the host and container ports are the last two parts, the first one may be an IP address
+        for (int i = Math.max(0, parts.length - 2); i < parts.length; i++) {
+            if (parts[i].contains("-")) {
+                throw new ContainerLaunchException(
+                    "Service " + service + " publishes the port range '" + spec + "', which the native Compose engine does not support"
+                );
+            }
+        }
+        return spec;
+    }
+
+    /**
+     * @return the restart policy of a service, {@code no}, {@code always}, {@code unless-stopped} or {@code on-failure[:max-retries]}
+     */
+    static RestartPolicy getRestartPolicy(String service, Object restart) {
+        // YAML reads an unquoted "no" as false
+        String policy = Boolean.FALSE.equals(restart) ? "no" : requireString(service, "restart", restart);
+        try {
+            return RestartPolicy.parse(policy);
+        } catch (IllegalArgumentException e) {
+            throw new ContainerLaunchException("Service " + service + " has an invalid restart policy '" + policy + "'", e);
+        }
+    }
+
+    private static Map<String, String> getStrings(@Nullable Object value) {
+        Map<String, String> strings = new LinkedHashMap<>();
+        asMap(value).forEach((key, element) -> strings.put(key, element != null ? element.toString() : null));
+        return strings;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> asMap(@Nullable Object value) {
+        return value instanceof Map ? (Map<String, Object>) value : Collections.emptyMap();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Object> asList(@Nullable Object value) {
+        if (value == null) {
+            return Collections.emptyList();
+        }
+        return value instanceof List ? (List<Object>) value : Collections.singletonList(value);
+    }
+
+    private static void ignoringNotFound(Runnable removal) {
+        try {
+            removal.run();
+        } catch (NotFoundException e) {
+            log.trace("Already removed", e);
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package org.testcontainers.containers;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.command.InspectNetworkCmd;
+import com.github.dockerjava.api.model.Network.ContainerNetworkConfig;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.rules.ExternalResource;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.UnstableAPI;
+import org.testcontainers.utility.TestcontainersConfiguration;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Docker networks created ahead of time and reused, instead of one network created and removed per test class.
+ * <p>
+ * Networks are created in the background until the pool has {@code size} of them, idle or leased. {@link #lease()}
+ * hands out an idle network, or creates one if they are all leased. Closing a leased network disconnects the
+ * containers still attached to it and returns it to the pool, which keeps up to {@code size} idle networks.
+ * Networks are labelled like any other Testcontainers network, so they are removed with the other resources of the
+ * session.
+ * <pre>
+ * &#64;Rule
+ * public Network network = NetworkPool.getDefault().lease();
+ * </pre>
+ */
+@UnstableAPI
+@Slf4j
+public final class NetworkPool implements AutoCloseable {
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private static volatile NetworkPool defaultPool;
+
+    private final int size;
+
+    private final Supplier<Network.NetworkImpl> networkFactory;
+
+    private final ConcurrentLinkedQueue<Network.NetworkImpl> idle = new ConcurrentLinkedQueue<>();
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(DockerClientFactory.TESTCONTAINERS_THREAD_GROUP, runnable, "testcontainers-network-pool-" + THREAD_COUNTER.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Latency createLatency = new Latency();
+
+    private final Latency leaseLatency = new Latency();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final AtomicInteger leased = new AtomicInteger();
+
+    private volatile boolean closed = false;
+
+    /**
+     * @return the pool shared by the whole JVM, holding {@code network.pool.size} idle networks
+     */
+    public static NetworkPool getDefault() {
+        if (defaultPool == null) {
+            synchronized (NetworkPool.class) {
+                if (defaultPool == null) {
+                    defaultPool = new NetworkPool(TestcontainersConfiguration.getInstance().getNetworkPoolSize());
+                }
+            }
+        }
+        return defaultPool;
+    }
+
+    /**
+     * @param size the number of idle networks to keep
+     */
+    public NetworkPool(int size) {
+        this(size, () -> Network.builder().build());
+    }
+
+    /**
+     * @param size the number of idle networks to keep
+     * @param networkFactory supplier of the networks to create, e.g. with a given driver
+     */
+    public NetworkPool(int size, Supplier<Network.NetworkImpl> networkFactory) {
+        if (size < 0) {
+            throw new IllegalArgumentException("size must not be negative, got " + size);
+        }
+        this.size = size;
+        this.networkFactory = networkFactory;
+        submit(this::refill);
+    }
+
+    /**
+     * @return an idle network of the pool, or a newly created one if there is none. Closing it returns it to the pool.
+     */
+    public Network lease() {
+        if (closed) {
+            throw new IllegalStateException("The network pool is closed");
+        }
+
+        long start = System.nanoTime();
+        Network.NetworkImpl network = idle.poll();
+        if (network == null) {
+            misses.increment();
+            network = create();
+        }
+        leased.incrementAndGet();
+        submit(this::refill);
+        leaseLatency.record(System.nanoTime() - start);
+
+        log.debug("Leased network {}", network.getName());
+        return new PooledNetwork(network);
+    }
+
+    /**
+     * @return a point-in-time view of the creation and lease statistics of this pool
+     */
+    public Stats getStats() {
+        return new Stats(
+            idle.size(),
+            createLatency.getCount(),
+            createLatency.getMean(),
+            createLatency.getMax(),
+            leaseLatency.getCount(),
+            misses.sum(),
+            leaseLatency.getMean(),
+            leaseLatency.getMax()
+        );
+    }
+
+    /**
+     * Removes the idle networks. Networks still leased are removed when they are returned.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        executor.shutdownNow();
+
+        Network.NetworkImpl network;
+        while ((network = idle.poll()) != null) {
+            network.close();
+        }
+        log.debug("Closed network pool: {}", getStats());
+    }
+
+    private Network.NetworkImpl create() {
+        long start = System.nanoTime();
+        Network.NetworkImpl network = networkFactory.get();
+        // networks are created lazily, on first use
+        network.getId();
+        createLatency.record(System.nanoTime() - start);
+        return network;
+    }
+
+    private void refill() {
+        try {
+            // networks being used are going to be returned, only the missing ones are created
+            while (!closed && idle.size() + leased.get() < size) {
+                idle.add(create());
+            }
+        } catch (Exception e) {
+            log.warn("Could not create a network for the pool", e);
+        }
+    }
+
+    private void release(Network.NetworkImpl network) {
+        try {
+            disconnectContainers(network.getId());
+        } catch (Exception e) {
+            log.warn("Could not disconnect the containers of network {}, removing it", network.getName(), e);
+            network.close();
+            return;
+        }
+
+        if (closed || idle.size() >= size) {
+            network.close();
+        } else {
+            idle.add(network);
+            log.debug("Returned network {} to the pool", network.getName());
+        }
+    }
+
+    private static void disconnectContainers(String networkId) {
+        DockerClient dockerClient = DockerClientFactory.instance().client();
+        InspectNetworkCmd inspectNetworkCmd = dockerClient.inspectNetworkCmd().withNetworkId(networkId);
+        Map<String, ContainerNetworkConfig> containers = inspectNetworkCmd.exec().getContainers();
+
+        if (containers == null) {
+            return;
+        }
+        for (String containerId : containers.keySet()) {
+            log.debug("Disconnecting stale container {} from network {}", containerId, networkId);
+            dockerClient.disconnectFromNetworkCmd()
+                .withNetworkId(networkId)
+                .withContainerId(containerId)
+                .withForce(true)
+                .exec();
+        }
+    }
+
+    /**
+     * @return whether the task was submitted, i.e. the pool was not closed in the meantime
+     */
+    private boolean submit(Runnable task) {
+        try {
+            executor.execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    @Value
+    public static class Stats {
+
+        int idle;
+
+        long created;
+
+        Duration meanCreateTime;
+
+        Duration maxCreateTime;
+
+        long leased;
+
+        /**
+         * Leases which found no idle network and had to wait for one to be created
+         */
+        long misses;
+
+        Duration meanLeaseTime;
+
+        Duration maxLeaseTime;
+    }
+
+    private static final class Latency {
+
+        private final LongAdder count = new LongAdder();
+
+        private final LongAdder totalNanos = new LongAdder();
+
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        long getCount() {
+            return count.sum();
+        }
+
+        Duration getMean() {
+            long count = this.count.sum();
+            return Duration.ofNanos(count == 0 ? 0 : totalNanos.sum() / count);
+        }
+
+        Duration getMax() {
+            return Duration.ofNanos(maxNanos.get());
+        }
+    }
+
+    private class PooledNetwork extends ExternalResource implements Network {
+
+        private final Network.NetworkImpl delegate;
+
+        private final AtomicBoolean returned = new AtomicBoolean();
+
+        private PooledNetwork(Network.NetworkImpl delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public String getId() {
+            if (returned.get()) {
+                throw new IllegalStateException("Network " + delegate.getName() + " was returned to the pool");
+            }
+            return delegate.getId();
+        }
+
+        @Override
+        protected void after() {
+            close();
+        }
+
+        @Override
+        public void close() {
+            if (returned.compareAndSet(false, true)) {
+                leased.decrementAndGet();
+                if (closed || !submit(() -> release(delegate))) {
+                    delegate.close();
+                }
+            }
+        }
+    }
+}
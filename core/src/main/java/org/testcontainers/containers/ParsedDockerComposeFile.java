@@ -12,7 +12,9 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 
@@ -31,6 +33,12 @@ class ParsedDockerComposeFile {
     @Getter
     private Set<String> dependencyImageNames = new HashSet<>();
 
+    /**
+     * The definitions of the services, as found in the file, in their order
+     */
+    @Getter
+    private final Map<String, Map<String, Object>> serviceDefinitions = new LinkedHashMap<>();
+
     ParsedDockerComposeFile(File composeFile) {
         Yaml yaml = new Yaml();
         try (FileInputStream fileInputStream = FileUtils.openInputStream(composeFile)) {
@@ -85,6 +93,7 @@ class ParsedDockerComposeFile {
             }
 
             final Map serviceDefinitionMap = (Map) serviceDefinition;
+            serviceDefinitions.put(serviceName, serviceDefinitionMap);
 
             validateNoContainerNameSpecified(serviceName, serviceDefinitionMap);
             findServiceImageName(serviceDefinitionMap);
@@ -92,6 +101,21 @@ class ParsedDockerComposeFile {
         }
     }
 
+    /**
+     * @param kind a top level element of the file besides the services, e.g. {@code networks} or {@code volumes}
+     * @return the definitions of the given kind, which only exist in files with a {@code version}
+     */
+    Map<String, Object> getDefinitions(String kind) {
+        if (!composeFileContent.containsKey("version")) {
+            return Collections.emptyMap();
+        }
+        Object definitions = composeFileContent.get(kind);
+        if (!(definitions instanceof Map)) {
+            return Collections.emptyMap();
+        }
+        return (Map<String, Object>) definitions;
+    }
+
     private void validateNoContainerNameSpecified(String serviceName, Map serviceDefinitionMap) {
         if (serviceDefinitionMap.containsKey("container_name")) {
             throw new IllegalStateException(String.format(
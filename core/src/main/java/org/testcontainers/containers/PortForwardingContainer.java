@@ -1,12 +1,16 @@
 package org.testcontainers.containers;
 
 import com.github.dockerjava.api.model.ContainerNetwork;
+import com.google.common.annotations.VisibleForTesting;
 import com.trilead.ssh2.Connection;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.SneakyThrows;
 import org.testcontainers.utility.TestcontainersConfiguration;
 
+import java.io.IOException;
+import java.net.BindException;
+import java.net.InetAddress;
 import java.time.Duration;
 import java.util.AbstractMap;
 import java.util.Collections;
@@ -26,6 +30,9 @@ public enum PortForwardingContainer {
     @Getter(value = AccessLevel.PRIVATE, lazy = true)
     private final Connection sshConnection = createSSHSession();
 
+    @Getter(value = AccessLevel.PRIVATE, lazy = true)
+    private final HostPortRelay hostPortRelay = createHostPortRelay();
+
     @SneakyThrows
     private Connection createSSHSession() {
         String password = UUID.randomUUID().toString();
@@ -56,6 +63,19 @@ public enum PortForwardingContainer {
         return connection;
     }
 
+    @SneakyThrows
+    private HostPortRelay createHostPortRelay() {
+        container = new GenericContainer<>(TestcontainersConfiguration.getInstance().getSocatDockerImageName())
+            .withCreateContainerCmdModifier(it -> it.withEntrypoint("/bin/sh"))
+            .withCommand("-c", "while true; do sleep 3600; done");
+        container.start();
+
+        String gateway = getNetwork()
+            .map(ContainerNetwork::getGateway)
+            .orElseThrow(() -> new IllegalStateException("Could not determine the gateway of the port forwarding network"));
+        return new HostPortRelay(InetAddress.getByName(gateway));
+    }
+
     @SneakyThrows
     public void exposeHostPort(int port) {
         exposeHostPort(port, port);
@@ -63,8 +83,51 @@ public enum PortForwardingContainer {
 
     @SneakyThrows
     public void exposeHostPort(int hostPort, int containerPort) {
+        exposeHostPort(hostPort, containerPort, TestcontainersConfiguration.getInstance().getHostPortForwardingMode());
+    }
+
+    /**
+     * @param mode {@code ssh} or {@code relay}, the same for all the ports exposed by the JVM
+     */
+    @VisibleForTesting
+    @SneakyThrows
+    void exposeHostPort(int hostPort, int containerPort, String mode) {
     	if (exposedPorts.add(new AbstractMap.SimpleEntry<>(hostPort, containerPort))) {
-            getSshConnection().requestRemotePortForwarding("", containerPort, "localhost", hostPort);
+            if ("relay".equals(mode)) {
+                relay(getHostPortRelay(), hostPort, containerPort);
+            } else {
+                getSshConnection().requestRemotePortForwarding("", containerPort, "localhost", hostPort);
+            }
+        }
+    }
+
+    /**
+     * Relays connections to the host port through a socat container, listening on the container port, and a
+     * {@link HostPortRelay} of the JVM, listening on the Docker bridge gateway.
+     */
+    private void relay(HostPortRelay relay, int hostPort, int containerPort) throws IOException, InterruptedException {
+        int relayPort;
+        try {
+            relayPort = relay.listen(hostPort);
+        } catch (BindException e) {
+            // the gateway is not an address of this machine, e.g. with a remote Docker host
+            throw new IllegalStateException(
+                "Containers cannot reach this JVM at " + relay.getBindAddress().getHostAddress() +
+                    ", the relay mode of host port forwarding requires a local Docker host",
+                e
+            );
+        }
+        String listeningPattern = String.format(":%04X 00000000:0000 0A", containerPort);
+        Container.ExecResult result = container.execInContainer("sh", "-c",
+            String.format(
+                "socat TCP-LISTEN:%d,fork,reuseaddr TCP:%s:%d </dev/null >/dev/null 2>&1 & " +
+                    // wait until listening, as SSH port forwarding does
+                    "for i in $(seq 50); do grep -q '%s' /proc/net/tcp && exit 0; sleep 0.1; done; exit 1",
+                containerPort, relay.getBindAddress().getHostAddress(), relayPort, listeningPattern
+            )
+        );
+        if (result.getExitCode() != 0) {
+            throw new IllegalStateException("Could not relay container port " + containerPort + " to host port " + hostPort + ": " + result.getStderr());
         }
     }
 
@@ -0,0 +1,192 @@
+package org.testcontainers.containers;
+
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Extracts the tar archives returned by the Docker daemon (e.g. when copying from a container) to disk, streaming
+ * every entry straight to its file so that the size of the archive does not matter.
+ * <p>
+ * As the content of the archive is controlled by the container, nothing is written outside of the destination: entry
+ * names and link targets must stay within it, symbolic links pointing elsewhere are skipped, and the real path of every
+ * directory written to is checked, so that links created by earlier entries can't redirect later ones.
+ */
+@UtilityClass
+@Slf4j
+class TarExtractor {
+
+    /**
+     * Upper bound of the bytes transferred from the archive to a file at once
+     */
+    private static final long TRANSFER_CHUNK_SIZE = 1024 * 1024;
+
+    private static final PosixFilePermission[] PERMISSIONS_BY_BIT = {
+        PosixFilePermission.OTHERS_EXECUTE,
+        PosixFilePermission.OTHERS_WRITE,
+        PosixFilePermission.OTHERS_READ,
+        PosixFilePermission.GROUP_EXECUTE,
+        PosixFilePermission.GROUP_WRITE,
+        PosixFilePermission.GROUP_READ,
+        PosixFilePermission.OWNER_EXECUTE,
+        PosixFilePermission.OWNER_WRITE,
+        PosixFilePermission.OWNER_READ,
+    };
+
+    /**
+     * Extracts the content of the archived directory to the destination directory, i.e. without the first component
+     * of the entry names, which is the name of the archived directory.
+     *
+     * @return the number of extracted files
+     */
+    int extractDirectory(InputStream archive, Path destination) throws IOException {
+        final Path root = destination.toAbsolutePath().normalize();
+        Files.createDirectories(root);
+        final Path realRoot = root.toRealPath();
+
+        // directories are made read-only (if so) once their content is extracted
+        final Deque<DirectoryAttributes> directories = new ArrayDeque<>();
+        int files = 0;
+
+        final TarArchiveInputStream tarArchive = new TarArchiveInputStream(archive);
+        final ReadableByteChannel archiveChannel = Channels.newChannel(tarArchive);
+        TarArchiveEntry entry;
+        while ((entry = tarArchive.getNextTarEntry()) != null) {
+            final Path target = resolve(root, stripFirstComponent(entry.getName()));
+
+            if (entry.isDirectory()) {
+                checkRealPath(realRoot, target, entry);
+                Files.createDirectories(target);
+                directories.push(new DirectoryAttributes(target, entry));
+                continue;
+            }
+
+            checkRealPath(realRoot, target.getParent(), entry);
+            Files.createDirectories(target.getParent());
+            Files.deleteIfExists(target);
+            if (entry.isSymbolicLink()) {
+                final Path linkTarget = target.getFileSystem().getPath(entry.getLinkName());
+                if (linkTarget.isAbsolute() || !target.getParent().resolve(linkTarget).normalize().startsWith(root)) {
+                    log.warn("Skipping symbolic link {} -> {}, which points outside of {}", target, entry.getLinkName(), root);
+                    continue;
+                }
+                try {
+                    Files.createSymbolicLink(target, linkTarget);
+                } catch (UnsupportedOperationException | IOException e) {
+                    log.warn("Could not create symbolic link {} -> {}", target, entry.getLinkName(), e);
+                }
+                continue;
+            }
+            if (entry.isLink()) {
+                final Path linkTarget = resolve(root, stripFirstComponent(entry.getLinkName()));
+                checkRealPath(realRoot, linkTarget, entry);
+                Files.createLink(target, linkTarget);
+                continue;
+            }
+            if (!entry.isFile()) {
+                log.debug("Skipping {}, which is neither a file, a directory nor a link", entry.getName());
+                continue;
+            }
+
+            try (FileChannel fileChannel = FileChannel.open(target, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                long position = 0;
+                while (position < entry.getSize()) {
+                    long transferred = fileChannel.transferFrom(archiveChannel, position, Math.min(TRANSFER_CHUNK_SIZE, entry.getSize() - position));
+                    if (transferred <= 0) {
+                        throw new IOException("Unexpected end of archive while extracting " + entry.getName());
+                    }
+                    position += transferred;
+                }
+            }
+            setAttributes(target, entry.getMode(), entry.getModTime().getTime());
+            files++;
+        }
+
+        while (!directories.isEmpty()) {
+            DirectoryAttributes directory = directories.pop();
+            setAttributes(directory.path, directory.mode, directory.modTime);
+        }
+        return files;
+    }
+
+    private static String stripFirstComponent(String name) {
+        final int slashIndex = name.indexOf('/');
+        return slashIndex == -1 ? "" : name.substring(slashIndex + 1);
+    }
+
+    /**
+     * @throws IOException if the entry would be extracted outside of the destination, e.g. with {@code ../}
+     */
+    private static Path resolve(Path root, String relativePath) throws IOException {
+        final Path target = root.resolve(relativePath).normalize();
+        if (!target.startsWith(root)) {
+            throw new IOException("Archive entry " + relativePath + " is outside of " + root);
+        }
+        return target;
+    }
+
+    /**
+     * @throws IOException if the path, or its closest existing parent, is outside of the destination once links are
+     * followed, e.g. because of a symbolic link extracted earlier
+     */
+    private static void checkRealPath(Path realRoot, Path path, TarArchiveEntry entry) throws IOException {
+        Path existing = path;
+        while (existing != null && !Files.exists(existing)) {
+            existing = existing.getParent();
+        }
+        if (existing == null || !existing.toRealPath().startsWith(realRoot)) {
+            throw new IOException("Archive entry " + entry.getName() + " is outside of " + realRoot + " once links are followed");
+        }
+    }
+
+    private static void setAttributes(Path path, int mode, long modTime) throws IOException {
+        Files.setLastModifiedTime(path, FileTime.fromMillis(modTime));
+        try {
+            Files.setPosixFilePermissions(path, toPermissions(mode));
+        } catch (UnsupportedOperationException e) {
+            // e.g. on Windows
+            path.toFile().setExecutable((mode & 0100) != 0);
+        }
+    }
+
+    private static Set<PosixFilePermission> toPermissions(int mode) {
+        final Set<PosixFilePermission> permissions = EnumSet.noneOf(PosixFilePermission.class);
+        for (int bit = 0; bit < PERMISSIONS_BY_BIT.length; bit++) {
+            if ((mode & (1 << bit)) != 0) {
+                permissions.add(PERMISSIONS_BY_BIT[bit]);
+            }
+        }
+        return permissions;
+    }
+
+    private static final class DirectoryAttributes {
+
+        private final Path path;
+
+        private final int mode;
+
+        private final long modTime;
+
+        private DirectoryAttributes(Path path, TarArchiveEntry entry) {
+            this.path = path;
+            this.mode = entry.getMode();
+            this.modTime = entry.getModTime().getTime();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package org.testcontainers.dockerclient;
+
+import lombok.Value;
+import org.testcontainers.UnstableAPI;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency, in-flight and error statistics of Docker commands, as recorded by {@link MetricsDockerClient}.
+ */
+@UnstableAPI
+public final class DockerClientMetrics {
+
+    private final Map<String, CommandMetrics> commands = new ConcurrentHashMap<>();
+
+    /**
+     * @return a point-in-time view of the statistics, by command name
+     */
+    public SortedMap<String, CommandStats> getSnapshot() {
+        SortedMap<String, CommandStats> result = new TreeMap<>();
+        commands.forEach((name, metrics) -> result.put(name, metrics.toStats()));
+        return result;
+    }
+
+    /**
+     * @return a human readable table of the statistics, one line per command
+     */
+    public String getSummary() {
+        StringBuilder summary = new StringBuilder("Docker client metrics:\n");
+        summary.append(String.format(
+            "  %-32s %8s %8s %9s %10s %10s %10s %10s %10s%n",
+            "command", "count", "errors", "in-flight", "mean", "p50", "p90", "p99", "max"
+        ));
+        getSnapshot().forEach((name, stats) -> summary.append(String.format(
+            "  %-32s %8d %8d %9d %10s %10s %10s %10s %10s%n",
+            name,
+            stats.getCount(),
+            stats.getErrors(),
+            stats.getInFlight(),
+            format(stats.getMean()),
+            format(stats.getP50()),
+            format(stats.getP90()),
+            format(stats.getP99()),
+            format(stats.getMax())
+        )));
+        return summary.toString();
+    }
+
+    /**
+     * Clears the recorded statistics, e.g. between test runs. Commands in flight are still accounted for.
+     */
+    public void reset() {
+        commands.values().forEach(CommandMetrics::reset);
+    }
+
+    CommandMetrics getCommandMetrics(String command) {
+        return commands.computeIfAbsent(command, __ -> new CommandMetrics());
+    }
+
+    private static String format(Duration duration) {
+        return String.format("%.1fms", duration.toNanos() / 1_000_000.0);
+    }
+
+    static final class CommandMetrics {
+
+        private final LatencyHistogram histogram = new LatencyHistogram();
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        private final LongAdder errors = new LongAdder();
+
+        /**
+         * @return the start timestamp to pass to {@link #stop(long, boolean)}
+         */
+        long start() {
+            inFlight.incrementAndGet();
+            return System.nanoTime();
+        }
+
+        void stop(long startNanos, boolean failed) {
+            histogram.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos));
+            if (failed) {
+                errors.increment();
+            }
+            inFlight.decrementAndGet();
+        }
+
+        void reset() {
+            histogram.reset();
+            errors.reset();
+        }
+
+        CommandStats toStats() {
+            return new CommandStats(
+                histogram.getCount(),
+                errors.sum(),
+                inFlight.get(),
+                Duration.ofNanos((long) (histogram.getMeanMicros() * 1_000)),
+                Duration.of(histogram.getValueAtPercentile(50), ChronoUnit.MICROS),
+                Duration.of(histogram.getValueAtPercentile(90), ChronoUnit.MICROS),
+                Duration.of(histogram.getValueAtPercentile(99), ChronoUnit.MICROS),
+                Duration.of(histogram.getMaxMicros(), ChronoUnit.MICROS)
+            );
+        }
+    }
+
+    @Value
+    public static class CommandStats {
+
+        long count;
+
+        long errors;
+
+        int inFlight;
+
+        Duration mean;
+
+        Duration p50;
+
+        Duration p90;
+
+        Duration p99;
+
+        Duration max;
+    }
+}
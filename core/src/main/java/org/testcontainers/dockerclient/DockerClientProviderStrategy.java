@@ -19,15 +19,26 @@ import org.rnorth.ducttape.TimeoutException;
 import org.rnorth.ducttape.ratelimits.RateLimiter;
 import org.rnorth.ducttape.ratelimits.RateLimiterBuilder;
 import org.rnorth.ducttape.unreliables.Unreliables;
+import org.testcontainers.DockerClientFactory;
 import org.testcontainers.utility.TestcontainersConfiguration;
 
 import java.net.URI;
-import java.util.ArrayList;
+import java.time.Duration;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -48,6 +59,17 @@ public abstract class DockerClientProviderStrategy {
 
     private static final AtomicBoolean FAIL_FAST_ALWAYS = new AtomicBoolean(false);
 
+    private static final AtomicInteger PROBE_THREAD_ID = new AtomicInteger(0);
+
+    private static final Duration DEFAULT_PROBE_TIMEOUT = Duration.ofSeconds(30);
+
+    private static final Duration MIN_PERSISTED_PROBE_TIMEOUT = Duration.ofSeconds(2);
+
+    /**
+     * How long a higher priority strategy is still waited for once a lower priority one has succeeded
+     */
+    private static final Duration LOWER_PRIORITY_SUCCESS_GRACE = Duration.ofSeconds(2);
+
     /**
      * @return a short textual description of the strategy
      */
@@ -99,6 +121,11 @@ public abstract class DockerClientProviderStrategy {
 
     /**
      * Determine the right DockerClientConfig to use for building clients by trial-and-error.
+     * <p>
+     * A strategy persisted in ~/.testcontainers.properties by a previous run is tried first, with a timeout derived
+     * from its recorded ping latency. If there is none, or it does not work anymore, all applicable strategies are
+     * probed concurrently and the highest-priority one that succeeds is chosen, so that a misconfigured candidate
+     * does not delay the others by a full ping timeout.
      *
      * @return a working DockerClientConfig, as determined by successful execution of a ping command
      */
@@ -108,101 +135,29 @@ public abstract class DockerClientProviderStrategy {
             throw new IllegalStateException("Previous attempts to find a Docker environment failed. Will not retry. Please see logs and check configuration");
         }
 
-        List<String> configurationFailures = new ArrayList<>();
+        List<String> configurationFailures = new CopyOnWriteArrayList<>();
 
-        return Stream
-                .concat(
-                        Stream
-                                .of(TestcontainersConfiguration.getInstance().getDockerClientStrategyClassName())
-                                .filter(Objects::nonNull)
-                                .flatMap(it -> {
-                                    try {
-                                        Class<? extends DockerClientProviderStrategy> strategyClass = (Class) Thread.currentThread().getContextClassLoader().loadClass(it);
-                                        return Stream.of(strategyClass.newInstance());
-                                    } catch (ClassNotFoundException e) {
-                                        log.warn("Can't instantiate a strategy from {} (ClassNotFoundException). " +
-                                                "This probably means that cached configuration refers to a client provider " +
-                                                "class that is not available in this version of Testcontainers. Other " +
-                                                "strategies will be tried instead.", it);
-                                        return Stream.empty();
-                                    } catch (InstantiationException | IllegalAccessException e) {
-                                        log.warn("Can't instantiate a strategy from {}", it, e);
-                                        return Stream.empty();
-                                    }
-                                })
-                                // Ignore persisted strategy if it's not persistable anymore
-                                .filter(DockerClientProviderStrategy::isPersistable)
-                                .peek(strategy -> log.info("Loaded {} from ~/.testcontainers.properties, will try it first", strategy.getClass().getName())),
-                        strategies
-                                .stream()
-                                .filter(DockerClientProviderStrategy::isApplicable)
-                                .sorted(Comparator.comparing(DockerClientProviderStrategy::getPriority).reversed())
-                )
-                .flatMap(strategy -> {
-                    try {
-                        DockerClient dockerClient = strategy.getDockerClient();
-
-                        Info info;
-                        try {
-                            info = Unreliables.retryUntilSuccess(30, TimeUnit.SECONDS, () -> {
-                                return strategy.PING_RATE_LIMITER.getWhenReady(() -> {
-                                    log.debug("Pinging docker daemon...");
-                                    return dockerClient.infoCmd().exec();
-                                });
-                            });
-                        } catch (TimeoutException e) {
-                            IOUtils.closeQuietly(dockerClient);
-                            throw e;
-                        }
-                        log.info("Found Docker environment with {}", strategy.getDescription());
-                        log.debug(
-                            "Transport type: '{}', Docker host: '{}'",
-                            TestcontainersConfiguration.getInstance().getTransportType(),
-                            strategy.getTransportConfig().getDockerHost()
-                        );
-
-                        log.debug("Checking Docker OS type for {}", strategy.getDescription());
-                        String osType = info.getOsType();
-                        if (StringUtils.isBlank(osType)) {
-                            log.warn("Could not determine Docker OS type");
-                        } else if (!osType.equals("linux")) {
-                            log.warn("{} is currently not supported", osType);
-                            throw new InvalidConfigurationException(osType + " containers are currently not supported");
-                        }
-
-                        if (strategy.isPersistable()) {
-                            TestcontainersConfiguration.getInstance().updateGlobalConfig("docker.client.strategy", strategy.getClass().getName());
-                        }
-
-                        return Stream.of(strategy);
-                    } catch (Exception | ExceptionInInitializerError | NoClassDefFoundError e) {
-                        @Nullable String throwableMessage = e.getMessage();
-                        @SuppressWarnings("ThrowableResultOfMethodCallIgnored")
-                        Throwable rootCause = Throwables.getRootCause(e);
-                        @Nullable String rootCauseMessage = rootCause.getMessage();
-
-                        String failureDescription;
-                        if (throwableMessage != null && throwableMessage.equals(rootCauseMessage)) {
-                            failureDescription = String.format("%s: failed with exception %s (%s)",
-                                    strategy.getClass().getSimpleName(),
-                                    e.getClass().getSimpleName(),
-                                    throwableMessage);
-                        } else {
-                            failureDescription = String.format("%s: failed with exception %s (%s). Root cause %s (%s)",
-                                    strategy.getClass().getSimpleName(),
-                                    e.getClass().getSimpleName(),
-                                    throwableMessage,
-                                    rootCause.getClass().getSimpleName(),
-                                    rootCauseMessage
-                            );
-                        }
-                        configurationFailures.add(failureDescription);
-
-                        log.debug(failureDescription);
-                        return Stream.empty();
-                    }
-                })
-                .findAny()
+        TestcontainersConfiguration configuration = TestcontainersConfiguration.getInstance();
+        Optional<DockerClientProviderStrategy> persistedStrategy = loadPersistedStrategy(configuration.getDockerClientStrategyClassName());
+        if (persistedStrategy.isPresent()) {
+            DockerClientProviderStrategy strategy = persistedStrategy.get();
+            try {
+                long latency = probe(strategy, getPersistedStrategyTimeout(configuration.getDockerClientStrategyLatency()));
+                persist(strategy, latency);
+                return strategy;
+            } catch (Exception | ExceptionInInitializerError | NoClassDefFoundError e) {
+                configurationFailures.add(describeFailure(strategy, e));
+                log.info("Persisted strategy {} is not valid anymore, other strategies will be tried", strategy.getClass().getName());
+            }
+        }
+
+        List<DockerClientProviderStrategy> candidates = strategies
+            .stream()
+            .filter(DockerClientProviderStrategy::isApplicable)
+            .sorted(Comparator.comparing(DockerClientProviderStrategy::getPriority).reversed())
+            .collect(Collectors.toList());
+
+        return probeConcurrently(candidates, configurationFailures)
                 .orElseThrow(() -> {
                     log.error("Could not find a valid Docker environment. Please check configuration. Attempted configurations were:");
                     for (String failureMessage : configurationFailures) {
@@ -215,6 +170,221 @@ public abstract class DockerClientProviderStrategy {
                 });
     }
 
+    private static Optional<DockerClientProviderStrategy> loadPersistedStrategy(@Nullable String className) {
+        return Stream
+                .of(className)
+                .filter(Objects::nonNull)
+                .flatMap(it -> {
+                    try {
+                        Class<? extends DockerClientProviderStrategy> strategyClass = (Class) Thread.currentThread().getContextClassLoader().loadClass(it);
+                        return Stream.of(strategyClass.newInstance());
+                    } catch (ClassNotFoundException e) {
+                        log.warn("Can't instantiate a strategy from {} (ClassNotFoundException). " +
+                                "This probably means that cached configuration refers to a client provider " +
+                                "class that is not available in this version of Testcontainers. Other " +
+                                "strategies will be tried instead.", it);
+                        return Stream.empty();
+                    } catch (InstantiationException | IllegalAccessException e) {
+                        log.warn("Can't instantiate a strategy from {}", it, e);
+                        return Stream.empty();
+                    }
+                })
+                // Ignore persisted strategy if it's not persistable anymore
+                .filter(DockerClientProviderStrategy::isPersistable)
+                .peek(strategy -> log.info("Loaded {} from ~/.testcontainers.properties, will try it first", strategy.getClass().getName()))
+                .findFirst();
+    }
+
+    /**
+     * Probes every candidate at once and picks the first successful one in iteration order, which is expected to be
+     * sorted from highest to lowest priority. A candidate is only waited for until all candidates before it have failed.
+     * Once a lower priority candidate has succeeded, the pending higher priority ones only get a short grace period,
+     * so that e.g. an unreachable DOCKER_HOST does not hold up a working local socket for the full ping timeout.
+     *
+     * @return the first valid strategy, or empty if none of the candidates works
+     */
+    @VisibleForTesting
+    static Optional<DockerClientProviderStrategy> probeConcurrently(List<DockerClientProviderStrategy> candidates, List<String> configurationFailures) {
+        if (candidates.isEmpty()) {
+            return Optional.empty();
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(candidates.size(), runnable -> {
+            Thread thread = new Thread(DockerClientFactory.TESTCONTAINERS_THREAD_GROUP, runnable);
+            thread.setDaemon(true);
+            thread.setName("testcontainers-docker-probe-" + PROBE_THREAD_ID.incrementAndGet());
+            return thread;
+        });
+
+        try {
+            List<CompletableFuture<Long>> probes = candidates.stream()
+                .map(strategy -> CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return probe(strategy, DEFAULT_PROBE_TIMEOUT);
+                    } catch (Exception | ExceptionInInitializerError | NoClassDefFoundError e) {
+                        throw new CompletionException(e);
+                    }
+                }, executor))
+                .collect(Collectors.toList());
+
+            DockerClientProviderStrategy validStrategy = null;
+            for (int i = 0; i < candidates.size(); i++) {
+                DockerClientProviderStrategy strategy = candidates.get(i);
+                CompletableFuture<Long> probe = probes.get(i);
+
+                if (validStrategy != null) {
+                    // Lower priority strategies may still succeed, their clients are not needed
+                    probe.thenRun(() -> IOUtils.closeQuietly(strategy.getDockerClient()));
+                    continue;
+                }
+
+                try {
+                    long latency = awaitProbe(probe, getLaterSuccess(probes, i));
+                    persist(strategy, latency);
+                    validStrategy = strategy;
+                } catch (CompletionException e) {
+                    // it may still succeed in the background, its client is not needed then
+                    probe.thenRun(() -> IOUtils.closeQuietly(strategy.getDockerClient()));
+                    configurationFailures.add(describeFailure(strategy, e.getCause() != null ? e.getCause() : e));
+                }
+            }
+            return Optional.ofNullable(validStrategy);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * @return a future completed once any probe after the given index succeeds
+     */
+    private static CompletableFuture<Void> getLaterSuccess(List<CompletableFuture<Long>> probes, int index) {
+        CompletableFuture<Void> laterSuccess = new CompletableFuture<>();
+        for (CompletableFuture<Long> laterProbe : probes.subList(index + 1, probes.size())) {
+            laterProbe.thenRun(() -> laterSuccess.complete(null));
+        }
+        return laterSuccess;
+    }
+
+    /**
+     * @return the latency of the probe, waiting at most {@link #LOWER_PRIORITY_SUCCESS_GRACE} once a lower priority
+     * probe has succeeded
+     * @throws CompletionException if the probe failed or is given up
+     */
+    private static long awaitProbe(CompletableFuture<Long> probe, CompletableFuture<Void> laterSuccess) {
+        CompletableFuture.anyOf(probe, laterSuccess).join();
+        if (probe.isDone()) {
+            return probe.join();
+        }
+        try {
+            return probe.get(LOWER_PRIORITY_SUCCESS_GRACE.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw new CompletionException(e.getCause());
+        } catch (java.util.concurrent.TimeoutException e) {
+            throw new CompletionException(new InvalidConfigurationException(
+                "No answer within " + LOWER_PRIORITY_SUCCESS_GRACE.getSeconds() + "s of a lower priority strategy succeeding"
+            ));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+    }
+
+    /**
+     * @return the latency of the successful ping, in milliseconds
+     */
+    private static long probe(DockerClientProviderStrategy strategy, Duration timeout) {
+        DockerClient dockerClient = strategy.getDockerClient();
+
+        AtomicLong latency = new AtomicLong();
+        Info info;
+        try {
+            info = Unreliables.retryUntilSuccess((int) timeout.toMillis(), TimeUnit.MILLISECONDS, () -> {
+                return strategy.PING_RATE_LIMITER.getWhenReady(() -> {
+                    log.debug("Pinging docker daemon...");
+                    long start = System.nanoTime();
+                    Info result = dockerClient.infoCmd().exec();
+                    latency.set(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                    return result;
+                });
+            });
+        } catch (TimeoutException e) {
+            IOUtils.closeQuietly(dockerClient);
+            throw e;
+        }
+        log.info("Found Docker environment with {}", strategy.getDescription());
+        log.debug(
+            "Transport type: '{}', Docker host: '{}', ping latency: {}ms",
+            TestcontainersConfiguration.getInstance().getTransportType(),
+            strategy.getTransportConfig().getDockerHost(),
+            latency.get()
+        );
+
+        log.debug("Checking Docker OS type for {}", strategy.getDescription());
+        String osType = info.getOsType();
+        if (StringUtils.isBlank(osType)) {
+            log.warn("Could not determine Docker OS type");
+        } else if (!osType.equals("linux")) {
+            log.warn("{} is currently not supported", osType);
+            throw new InvalidConfigurationException(osType + " containers are currently not supported");
+        }
+
+        return latency.get();
+    }
+
+    /**
+     * A persisted strategy that used to answer quickly is not given the full timeout, since every other candidate
+     * would be waiting for it. It is still probed again with the full timeout among the other strategies.
+     */
+    @VisibleForTesting
+    static Duration getPersistedStrategyTimeout(@Nullable Long persistedLatency) {
+        if (persistedLatency == null) {
+            return DEFAULT_PROBE_TIMEOUT;
+        }
+        long timeout = Math.max(MIN_PERSISTED_PROBE_TIMEOUT.toMillis(), persistedLatency * 10);
+        return Duration.ofMillis(Math.min(DEFAULT_PROBE_TIMEOUT.toMillis(), timeout));
+    }
+
+    private static void persist(DockerClientProviderStrategy strategy, long latency) {
+        if (!strategy.isPersistable()) {
+            return;
+        }
+
+        TestcontainersConfiguration configuration = TestcontainersConfiguration.getInstance();
+        boolean strategyChanged = configuration.updateGlobalConfig("docker.client.strategy", strategy.getClass().getName());
+
+        // Avoid rewriting the file on every run, only significant latency changes matter
+        Long persistedLatency = configuration.getDockerClientStrategyLatency();
+        if (strategyChanged || persistedLatency == null || latency > persistedLatency * 2 || latency * 2 < persistedLatency) {
+            configuration.updateGlobalConfig("docker.client.strategy.latency", Long.toString(latency));
+        }
+    }
+
+    private static String describeFailure(DockerClientProviderStrategy strategy, Throwable e) {
+        @Nullable String throwableMessage = e.getMessage();
+        @SuppressWarnings("ThrowableResultOfMethodCallIgnored")
+        Throwable rootCause = Throwables.getRootCause(e);
+        @Nullable String rootCauseMessage = rootCause.getMessage();
+
+        String failureDescription;
+        if (throwableMessage != null && throwableMessage.equals(rootCauseMessage)) {
+            failureDescription = String.format("%s: failed with exception %s (%s)",
+                    strategy.getClass().getSimpleName(),
+                    e.getClass().getSimpleName(),
+                    throwableMessage);
+        } else {
+            failureDescription = String.format("%s: failed with exception %s (%s). Root cause %s (%s)",
+                    strategy.getClass().getSimpleName(),
+                    e.getClass().getSimpleName(),
+                    throwableMessage,
+                    rootCause.getClass().getSimpleName(),
+                    rootCauseMessage
+            );
+        }
+
+        log.debug(failureDescription);
+        return failureDescription;
+    }
+
     public static DockerClient getClientForConfig(TransportConfig transportConfig) {
         final DockerHttpClient dockerHttpClient;
 
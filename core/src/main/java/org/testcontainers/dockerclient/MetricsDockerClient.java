@@ -0,0 +1,230 @@
+package org.testcontainers.dockerclient;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.command.CopyArchiveFromContainerCmd;
+import com.github.dockerjava.api.command.CopyArchiveToContainerCmd;
+import com.github.dockerjava.api.command.CreateContainerCmd;
+import com.github.dockerjava.api.command.DockerCmd;
+import com.github.dockerjava.api.command.ExecCreateCmd;
+import com.github.dockerjava.api.command.ExecStartCmd;
+import com.github.dockerjava.api.command.InspectContainerCmd;
+import com.github.dockerjava.api.command.InspectExecCmd;
+import com.github.dockerjava.api.command.LogContainerCmd;
+import com.github.dockerjava.api.command.PullImageCmd;
+import com.github.dockerjava.api.command.RemoveContainerCmd;
+import com.github.dockerjava.api.command.StartContainerCmd;
+import com.github.dockerjava.api.command.StopContainerCmd;
+import lombok.Getter;
+import lombok.experimental.Delegate;
+import org.jetbrains.annotations.NotNull;
+import org.testcontainers.UnstableAPI;
+import org.testcontainers.dockerclient.DockerClientMetrics.CommandMetrics;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Wrapper for {@link DockerClient} that records latency, in-flight and error statistics of the Docker commands
+ * used while starting and interacting with containers into {@link DockerClientMetrics}.
+ * <p>
+ * Synchronous commands are measured until {@code exec()} returns, asynchronous ones (logs, exec start, pull) until
+ * their callback completes.
+ */
+@UnstableAPI
+@SuppressWarnings("unchecked")
+public final class MetricsDockerClient implements DockerClient {
+
+    @Delegate(excludes = InterceptedMethods.class)
+    private final DockerClient wrappedClient;
+
+    @Getter
+    private final DockerClientMetrics metrics;
+
+    public MetricsDockerClient(DockerClient wrappedClient, DockerClientMetrics metrics) {
+        this.wrappedClient = wrappedClient;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public CreateContainerCmd createContainerCmd(@NotNull String image) {
+        return measuredCommand(CreateContainerCmd.class, wrappedClient.createContainerCmd(image));
+    }
+
+    @Override
+    public StartContainerCmd startContainerCmd(@NotNull String containerId) {
+        return measuredCommand(StartContainerCmd.class, wrappedClient.startContainerCmd(containerId));
+    }
+
+    @Override
+    public InspectContainerCmd inspectContainerCmd(@NotNull String containerId) {
+        return measuredCommand(InspectContainerCmd.class, wrappedClient.inspectContainerCmd(containerId));
+    }
+
+    @Override
+    public StopContainerCmd stopContainerCmd(@NotNull String containerId) {
+        return measuredCommand(StopContainerCmd.class, wrappedClient.stopContainerCmd(containerId));
+    }
+
+    @Override
+    public RemoveContainerCmd removeContainerCmd(@NotNull String containerId) {
+        return measuredCommand(RemoveContainerCmd.class, wrappedClient.removeContainerCmd(containerId));
+    }
+
+    @Override
+    public ExecCreateCmd execCreateCmd(@NotNull String containerId) {
+        return measuredCommand(ExecCreateCmd.class, wrappedClient.execCreateCmd(containerId));
+    }
+
+    @Override
+    public ExecStartCmd execStartCmd(@NotNull String execId) {
+        return measuredCommand(ExecStartCmd.class, wrappedClient.execStartCmd(execId));
+    }
+
+    @Override
+    public InspectExecCmd inspectExecCmd(@NotNull String execId) {
+        return measuredCommand(InspectExecCmd.class, wrappedClient.inspectExecCmd(execId));
+    }
+
+    @Override
+    public CopyArchiveToContainerCmd copyArchiveToContainerCmd(@NotNull String containerId) {
+        return measuredCommand(CopyArchiveToContainerCmd.class, wrappedClient.copyArchiveToContainerCmd(containerId));
+    }
+
+    @Override
+    public CopyArchiveFromContainerCmd copyArchiveFromContainerCmd(@NotNull String containerId, @NotNull String resource) {
+        return measuredCommand(CopyArchiveFromContainerCmd.class, wrappedClient.copyArchiveFromContainerCmd(containerId, resource));
+    }
+
+    @Override
+    public LogContainerCmd logContainerCmd(@NotNull String containerId) {
+        return measuredCommand(LogContainerCmd.class, wrappedClient.logContainerCmd(containerId));
+    }
+
+    @Override
+    public PullImageCmd pullImageCmd(@NotNull String repository) {
+        return measuredCommand(PullImageCmd.class, wrappedClient.pullImageCmd(repository));
+    }
+
+    private <T extends DockerCmd<?>> T measuredCommand(Class<T> clazz, T cmd) {
+        CommandMetrics commandMetrics = metrics.getCommandMetrics(clazz.getSimpleName());
+
+        return (T) Proxy.newProxyInstance(
+            clazz.getClassLoader(),
+            new Class<?>[]{clazz},
+            (proxy, method, args) -> {
+                if (!method.getName().equals("exec")) {
+                    Object result = invoke(cmd, method, args);
+                    // keep intercepting fluent calls such as cmd.withName(...).exec()
+                    return result == cmd ? proxy : result;
+                }
+
+                long start = commandMetrics.start();
+                if (args != null && args.length == 1 && args[0] instanceof ResultCallback) {
+                    ResultCallback<Object> callback = (ResultCallback<Object>) args[0];
+                    try {
+                        invoke(cmd, method, new Object[]{new MeasuredResultCallback<>(callback, commandMetrics, start)});
+                    } catch (Exception e) {
+                        commandMetrics.stop(start, true);
+                        throw e;
+                    }
+                    return callback;
+                }
+
+                try {
+                    Object result = invoke(cmd, method, args);
+                    commandMetrics.stop(start, false);
+                    return result;
+                } catch (Exception e) {
+                    commandMetrics.stop(start, true);
+                    throw e;
+                }
+            });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Exception {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Forwards everything to the caller's callback and stops the measurement on the first completion signal.
+     */
+    private static final class MeasuredResultCallback<A> implements ResultCallback<A> {
+
+        private final ResultCallback<A> delegate;
+
+        private final CommandMetrics commandMetrics;
+
+        private final long start;
+
+        private final AtomicBoolean stopped = new AtomicBoolean(false);
+
+        MeasuredResultCallback(ResultCallback<A> delegate, CommandMetrics commandMetrics, long start) {
+            this.delegate = delegate;
+            this.commandMetrics = commandMetrics;
+            this.start = start;
+        }
+
+        @Override
+        public void onStart(Closeable closeable) {
+            delegate.onStart(closeable);
+        }
+
+        @Override
+        public void onNext(A object) {
+            delegate.onNext(object);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            stop(true);
+            delegate.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            stop(false);
+            delegate.onComplete();
+        }
+
+        @Override
+        public void close() throws IOException {
+            // e.g. a followed log stream closed by the caller
+            stop(false);
+            delegate.close();
+        }
+
+        private void stop(boolean failed) {
+            if (stopped.compareAndSet(false, true)) {
+                commandMetrics.stop(start, failed);
+            }
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private interface InterceptedMethods {
+        CreateContainerCmd createContainerCmd(String image);
+        StartContainerCmd startContainerCmd(String containerId);
+        InspectContainerCmd inspectContainerCmd(String containerId);
+        StopContainerCmd stopContainerCmd(String containerId);
+        RemoveContainerCmd removeContainerCmd(String containerId);
+        ExecCreateCmd execCreateCmd(String containerId);
+        ExecStartCmd execStartCmd(String execId);
+        InspectExecCmd inspectExecCmd(String execId);
+        CopyArchiveToContainerCmd copyArchiveToContainerCmd(String containerId);
+        CopyArchiveFromContainerCmd copyArchiveFromContainerCmd(String containerId, String resource);
+        LogContainerCmd logContainerCmd(String containerId);
+        PullImageCmd pullImageCmd(String repository);
+    }
+}
@@ -1,9 +1,7 @@
 package org.testcontainers.images;
 
 import lombok.extern.slf4j.Slf4j;
-import org.slf4j.Logger;
 import org.testcontainers.utility.DockerImageName;
-import org.testcontainers.utility.DockerLoggerFactory;
 
 @Slf4j
 public abstract class AbstractImagePullPolicy implements ImagePullPolicy {
@@ -12,21 +10,11 @@ public abstract class AbstractImagePullPolicy implements ImagePullPolicy {
 
     @Override
     public boolean shouldPull(DockerImageName imageName) {
-        Logger logger = DockerLoggerFactory.getLogger(imageName.asCanonicalNameString());
-
-        // Does our cache already know the image?
-        ImageData cachedImageData = LOCAL_IMAGES_CACHE.get(imageName);
-        if (cachedImageData != null) {
-            logger.trace("{} is already in image name cache", imageName);
-        } else {
-            logger.debug("{} is not in image name cache, updating...", imageName);
-            // Was not in cache, inspecting...
-            cachedImageData = LOCAL_IMAGES_CACHE.refreshCache(imageName).orElse(null);
-
-            if (cachedImageData == null) {
-                log.debug("Not available locally, should pull image: {}", imageName);
-                return true;
-            }
+        // Answered from memory, unless the image has not been looked up yet
+        ImageData cachedImageData = LOCAL_IMAGES_CACHE.find(imageName).orElse(null);
+        if (cachedImageData == null) {
+            log.debug("Not available locally, should pull image: {}", imageName);
+            return true;
         }
 
         if (shouldPullCached(imageName, cachedImageData)) {
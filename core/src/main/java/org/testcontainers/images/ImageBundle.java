@@ -0,0 +1,447 @@
+package org.testcontainers.images;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.command.InspectImageResponse;
+import com.github.dockerjava.api.exception.NotFoundException;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.hash.Hashing;
+import com.google.common.hash.HashingInputStream;
+import com.google.common.hash.HashingOutputStream;
+import com.google.common.io.ByteStreams;
+import lombok.SneakyThrows;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.Nullable;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.UnstableAPI;
+import org.testcontainers.utility.DockerImageName;
+import org.testcontainers.utility.TestcontainersConfiguration;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Exports images to a directory ({@code docker save}) and loads them back ({@code docker load}), so that e.g. CI agents
+ * with an empty Docker cache don't need to pull the images of a test suite from the registry.
+ * <p>
+ * Every image is saved to its own file, so that images are saved and loaded in parallel. A manifest records the ID of
+ * every image and the SHA-256 of its file: when loading, files that were modified and images that differ from the
+ * local ones are reported as stale instead of being loaded.
+ * <p>
+ * With {@link TestcontainersConfiguration#getImageBundlePath()}, a bundle is loaded before the first image is needed,
+ * and with {@link TestcontainersConfiguration#getImageBundleExportPath()}, the registry images used by the test run are
+ * exported when the JVM exits. Images built locally (e.g. from a Dockerfile) are not exported, as they would only be
+ * rebuilt under another name anyway.
+ */
+@Slf4j
+@UnstableAPI
+public final class ImageBundle {
+
+    @VisibleForTesting
+    static final String MANIFEST_FILE_NAME = "manifest.properties";
+
+    private static final Set<DockerImageName> USED_IMAGES = ConcurrentHashMap.newKeySet();
+
+    private static final AtomicBoolean EXPORT_ON_EXIT_REGISTERED = new AtomicBoolean(false);
+
+    private static final AtomicInteger BUNDLE_THREAD_ID = new AtomicInteger(0);
+
+    private static volatile boolean configuredBundleLoaded = false;
+
+    private ImageBundle() {
+    }
+
+    /**
+     * @return the images used by containers since the JVM started, except images built from a Dockerfile
+     */
+    public static Set<DockerImageName> getUsedImages() {
+        return Collections.unmodifiableSet(USED_IMAGES.stream()
+            .sorted(Comparator.comparing(DockerImageName::asCanonicalNameString))
+            .collect(Collectors.toCollection(LinkedHashSet::new)));
+    }
+
+    /**
+     * Exports the images used by containers since the JVM started that were pulled from a registry.
+     *
+     * @see #export(Path, Collection)
+     */
+    public static void exportUsedImages(Path directory) {
+        export(directory, USED_IMAGES, true);
+    }
+
+    /**
+     * Exports the images to the directory, replacing a previous bundle. The files of images that did not change since
+     * the previous export are kept as they are, the files of images that are not part of the bundle anymore are deleted.
+     *
+     * @param directory the directory of the bundle, created if needed
+     * @param images    the images to export, which must be available locally
+     */
+    public static void export(Path directory, Collection<DockerImageName> images) {
+        export(directory, images, false);
+    }
+
+    @SneakyThrows(IOException.class)
+    private static void export(Path directory, Collection<DockerImageName> images, boolean registryImagesOnly) {
+        Files.createDirectories(directory);
+        Map<DockerImageName, Entry> previousEntries = readManifest(directory).stream()
+            .collect(Collectors.toMap(Entry::getImageName, Function.identity(), (first, second) -> second));
+
+        DockerClient dockerClient = DockerClientFactory.instance().client();
+        List<Entry> entries = forEachInParallel(new ArrayList<>(images), imageName -> {
+            InspectImageResponse image = inspectImage(dockerClient, imageName);
+            if (image == null) {
+                log.warn("Not exporting image {}, which is not available locally", imageName);
+                return null;
+            }
+            if (registryImagesOnly && (image.getRepoDigests() == null || image.getRepoDigests().isEmpty())) {
+                log.debug("Not exporting image {}, which was not pulled from a registry", imageName);
+                return null;
+            }
+            String imageId = image.getId();
+
+            Entry previousEntry = previousEntries.get(imageName);
+            if (previousEntry != null && previousEntry.getImageId().equals(imageId) && isIntact(directory, previousEntry)) {
+                log.debug("Image {} is already exported", imageName);
+                return previousEntry;
+            }
+
+            return save(dockerClient, directory, imageName, imageId);
+        });
+
+        writeManifest(directory, entries);
+        deleteUnreferencedFiles(directory, entries);
+        log.info("Exported {} images to {}", entries.size(), directory);
+    }
+
+    /**
+     * Loads the images of the bundle that are not available locally yet.
+     *
+     * @param directory the directory of the bundle
+     * @return which images were loaded, which were available already and which were not loaded because of a stale bundle
+     */
+    public static LoadResult load(Path directory) {
+        List<Entry> entries = readManifest(directory);
+        if (entries.isEmpty()) {
+            log.warn("No image bundle found in {}", directory);
+            return new LoadResult(Collections.emptyList(), Collections.emptyList(), Collections.emptyList());
+        }
+
+        DockerClient dockerClient = DockerClientFactory.instance().client();
+        Map<DockerImageName, LoadStatus> statuses = new LinkedHashMap<>();
+        List<LoadStatus> results = forEachInParallel(entries, entry -> load(dockerClient, directory, entry));
+        for (int i = 0; i < entries.size(); i++) {
+            statuses.put(entries.get(i).getImageName(), results.get(i));
+        }
+
+        LoadResult result = new LoadResult(
+            filter(statuses, LoadStatus.LOADED),
+            filter(statuses, LoadStatus.UP_TO_DATE),
+            filter(statuses, LoadStatus.STALE)
+        );
+        log.info(
+            "Loaded {} images from {} ({} already available, {} stale)",
+            result.getLoaded().size(), directory, result.getUpToDate().size(), result.getStale().size()
+        );
+        return result;
+    }
+
+    /**
+     * Records that a container used the image, unless it was built locally, and loads the configured bundle, once,
+     * before the first image is needed.
+     */
+    static void onImageNeeded(DockerImageName imageName, boolean builtLocally) {
+        if (!builtLocally) {
+            USED_IMAGES.add(imageName);
+        }
+
+        TestcontainersConfiguration configuration = TestcontainersConfiguration.getInstance();
+        String exportPath = configuration.getImageBundleExportPath();
+        if (exportPath != null && EXPORT_ON_EXIT_REGISTERED.compareAndSet(false, true)) {
+            Runtime.getRuntime().addShutdownHook(new Thread(
+                DockerClientFactory.TESTCONTAINERS_THREAD_GROUP,
+                () -> exportUsedImages(Paths.get(exportPath)),
+                "testcontainers-image-bundle-export"
+            ));
+        }
+
+        String bundlePath = configuration.getImageBundlePath();
+        if (bundlePath != null && !configuredBundleLoaded) {
+            loadConfiguredBundle(Paths.get(bundlePath));
+        }
+    }
+
+    private static synchronized void loadConfiguredBundle(Path bundlePath) {
+        // other containers wait for the bundle to be loaded rather than pulling its images
+        if (configuredBundleLoaded) {
+            return;
+        }
+        try {
+            load(bundlePath);
+        } catch (Exception e) {
+            // the images will be pulled instead
+            log.warn("Failed to load the image bundle from {}", bundlePath, e);
+        } finally {
+            configuredBundleLoaded = true;
+        }
+    }
+
+    private static Entry save(DockerClient dockerClient, Path directory, DockerImageName imageName, String imageId) throws IOException {
+        String fileName = imageName.asCanonicalNameString().replaceAll("[^A-Za-z0-9._-]", "_") + ".tar";
+        Path tempFile = Files.createTempFile(directory, fileName, ".tmp");
+        try {
+            HashingOutputStream hashingStream;
+            try (
+                InputStream imageStream = dockerClient.saveImageCmd(imageName.asCanonicalNameString()).exec();
+                OutputStream fileStream = Files.newOutputStream(tempFile)
+            ) {
+                hashingStream = new HashingOutputStream(Hashing.sha256(), fileStream);
+                ByteStreams.copy(imageStream, hashingStream);
+            }
+            Files.move(tempFile, directory.resolve(fileName), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Exported image {} to {}", imageName, fileName);
+            return new Entry(imageName, imageId, fileName, hashingStream.hash().toString());
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private static LoadStatus load(DockerClient dockerClient, Path directory, Entry entry) throws IOException {
+        DockerImageName imageName = entry.getImageName();
+        String localImageId = findImageId(dockerClient, imageName);
+        if (entry.getImageId().equals(localImageId)) {
+            return LoadStatus.UP_TO_DATE;
+        }
+        if (localImageId != null) {
+            log.warn("Not loading image {} from the bundle, the local image differs (bundle: {}, local: {})", imageName, entry.getImageId(), localImageId);
+            return LoadStatus.STALE;
+        }
+        if (!isIntact(directory, entry)) {
+            log.warn("Not loading image {} from the bundle, {} was modified since it was exported", imageName, entry.getFileName());
+            return LoadStatus.STALE;
+        }
+
+        try (InputStream fileStream = Files.newInputStream(directory.resolve(entry.getFileName()))) {
+            dockerClient.loadImageCmd(fileStream).exec();
+        }
+
+        LocalImagesCache.INSTANCE.invalidate(imageName);
+        String loadedImageId = findImageId(dockerClient, imageName);
+        if (!entry.getImageId().equals(loadedImageId)) {
+            log.warn("Image {} loaded from the bundle is {} instead of {}", imageName, loadedImageId, entry.getImageId());
+            return LoadStatus.STALE;
+        }
+        log.debug("Loaded image {} from the bundle", imageName);
+        return LoadStatus.LOADED;
+    }
+
+    private static boolean isIntact(Path directory, Entry entry) throws IOException {
+        Path file = directory.resolve(entry.getFileName());
+        if (!Files.isRegularFile(file)) {
+            return false;
+        }
+        try (HashingInputStream hashingStream = new HashingInputStream(Hashing.sha256(), Files.newInputStream(file))) {
+            ByteStreams.exhaust(hashingStream);
+            return hashingStream.hash().toString().equals(entry.getSha256());
+        }
+    }
+
+    /**
+     * Deletes the image files of previous exports that the manifest doesn't refer to anymore, as well as temporary
+     * files left behind by interrupted exports.
+     */
+    private static void deleteUnreferencedFiles(Path directory, List<Entry> entries) throws IOException {
+        Set<String> referencedFiles = entries.stream().map(Entry::getFileName).collect(Collectors.toSet());
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.{tar,tmp}")) {
+            for (Path file : files) {
+                if (!referencedFiles.contains(file.getFileName().toString())) {
+                    log.debug("Deleting {}, which is not part of the bundle anymore", file);
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    @Nullable
+    private static String findImageId(DockerClient dockerClient, DockerImageName imageName) {
+        InspectImageResponse image = inspectImage(dockerClient, imageName);
+        return image != null ? image.getId() : null;
+    }
+
+    @Nullable
+    private static InspectImageResponse inspectImage(DockerClient dockerClient, DockerImageName imageName) {
+        try {
+            return dockerClient.inspectImageCmd(imageName.asCanonicalNameString()).exec();
+        } catch (NotFoundException e) {
+            return null;
+        }
+    }
+
+    @VisibleForTesting
+    @SneakyThrows(IOException.class)
+    static List<Entry> readManifest(Path directory) {
+        Path manifest = directory.resolve(MANIFEST_FILE_NAME);
+        if (!Files.exists(manifest)) {
+            return Collections.emptyList();
+        }
+
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(manifest, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+
+        List<Entry> entries = new ArrayList<>();
+        int count = Integer.parseInt(properties.getProperty("images", "0"));
+        for (int i = 0; i < count; i++) {
+            entries.add(new Entry(
+                DockerImageName.parse(properties.getProperty(i + ".name")),
+                properties.getProperty(i + ".id"),
+                properties.getProperty(i + ".file"),
+                properties.getProperty(i + ".sha256")
+            ));
+        }
+        return entries;
+    }
+
+    @VisibleForTesting
+    static void writeManifest(Path directory, List<Entry> entries) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("images", String.valueOf(entries.size()));
+        for (int i = 0; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            properties.setProperty(i + ".name", entry.getImageName().asCanonicalNameString());
+            properties.setProperty(i + ".id", entry.getImageId());
+            properties.setProperty(i + ".file", entry.getFileName());
+            properties.setProperty(i + ".sha256", entry.getSha256());
+        }
+
+        Path tempFile = Files.createTempFile(directory, MANIFEST_FILE_NAME, ".tmp");
+        try {
+            try (Writer writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+                properties.store(writer, "Testcontainers image bundle");
+            }
+            Files.move(tempFile, directory.resolve(MANIFEST_FILE_NAME), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Runs the action for every item, as many at a time as images may be pulled at the same time
+     *
+     * @return the non-null results, in the order of the items
+     */
+    @SneakyThrows
+    private static <T, R> List<R> forEachInParallel(List<T> items, IOFunction<T, R> action) {
+        if (items.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        int threads = Math.min(items.size(), TestcontainersConfiguration.getInstance().getImagePullConcurrency());
+        ExecutorService executor = Executors.newFixedThreadPool(threads, ImageBundle::newThread);
+        try {
+            List<CompletableFuture<R>> futures = items.stream()
+                .map(item -> CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return action.apply(item);
+                    } catch (IOException e) {
+                        throw new CompletionException(e);
+                    }
+                }, executor))
+                .collect(Collectors.toList());
+
+            List<R> results = new ArrayList<>();
+            for (CompletableFuture<R> future : futures) {
+                R result = future.join();
+                if (result != null) {
+                    results.add(result);
+                }
+            }
+            return results;
+        } catch (CompletionException e) {
+            throw e.getCause();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static Thread newThread(Runnable runnable) {
+        Thread thread = new Thread(DockerClientFactory.TESTCONTAINERS_THREAD_GROUP, runnable);
+        thread.setDaemon(true);
+        thread.setName("testcontainers-image-bundle-" + BUNDLE_THREAD_ID.incrementAndGet());
+        return thread;
+    }
+
+    private static List<DockerImageName> filter(Map<DockerImageName, LoadStatus> statuses, LoadStatus status) {
+        return statuses.entrySet().stream()
+            .filter(it -> it.getValue() == status)
+            .map(Map.Entry::getKey)
+            .collect(Collectors.toList());
+    }
+
+    @FunctionalInterface
+    private interface IOFunction<T, R> {
+        R apply(T item) throws IOException;
+    }
+
+    private enum LoadStatus {
+        LOADED,
+        UP_TO_DATE,
+        STALE
+    }
+
+    @Value
+    @VisibleForTesting
+    static class Entry {
+        DockerImageName imageName;
+        String imageId;
+        String fileName;
+        String sha256;
+    }
+
+    @Value
+    public static class LoadResult {
+
+        /**
+         * Images loaded from the bundle
+         */
+        List<DockerImageName> loaded;
+
+        /**
+         * Images of the bundle that were available locally already
+         */
+        List<DockerImageName> upToDate;
+
+        /**
+         * Images that were not loaded because they differ from the local ones, or because their file was modified
+         */
+        List<DockerImageName> stale;
+    }
+}
@@ -0,0 +1,31 @@
+package org.testcontainers.images;
+
+import lombok.Value;
+import org.testcontainers.UnstableAPI;
+
+/**
+ * Counters of the JVM-wide cache of locally available images, used by the {@link ImagePullPolicy pull policies}.
+ */
+@UnstableAPI
+@Value
+public class ImageCacheStatistics {
+
+    /**
+     * Lookups answered from memory with an available image
+     */
+    long hits;
+
+    /**
+     * Lookups answered from memory with an image known to be missing
+     */
+    long negativeHits;
+
+    /**
+     * Lookups that required an image inspection
+     */
+    long misses;
+
+    public static ImageCacheStatistics current() {
+        return LocalImagesCache.INSTANCE.getStatistics();
+    }
+}
@@ -0,0 +1,166 @@
+package org.testcontainers.images;
+
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.testcontainers.utility.DockerImageName;
+import org.testcontainers.utility.TestcontainersConfiguration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.apache.commons.io.FileUtils.byteCountToDisplaySize;
+
+/**
+ * JVM-wide coordination of image pulls:
+ * <ul>
+ *     <li>concurrent requests for the same image share a single in-flight pull</li>
+ *     <li>at most {@link TestcontainersConfiguration#getImagePullConcurrency()} images are pulled at the same time,
+ *     so that unrelated pulls don't compete for the daemon's bandwidth</li>
+ *     <li>background (prefetch) pulls never get a slot while a container is waiting for one, and a container
+ *     needing an image whose prefetch is still queued pulls it right away instead</li>
+ *     <li>the bytes pulled and the time spent are recorded per image</li>
+ * </ul>
+ */
+@Slf4j
+enum ImagePullCoordinator {
+    INSTANCE;
+
+    private final Object slotsLock = new Object();
+
+    private int availableSlots = TestcontainersConfiguration.getInstance().getImagePullConcurrency();
+
+    private int waitingForegroundPulls = 0;
+
+    private final Map<DockerImageName, Pull> inFlight = new ConcurrentHashMap<>();
+
+    private final Collection<ImagePullStatistics> statistics = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Pulls the image, or waits for the ongoing pull of the same image to finish.
+     *
+     * @param background whether the image is not needed right away (e.g. prefetched)
+     * @param pull       performs the pull and returns the number of downloaded bytes
+     */
+    @SneakyThrows
+    void pull(DockerImageName imageName, boolean background, Callable<Long> pull) {
+        Pull ourPull = new Pull();
+        Pull ongoingPull = inFlight.putIfAbsent(imageName, ourPull);
+        if (ongoingPull == null) {
+            if (!background) {
+                ourPull.claim();
+            }
+            execute(imageName, ourPull, background, pull);
+            // in case it was taken over
+            await(ourPull);
+            return;
+        }
+
+        if (!background && ongoingPull.claim()) {
+            log.debug("Taking over the queued background pull of {}", imageName);
+            execute(imageName, ongoingPull, false, pull);
+            return;
+        }
+
+        log.debug("Waiting for the ongoing pull of {}", imageName);
+        await(ongoingPull);
+    }
+
+    List<ImagePullStatistics> getStatistics() {
+        return new ArrayList<>(statistics);
+    }
+
+    /**
+     * Performs the pull, unless (for a background pull) a foreground request takes it over while waiting for a slot.
+     */
+    @SneakyThrows
+    private void execute(DockerImageName imageName, Pull ourPull, boolean background, Callable<Long> pull) {
+        // foreground requests have claimed the pull already
+        boolean owner = !background;
+        try {
+            acquireSlot(background);
+            try {
+                owner = owner || ourPull.claim();
+                if (!owner) {
+                    // taken over, the foreground request will complete it
+                    return;
+                }
+
+                long start = System.nanoTime();
+                long bytes = pull.call();
+                Duration duration = Duration.ofNanos(System.nanoTime() - start);
+
+                statistics.add(new ImagePullStatistics(imageName, bytes, duration));
+                log.debug("Pulled {} ({}) in {}ms", imageName, byteCountToDisplaySize(bytes), duration.toMillis());
+            } finally {
+                releaseSlot();
+            }
+            inFlight.remove(imageName, ourPull);
+            ourPull.result.complete(null);
+        } catch (Throwable e) {
+            if (owner || ourPull.claim()) {
+                inFlight.remove(imageName, ourPull);
+                ourPull.result.completeExceptionally(e);
+            }
+            throw e;
+        }
+    }
+
+    @SneakyThrows
+    private static void await(Pull pull) {
+        try {
+            pull.result.get();
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void acquireSlot(boolean background) throws InterruptedException {
+        synchronized (slotsLock) {
+            if (background) {
+                while (availableSlots == 0 || waitingForegroundPulls > 0) {
+                    slotsLock.wait();
+                }
+            } else {
+                waitingForegroundPulls++;
+                try {
+                    while (availableSlots == 0) {
+                        slotsLock.wait();
+                    }
+                } finally {
+                    waitingForegroundPulls--;
+                }
+            }
+            availableSlots--;
+        }
+    }
+
+    private void releaseSlot() {
+        synchronized (slotsLock) {
+            availableSlots++;
+            slotsLock.notifyAll();
+        }
+    }
+
+    private static final class Pull {
+
+        final CompletableFuture<Void> result = new CompletableFuture<>();
+
+        private final AtomicBoolean started = new AtomicBoolean(false);
+
+        /**
+         * @return whether the caller is the one to perform the pull
+         */
+        boolean claim() {
+            return started.compareAndSet(false, true);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package org.testcontainers.images;
+
+import lombok.Value;
+import org.testcontainers.UnstableAPI;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Bytes pulled and time spent for an image pulled by Testcontainers.
+ */
+@UnstableAPI
+@Value
+public class ImagePullStatistics {
+
+    DockerImageName imageName;
+
+    long bytesPulled;
+
+    Duration duration;
+
+    /**
+     * @return the statistics of every image pulled by this JVM, in completion order
+     */
+    public static List<ImagePullStatistics> all() {
+        return ImagePullCoordinator.INSTANCE.getStatistics();
+    }
+}
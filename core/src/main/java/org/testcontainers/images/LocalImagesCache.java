@@ -3,91 +3,256 @@ package org.testcontainers.images;
 import com.github.dockerjava.api.DockerClient;
 import com.github.dockerjava.api.command.InspectImageResponse;
 import com.github.dockerjava.api.exception.NotFoundException;
-import com.github.dockerjava.api.model.Image;
+import com.github.dockerjava.api.model.Event;
+import com.github.dockerjava.api.model.EventType;
 import com.google.common.annotations.VisibleForTesting;
 import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.Nullable;
 import org.testcontainers.DockerClientFactory;
+import org.testcontainers.utility.DockerEventsHub;
 import org.testcontainers.utility.DockerImageName;
+import org.testcontainers.utility.TestcontainersConfiguration;
 
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Knows which images are available locally, so that pull policies don't need to ask the Docker daemon every time.
+ * <p>
+ * Images are inspected lazily, one at a time, when first asked for. Afterwards the cache is kept up to date by the
+ * image events (pull, tag, untag, delete, ...) of the daemon. Images that are known to be missing are remembered for
+ * {@link TestcontainersConfiguration#getImageCacheNegativeTtl()} seconds.
+ * <p>
+ * The {@code useFilter} system property, which used to skip listing all images upfront and inspect them on every
+ * lookup instead, is deprecated: images are always inspected one at a time now. When set, the cache is still bypassed.
+ */
 @Slf4j
 enum LocalImagesCache {
     INSTANCE;
 
-    private final AtomicBoolean initialized = new AtomicBoolean(false);
-
     @VisibleForTesting
     final Map<DockerImageName, ImageData> cache = new ConcurrentHashMap<>();
 
+    /**
+     * Image IDs of the cached entries, to handle untag and delete events which only refer to the image ID
+     */
+    private final Map<DockerImageName, String> imageIds = new ConcurrentHashMap<>();
+
+    /**
+     * Expiry ({@link System#nanoTime()}) of the negative entries
+     */
+    private final Map<DockerImageName, Long> missing = new ConcurrentHashMap<>();
+
+    /**
+     * Incremented on every image event, see {@link #lastEvents}
+     */
+    private final AtomicLong clock = new AtomicLong();
+
+    /**
+     * Value of {@link #clock} at the last event about a (normalized) image name or an image ID, so that an inspection
+     * racing with an event about the same image does not store a stale result
+     */
+    private final Map<String, Long> lastEvents = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean useFilterWarned = new AtomicBoolean(false);
+
+    private final AtomicBoolean subscribed = new AtomicBoolean(false);
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder negativeHits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
     DockerClient dockerClient = DockerClientFactory.lazyClient();
 
-    public ImageData get(DockerImageName imageName) {
-        maybeInitCache();
-        return cache.get(imageName);
+    /**
+     * Looks the image up, from memory if possible, or else by inspecting it.
+     *
+     * @return the image's data, or empty if the image is not available locally
+     */
+    public Optional<ImageData> find(DockerImageName imageName) {
+        maybeSubscribe();
+
+        if (Boolean.parseBoolean(System.getProperty("useFilter"))) {
+            if (useFilterWarned.compareAndSet(false, true)) {
+                log.warn("The 'useFilter' system property is deprecated and will be removed, images are always " +
+                    "looked up individually now. The local images cache is bypassed while it is set.");
+            }
+            misses.increment();
+            return refreshCache(imageName);
+        }
+
+        ImageData imageData = cache.get(imageName);
+        if (imageData != null) {
+            hits.increment();
+            return Optional.of(imageData);
+        }
+
+        Long missingUntil = missing.get(imageName);
+        if (missingUntil != null) {
+            if (System.nanoTime() - missingUntil < 0) {
+                negativeHits.increment();
+                return Optional.empty();
+            }
+            missing.remove(imageName, missingUntil);
+        }
+
+        misses.increment();
+        return refreshCache(imageName);
     }
 
+    /**
+     * Inspects the image, bypassing the cache (e.g. after it has just been pulled).
+     *
+     * @return the image's data, or empty if the image is not available locally
+     */
     public Optional<ImageData> refreshCache(DockerImageName imageName) {
-        if (!maybeInitCache()) {
-            // Cache may be stale, trying inspectImageCmd...
-
-            InspectImageResponse response = null;
-            try {
-                response = dockerClient.inspectImageCmd(imageName.asCanonicalNameString()).exec();
-            } catch (NotFoundException e) {
-                log.trace("Image {} not found", imageName, e);
+        maybeSubscribe();
+
+        long before = clock.get();
+        InspectImageResponse response = null;
+        try {
+            response = dockerClient.inspectImageCmd(imageName.asCanonicalNameString()).exec();
+        } catch (NotFoundException e) {
+            log.trace("Image {} not found", imageName, e);
+        }
+
+        if (response == null) {
+            cache.remove(imageName);
+            imageIds.remove(imageName);
+            if (!changedSince(before, imageName, null)) {
+                long ttl = TimeUnit.SECONDS.toNanos(TestcontainersConfiguration.getInstance().getImageCacheNegativeTtl());
+                if (ttl > 0) {
+                    missing.put(imageName, System.nanoTime() + ttl);
+                }
             }
-            if (response != null) {
-                ImageData imageData = ImageData.from(response);
-                cache.put(imageName, imageData);
-                return Optional.of(imageData);
-            } else {
-                cache.remove(imageName);
-                return Optional.empty();
+            return Optional.empty();
+        }
+
+        ImageData imageData = ImageData.from(response);
+        missing.remove(imageName);
+        if (!changedSince(before, imageName, response.getId())) {
+            cache.put(imageName, imageData);
+            if (response.getId() != null) {
+                imageIds.put(imageName, response.getId());
             }
         }
+        return Optional.of(imageData);
+    }
+
+    /**
+     * Forgets everything known about the image, positive or negative.
+     */
+    void invalidate(DockerImageName imageName) {
+        cache.remove(imageName);
+        imageIds.remove(imageName);
+        missing.remove(imageName);
+    }
+
+    ImageCacheStatistics getStatistics() {
+        return new ImageCacheStatistics(hits.sum(), negativeHits.sum(), misses.sum());
+    }
 
-        return Optional.ofNullable(cache.get(imageName));
+    @VisibleForTesting
+    void clear() {
+        cache.clear();
+        imageIds.clear();
+        missing.clear();
+        lastEvents.clear();
+        hits.reset();
+        negativeHits.reset();
+        misses.reset();
     }
 
-    private synchronized boolean maybeInitCache() {
-        if (!initialized.compareAndSet(false, true)) {
-            return false;
+    @VisibleForTesting
+    void onImageEvent(Event event) {
+        String action = event.getAction() != null ? event.getAction() : event.getStatus();
+        String actorId = event.getActor() != null && event.getActor().getId() != null
+            ? event.getActor().getId()
+            : event.getId();
+        String name = event.getActor() != null && event.getActor().getAttributes() != null
+            ? event.getActor().getAttributes().get("name")
+            : null;
+
+        long now = clock.incrementAndGet();
+        if (actorId != null) {
+            lastEvents.put(actorId.startsWith("sha256:") ? actorId : normalize(actorId), now);
+        }
+        if (name != null) {
+            lastEvents.put(name.startsWith("sha256:") ? name : normalize(name), now);
         }
 
-        if (Boolean.parseBoolean(System.getProperty("useFilter"))) {
-            return false;
+        if (action == null) {
+            return;
         }
 
-        populateFromList(dockerClient.listImagesCmd().exec());
+        switch (action) {
+            case "untag":
+            case "delete":
+                // refer to the image ID, every name of the image may be gone
+                if (actorId != null) {
+                    imageIds.entrySet().removeIf(entry -> {
+                        if (entry.getValue().equals(actorId)) {
+                            cache.remove(entry.getKey());
+                            return true;
+                        }
+                        return false;
+                    });
+                }
+                break;
+            default:
+                // pull, tag, load, import, ...: the name may now point to a different (or a first) image
+                invalidateReference(actorId);
+                invalidateReference(name);
+        }
+    }
 
-        return true;
+    /**
+     * @return whether an event about the image name or the image ID happened after {@code before}
+     */
+    private boolean changedSince(long before, DockerImageName imageName, @Nullable String imageId) {
+        Long nameEvent = lastEvents.get(normalize(imageName.asCanonicalNameString()));
+        if (nameEvent != null && nameEvent > before) {
+            return true;
+        }
+        Long idEvent = imageId != null ? lastEvents.get(imageId) : null;
+        return idEvent != null && idEvent > before;
     }
 
-    private void populateFromList(List<Image> images) {
-        for (Image image : images) {
-            String[] repoTags = image.getRepoTags();
-            if (repoTags == null) {
-                log.debug("repoTags is null, skipping image: {}", image);
-                continue;
-            }
+    private void maybeSubscribe() {
+        if (subscribed.compareAndSet(false, true)) {
+            DockerEventsHub.instance().addListener(EventType.IMAGE, this::onImageEvent);
+        }
+    }
 
-            cache.putAll(
-                Stream.of(repoTags)
-                    // Protection against some edge case where local image repository tags end up with duplicates
-                    // making toMap crash at merge time.
-                    .distinct()
-                    .collect(Collectors.toMap(
-                        DockerImageName::new,
-                        it -> ImageData.from(image)
-                    ))
-            );
+    private void invalidateReference(@Nullable String reference) {
+        if (reference == null || reference.startsWith("sha256:")) {
+            return;
+        }
+
+        // the daemon may report "alpine:3.5" as "docker.io/library/alpine:3.5"
+        String normalizedReference = normalize(reference);
+        cache.keySet().removeIf(it -> normalize(it.asCanonicalNameString()).equals(normalizedReference));
+        imageIds.keySet().removeIf(it -> normalize(it.asCanonicalNameString()).equals(normalizedReference));
+        missing.keySet().removeIf(it -> normalize(it.asCanonicalNameString()).equals(normalizedReference));
+    }
+
+    private static String normalize(String reference) {
+        String result = reference;
+        for (String prefix : new String[]{"docker.io/", "registry-1.docker.io/", "index.docker.io/", "library/"}) {
+            if (result.startsWith(prefix)) {
+                result = result.substring(prefix.length());
+            }
+        }
+        if (!result.contains("@") && result.lastIndexOf(':') <= result.lastIndexOf('/')) {
+            result += ":latest";
         }
+        return result;
     }
 }
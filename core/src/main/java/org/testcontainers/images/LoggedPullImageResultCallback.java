@@ -111,6 +111,10 @@ class LoggedPullImageResultCallback extends PullImageResultCallback {
         }
     }
 
+    long getDownloadedBytes() {
+        return downloadedLayerSize();
+    }
+
     private long downloadedLayerSize() {
         return currentSizes.values().stream().filter(Objects::nonNull).mapToLong(it -> it).sum();
     }
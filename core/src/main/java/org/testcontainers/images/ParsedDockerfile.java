@@ -1,6 +1,5 @@
 package org.testcontainers.images;
 
-import com.google.common.annotations.VisibleForTesting;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
@@ -33,8 +32,13 @@ public class ParsedDockerfile {
         parse(read());
     }
 
-    @VisibleForTesting
-    ParsedDockerfile(List<String> lines) {
+    /**
+     * Parses the content of a Dockerfile that is not stored on disk (e.g. built with a
+     * {@link org.testcontainers.images.builder.dockerfile.DockerfileBuilder}).
+     *
+     * @param lines the lines of the Dockerfile
+     */
+    public ParsedDockerfile(List<String> lines) {
         this.dockerFilePath = Paths.get("dummy.Dockerfile");
         parse(lines);
     }
@@ -12,7 +12,9 @@ import lombok.ToString;
 import lombok.experimental.Wither;
 import org.slf4j.Logger;
 import org.testcontainers.DockerClientFactory;
+import org.testcontainers.UnstableAPI;
 import org.testcontainers.containers.ContainerFetchException;
+import org.testcontainers.images.builder.ImageFromDockerfile;
 import org.testcontainers.utility.DockerImageName;
 import org.testcontainers.utility.DockerLoggerFactory;
 import org.testcontainers.utility.LazyFuture;
@@ -21,7 +23,10 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @ToString
 @AllArgsConstructor(access = AccessLevel.PACKAGE)
@@ -29,6 +34,15 @@ public class RemoteDockerImage extends LazyFuture<String> {
 
     private static final Duration PULL_RETRY_TIME_LIMIT = Duration.ofMinutes(2);
 
+    private static final AtomicInteger PREFETCH_THREAD_ID = new AtomicInteger(0);
+
+    private static final Executor PREFETCH_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(DockerClientFactory.TESTCONTAINERS_THREAD_GROUP, runnable);
+        thread.setDaemon(true);
+        thread.setName("testcontainers-prefetch-" + PREFETCH_THREAD_ID.incrementAndGet());
+        return thread;
+    });
+
     @ToString.Exclude
     private Future<DockerImageName> imageNameFuture;
 
@@ -38,6 +52,12 @@ public class RemoteDockerImage extends LazyFuture<String> {
     @ToString.Exclude
     private DockerClient dockerClient = DockerClientFactory.lazyClient();
 
+    /**
+     * Whether the image is built from a Dockerfile rather than pulled, so that it is not part of exported image bundles
+     */
+    @ToString.Exclude
+    private boolean builtLocally = false;
+
     public RemoteDockerImage(DockerImageName dockerImageName) {
         this.imageNameFuture = CompletableFuture.completedFuture(dockerImageName);
     }
@@ -54,51 +74,84 @@ public class RemoteDockerImage extends LazyFuture<String> {
 
     public RemoteDockerImage(@NonNull Future<String> imageFuture) {
         this.imageNameFuture = Futures.lazyTransform(imageFuture, DockerImageName::new);
+        this.builtLocally = imageFuture instanceof ImageFromDockerfile;
+    }
+
+    /**
+     * Starts pulling the image in the background, according to the pull policy, so that it is available locally by
+     * the time the container starts. Pulls needed by starting containers take precedence over prefetches.
+     *
+     * @return a future completed once the image is available locally. Completed right away if the image name is not
+     * known yet (e.g. an image built from a Dockerfile)
+     */
+    @UnstableAPI
+    public CompletableFuture<Void> prefetch() {
+        if (!imageNameFuture.isDone() || isDone()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.runAsync(() -> resolve(true), PREFETCH_EXECUTOR);
     }
 
     @Override
-    @SneakyThrows({InterruptedException.class, ExecutionException.class})
     protected final String resolve() {
+        return resolve(false);
+    }
+
+    @SneakyThrows({InterruptedException.class, ExecutionException.class})
+    private String resolve(boolean background) {
         final DockerImageName imageName = getImageName();
         Logger logger = DockerLoggerFactory.getLogger(imageName.toString());
         try {
+            // a configured image bundle has to be loaded before deciding to pull
+            ImageBundle.onImageNeeded(imageName, builtLocally);
+
             if (!imagePullPolicy.shouldPull(imageName)) {
                 return imageName.asCanonicalNameString();
             }
 
-            // The image is not available locally - pull it
-            logger.info("Pulling docker image: {}. Please be patient; this may take some time but only needs to be done once.", imageName);
-
-            Exception lastFailure = null;
-            final Instant lastRetryAllowed = Instant.now().plus(PULL_RETRY_TIME_LIMIT);
-
-            while (Instant.now().isBefore(lastRetryAllowed)) {
-                try {
-                    dockerClient
-                        .pullImageCmd(imageName.getUnversionedPart())
-                        .withTag(imageName.getVersionPart())
-                        .exec(new TimeLimitedLoggedPullImageResultCallback(logger))
-                        .awaitCompletion();
-
-                    LocalImagesCache.INSTANCE.refreshCache(imageName);
-
-                    return imageName.asCanonicalNameString();
-                } catch (InterruptedException | InternalServerErrorException e) {
-                    // these classes of exception often relate to timeout/connection errors so should be retried
-                    lastFailure = e;
-                    logger.warn("Retrying pull for image: {} ({}s remaining)",
-                        imageName,
-                        Duration.between(Instant.now(), lastRetryAllowed).getSeconds());
-                }
-            }
-            logger.error("Failed to pull image: {}. Please check output of `docker pull {}`", imageName, imageName, lastFailure);
+            // Concurrent requests for the same image share a single pull
+            ImagePullCoordinator.INSTANCE.pull(imageName, background, () -> pull(imageName, logger));
 
-            throw new ContainerFetchException("Failed to pull image: " + imageName, lastFailure);
+            return imageName.asCanonicalNameString();
         } catch (DockerClientException e) {
             throw new ContainerFetchException("Failed to get Docker client for " + imageName, e);
         }
     }
 
+    /**
+     * @return the number of downloaded bytes
+     */
+    private long pull(DockerImageName imageName, Logger logger) {
+        // The image is not available locally - pull it
+        logger.info("Pulling docker image: {}. Please be patient; this may take some time but only needs to be done once.", imageName);
+
+        Exception lastFailure = null;
+        final Instant lastRetryAllowed = Instant.now().plus(PULL_RETRY_TIME_LIMIT);
+
+        while (Instant.now().isBefore(lastRetryAllowed)) {
+            try {
+                TimeLimitedLoggedPullImageResultCallback callback = dockerClient
+                    .pullImageCmd(imageName.getUnversionedPart())
+                    .withTag(imageName.getVersionPart())
+                    .exec(new TimeLimitedLoggedPullImageResultCallback(logger))
+                    .awaitCompletion();
+
+                LocalImagesCache.INSTANCE.refreshCache(imageName);
+
+                return callback.getDownloadedBytes();
+            } catch (InterruptedException | InternalServerErrorException e) {
+                // these classes of exception often relate to timeout/connection errors so should be retried
+                lastFailure = e;
+                logger.warn("Retrying pull for image: {} ({}s remaining)",
+                    imageName,
+                    Duration.between(Instant.now(), lastRetryAllowed).getSeconds());
+            }
+        }
+        logger.error("Failed to pull image: {}. Please check output of `docker pull {}`", imageName, imageName, lastFailure);
+
+        throw new ContainerFetchException("Failed to pull image: " + imageName, lastFailure);
+    }
+
     private DockerImageName getImageName() throws InterruptedException, ExecutionException {
         return imageNameFuture.get();
     }
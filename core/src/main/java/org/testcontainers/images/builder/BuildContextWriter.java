@@ -0,0 +1,146 @@
+package org.testcontainers.images.builder;
+
+import lombok.SneakyThrows;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.utility.MountableFile;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes the build context of an image as a tar archive, gzipped unless the compression level is
+ * {@link Deflater#NO_COMPRESSION}.
+ * <p>
+ * Small files are read and archived by a pool of threads ahead of the position being written, so that writing the
+ * archive is not bound by reading the files one after the other. Large files are streamed directly.
+ */
+class BuildContextWriter {
+
+    /**
+     * Size of the buffers between the archive and the connection to the daemon
+     */
+    static final int BUFFER_SIZE = 1024 * 1024;
+
+    /**
+     * Every record of the archive is written as soon as it is complete, so that entries archived ahead
+     * can be appended between the records of the archive
+     */
+    private static final int BLOCK_SIZE = 512;
+
+    private static final long MAX_READ_AHEAD_ENTRY_SIZE = 1024 * 1024;
+
+    private static final int READ_AHEAD_ENTRIES = 2 * Runtime.getRuntime().availableProcessors();
+
+    private static final AtomicInteger READ_AHEAD_THREAD_ID = new AtomicInteger(0);
+
+    private static final Executor READ_AHEAD_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(DockerClientFactory.TESTCONTAINERS_THREAD_GROUP, runnable);
+        thread.setDaemon(true);
+        thread.setName("testcontainers-build-context-" + READ_AHEAD_THREAD_ID.incrementAndGet());
+        return thread;
+    });
+
+    private final int compressionLevel;
+
+    BuildContextWriter(int compressionLevel) {
+        this.compressionLevel = compressionLevel;
+    }
+
+    /**
+     * Writes the archive, without closing the output stream.
+     *
+     * @return the size of the archived files
+     */
+    long write(Map<String, Transferable> context, OutputStream outputStream) throws IOException {
+        // directories are read file by file
+        Map<String, Transferable> transferables = new LinkedHashMap<>();
+        context.forEach((destination, transferable) -> {
+            if (transferable instanceof MountableFile) {
+                transferables.putAll(((MountableFile) transferable).getTarEntries(destination));
+            } else {
+                transferables.put(destination, transferable);
+            }
+        });
+
+        List<String> destinations = new ArrayList<>(transferables.keySet());
+        Map<String, Long> sizes = new HashMap<>();
+        transferables.forEach((destination, transferable) -> sizes.put(destination, transferable.getSize()));
+
+        BufferedOutputStream bufferedStream = new BufferedOutputStream(outputStream, BUFFER_SIZE);
+        OutputStream archiveStream = bufferedStream;
+        if (compressionLevel != Deflater.NO_COMPRESSION) {
+            archiveStream = new GZIPOutputStream(bufferedStream, BUFFER_SIZE) {
+                {
+                    def.setLevel(compressionLevel);
+                }
+            };
+        }
+
+        TarArchiveOutputStream tarArchive = new TarArchiveOutputStream(archiveStream, BLOCK_SIZE);
+        tarArchive.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
+
+        List<CompletableFuture<byte[]>> readAhead = new ArrayList<>();
+        long totalSize = 0;
+        for (int i = 0; i < destinations.size(); i++) {
+            // keep the next entries being read
+            for (int j = readAhead.size(); j < Math.min(i + READ_AHEAD_ENTRIES, destinations.size()); j++) {
+                String destination = destinations.get(j);
+                Transferable transferable = transferables.get(destination);
+                readAhead.add(
+                    sizes.get(destination) <= MAX_READ_AHEAD_ENTRY_SIZE
+                        ? CompletableFuture.supplyAsync(() -> archive(destination, transferable), READ_AHEAD_EXECUTOR)
+                        : null
+                );
+            }
+
+            String destination = destinations.get(i);
+            CompletableFuture<byte[]> archivedEntry = readAhead.set(i, null);
+            if (archivedEntry != null) {
+                archiveStream.write(join(archivedEntry));
+            } else {
+                transferables.get(destination).transferTo(tarArchive, destination);
+            }
+            totalSize += sizes.get(destination);
+        }
+
+        tarArchive.finish();
+        if (archiveStream instanceof GZIPOutputStream) {
+            ((GZIPOutputStream) archiveStream).finish();
+        }
+        bufferedStream.flush();
+        return totalSize;
+    }
+
+    private static byte[] archive(String destination, Transferable transferable) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        // not finished, the end of archive is written by the main archive
+        TarArchiveOutputStream tarArchive = new TarArchiveOutputStream(bytes, BLOCK_SIZE);
+        tarArchive.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
+        transferable.transferTo(tarArchive, destination);
+        return bytes.toByteArray();
+    }
+
+    @SneakyThrows
+    private static byte[] join(CompletableFuture<byte[]> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause();
+        }
+    }
+}
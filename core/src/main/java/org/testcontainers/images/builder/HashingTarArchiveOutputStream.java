@@ -0,0 +1,55 @@
+package org.testcontainers.images.builder;
+
+import com.google.common.hash.Hasher;
+import org.apache.commons.compress.archivers.ArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.io.output.NullOutputStream;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Instead of writing a tar archive, computes a hash of the entries written to it: their names, modes, sizes, link
+ * targets and contents. Timestamps and ownership are left out, so that e.g. a fresh checkout of the same files
+ * has the same hash.
+ */
+class HashingTarArchiveOutputStream extends TarArchiveOutputStream {
+
+    private final Hasher hasher;
+
+    HashingTarArchiveOutputStream(Hasher hasher) {
+        super(NullOutputStream.NULL_OUTPUT_STREAM);
+        this.hasher = hasher;
+    }
+
+    @Override
+    public void putArchiveEntry(ArchiveEntry archiveEntry) {
+        TarArchiveEntry entry = (TarArchiveEntry) archiveEntry;
+        update(entry.getName());
+        update(Integer.toOctalString(entry.getMode()));
+        update(entry.isDirectory() ? "" : Long.toString(entry.getSize()));
+        update(entry.getLinkName());
+    }
+
+    @Override
+    public void closeArchiveEntry() {
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) {
+        hasher.putBytes(bytes, offset, length);
+    }
+
+    @Override
+    public void finish() {
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private void update(String value) {
+        hasher.putString(value, StandardCharsets.UTF_8);
+        hasher.putByte((byte) 0);
+    }
+}
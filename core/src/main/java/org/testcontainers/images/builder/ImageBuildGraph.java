@@ -0,0 +1,203 @@
+package org.testcontainers.images.builder;
+
+import com.google.common.annotations.VisibleForTesting;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.UnstableAPI;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Builds several {@link ImageFromDockerfile}s, some of which may be built {@code FROM} others.
+ * <p>
+ * The dependencies are found in the Dockerfiles. Independent images are built concurrently, and an image is built as
+ * soon as the images it depends on are, with at most {@link #withMaxConcurrency(int)} builds at the same time.
+ * <pre>
+ * ImageFromDockerfile base = new ImageFromDockerfile("my-base", false)
+ *     .withDockerfileFromBuilder(builder -> builder.from("alpine:3.12").run("apk add curl"));
+ * ImageFromDockerfile app = new ImageFromDockerfile()
+ *     .withDockerfileFromBuilder(builder -> builder.from("my-base").cmd("curl", "--version"));
+ *
+ * new ImageBuildGraph().withImages(base, app).build();
+ * </pre>
+ */
+@Slf4j
+@UnstableAPI
+public class ImageBuildGraph {
+
+    private static final AtomicInteger BUILD_THREAD_ID = new AtomicInteger(0);
+
+    private final Map<String, Node> nodes = new LinkedHashMap<>();
+
+    private int maxConcurrency = Runtime.getRuntime().availableProcessors();
+
+    public ImageBuildGraph withImages(ImageFromDockerfile... images) {
+        for (ImageFromDockerfile image : images) {
+            withImage(image.getDockerImageName(), image::getBaseImageNames, image);
+        }
+        return this;
+    }
+
+    @VisibleForTesting
+    ImageBuildGraph withImage(String imageName, Supplier<Set<String>> baseImageNames, Future<String> image) {
+        Node previous = nodes.putIfAbsent(normalize(imageName), new Node(imageName, baseImageNames, image));
+        if (previous != null) {
+            throw new IllegalArgumentException("Image " + imageName + " is already part of the build graph");
+        }
+        return this;
+    }
+
+    /**
+     * @param maxConcurrency the maximum number of images built at the same time
+     */
+    public ImageBuildGraph withMaxConcurrency(int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be positive");
+        }
+        this.maxConcurrency = maxConcurrency;
+        return this;
+    }
+
+    /**
+     * Builds all images, waiting for them to be built.
+     *
+     * @throws IllegalStateException if images depend on each other in a cycle
+     */
+    @SneakyThrows
+    public void build() {
+        Map<Node, List<Node>> dependencies = getDependencies();
+        List<Node> buildOrder = sort(dependencies);
+
+        ExecutorService executor = Executors.newFixedThreadPool(maxConcurrency, runnable -> {
+            Thread thread = new Thread(DockerClientFactory.TESTCONTAINERS_THREAD_GROUP, runnable);
+            thread.setDaemon(true);
+            thread.setName("testcontainers-image-build-" + BUILD_THREAD_ID.incrementAndGet());
+            return thread;
+        });
+
+        log.info("Building {} images, at most {} at a time", buildOrder.size(), maxConcurrency);
+        try {
+            Map<Node, CompletableFuture<Void>> builds = new LinkedHashMap<>();
+            for (Node node : buildOrder) {
+                CompletableFuture<?>[] bases = dependencies.get(node).stream()
+                    .map(builds::get)
+                    .toArray(CompletableFuture[]::new);
+                builds.put(node, CompletableFuture.allOf(bases).thenRunAsync(node::build, executor));
+            }
+
+            CompletableFuture.allOf(builds.values().toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            throw e.getCause();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * @return the images of the graph each image is built from
+     */
+    private Map<Node, List<Node>> getDependencies() {
+        Map<Node, List<Node>> dependencies = new LinkedHashMap<>();
+        for (Node node : nodes.values()) {
+            List<Node> bases = new ArrayList<>();
+            for (String baseImageName : node.baseImageNames.get()) {
+                Node base = nodes.get(normalize(baseImageName));
+                // other base images are pulled as usual
+                if (base != null && base != node) {
+                    bases.add(base);
+                }
+            }
+            dependencies.put(node, bases);
+        }
+        return dependencies;
+    }
+
+    /**
+     * @return the images, every image after the images it is built from
+     */
+    private static List<Node> sort(Map<Node, List<Node>> dependencies) {
+        Set<Node> sorted = new LinkedHashSet<>();
+        Set<Node> visiting = new LinkedHashSet<>();
+        for (Node node : dependencies.keySet()) {
+            visit(node, dependencies, visiting, sorted);
+        }
+        return new ArrayList<>(sorted);
+    }
+
+    private static void visit(Node node, Map<Node, List<Node>> dependencies, Set<Node> visiting, Set<Node> sorted) {
+        if (sorted.contains(node)) {
+            return;
+        }
+        if (!visiting.add(node)) {
+            List<Node> cycle = new ArrayList<>(visiting);
+            cycle = cycle.subList(cycle.indexOf(node), cycle.size());
+            cycle.add(node);
+            throw new IllegalStateException("Images are built from each other in a cycle: " + cycle);
+        }
+
+        for (Node base : dependencies.get(node)) {
+            visit(base, dependencies, visiting, sorted);
+        }
+
+        visiting.remove(node);
+        sorted.add(node);
+    }
+
+    /**
+     * Image names as Docker resolves them, e.g. {@code my-base} is {@code my-base:latest}
+     */
+    private static String normalize(String imageName) {
+        DockerImageName parsedName = DockerImageName.parse(imageName);
+        if (parsedName.getVersionPart().isEmpty()) {
+            parsedName = parsedName.withTag("latest");
+        }
+        return parsedName.asCanonicalNameString();
+    }
+
+    private static final class Node {
+
+        private final String imageName;
+
+        private final Supplier<Set<String>> baseImageNames;
+
+        private final Future<String> image;
+
+        private Node(String imageName, Supplier<Set<String>> baseImageNames, Future<String> image) {
+            this.imageName = imageName;
+            this.baseImageNames = baseImageNames;
+            this.image = image;
+        }
+
+        @SneakyThrows
+        private void build() {
+            long start = System.nanoTime();
+            try {
+                image.get();
+            } catch (ExecutionException e) {
+                throw e.getCause();
+            }
+            log.debug("Built {} in {}ms", imageName, Duration.ofNanos(System.nanoTime() - start).toMillis());
+        }
+
+        @Override
+        public String toString() {
+            return imageName;
+        }
+    }
+}
@@ -3,12 +3,19 @@ package org.testcontainers.images.builder;
 import com.github.dockerjava.api.DockerClient;
 import com.github.dockerjava.api.command.BuildImageCmd;
 import com.github.dockerjava.api.command.BuildImageResultCallback;
+import com.github.dockerjava.api.exception.NotFoundException;
 import com.github.dockerjava.api.model.BuildResponseItem;
+import com.github.dockerjava.core.GoLangFileMatch;
+import com.github.dockerjava.core.dockerfile.Dockerfile;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import lombok.Cleanup;
 import lombok.Getter;
+import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.testcontainers.DockerClientFactory;
@@ -19,20 +26,34 @@ import org.testcontainers.images.builder.traits.DockerfileTrait;
 import org.testcontainers.images.builder.traits.FilesTrait;
 import org.testcontainers.images.builder.traits.StringsTrait;
 import org.testcontainers.utility.Base58;
+import org.testcontainers.utility.DockerImageName;
 import org.testcontainers.utility.DockerLoggerFactory;
 import org.testcontainers.utility.LazyFuture;
+import org.testcontainers.utility.MountableFile;
 import org.testcontainers.utility.ResourceReaper;
+import org.testcontainers.utility.TestcontainersConfiguration;
 
 import java.io.IOException;
 import java.io.PipedInputStream;
 import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.zip.GZIPOutputStream;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
 
 @Slf4j
 @Getter
@@ -43,6 +64,11 @@ public class ImageFromDockerfile extends LazyFuture<String> implements
         StringsTrait<ImageFromDockerfile>,
         DockerfileTrait<ImageFromDockerfile> {
 
+    /**
+     * Repository of the tags identifying built images by the hash of their content
+     */
+    private static final String BUILD_CACHE_REPOSITORY = "testcontainers/build-cache";
+
     private final String dockerImageName;
 
     private boolean deleteOnExit = true;
@@ -88,6 +114,22 @@ public class ImageFromDockerfile extends LazyFuture<String> implements
                 ResourceReaper.instance().registerImageForCleanup(dockerImageName);
             }
 
+            Set<String> baseImageNames = getBaseImageNames();
+            prePullDependencyImages(baseImageNames);
+
+            // images deleted on exit can't be reused, so their content is not even hashed
+            String cacheTag = null;
+            if (TestcontainersConfiguration.getInstance().isImageBuildCacheEnabled() && !deleteOnExit && !overridesConfigure()) {
+                cacheTag = BUILD_CACHE_REPOSITORY + ":" + getContentHash(getImageIds(dockerClient, baseImageNames));
+
+                String cachedImageId = findImageId(dockerClient, cacheTag);
+                if (cachedImageId != null) {
+                    logger.info("Reusing image {}, built from the same Dockerfile and files", cacheTag);
+                    tag(dockerClient, cachedImageId, dockerImageName);
+                    return dockerImageName;
+                }
+            }
+
             BuildImageResultCallback resultCallback = new BuildImageResultCallback() {
                 @Override
                 public void onNext(BuildResponseItem item) {
@@ -102,7 +144,7 @@ public class ImageFromDockerfile extends LazyFuture<String> implements
             };
 
             // We have to use pipes to avoid high memory consumption since users might want to build really big images
-            @Cleanup PipedInputStream in = new PipedInputStream();
+            @Cleanup PipedInputStream in = new PipedInputStream(BuildContextWriter.BUFFER_SIZE);
             @Cleanup PipedOutputStream out = new PipedOutputStream(in);
 
             BuildImageCmd buildImageCmd = dockerClient.buildImageCmd(in);
@@ -114,31 +156,22 @@ public class ImageFromDockerfile extends LazyFuture<String> implements
             labels.putAll(DockerClientFactory.DEFAULT_LABELS);
             buildImageCmd.withLabels(labels);
 
-            prePullDependencyImages(dependencyImageNames);
-
             BuildImageResultCallback exec = buildImageCmd.exec(resultCallback);
 
-            long bytesToDockerDaemon = 0;
-
             // To build an image, we have to send the context to Docker in TAR archive format
-            try (TarArchiveOutputStream tarArchive = new TarArchiveOutputStream(new GZIPOutputStream(out))) {
-                tarArchive.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
-
-                for (Map.Entry<String, Transferable> entry : transferables.entrySet()) {
-                    Transferable transferable = entry.getValue();
-                    final String destination = entry.getKey();
-                    transferable.transferTo(tarArchive, destination);
-                    bytesToDockerDaemon += transferable.getSize();
-                }
-                tarArchive.finish();
-            }
+            long bytesToDockerDaemon = new BuildContextWriter(getCompressionLevel()).write(transferables, out);
+            out.close();
 
             log.info("Transferred {} to Docker daemon", FileUtils.byteCountToDisplaySize(bytesToDockerDaemon));
             if (bytesToDockerDaemon > FileUtils.ONE_MB * 50) // warn if >50MB sent to docker daemon
                 log.warn("A large amount of data was sent to the Docker daemon ({}). Consider using a .dockerignore file for better performance.",
                         FileUtils.byteCountToDisplaySize(bytesToDockerDaemon));
 
-            exec.awaitImageId();
+            String imageId = exec.awaitImageId();
+
+            if (cacheTag != null) {
+                tag(dockerClient, imageId, cacheTag);
+            }
 
             return dockerImageName;
         } catch(IOException e) {
@@ -146,6 +179,19 @@ public class ImageFromDockerfile extends LazyFuture<String> implements
         }
     }
 
+    /**
+     * @return the gzip level of the build context, {@link Deflater#NO_COMPRESSION} to send it uncompressed
+     */
+    private static int getCompressionLevel() {
+        String compression = TestcontainersConfiguration.getInstance().getBuildContextCompression();
+        if ("auto".equalsIgnoreCase(compression)) {
+            // compressing only pays off when the context is sent over the network
+            String scheme = DockerClientFactory.instance().getTransportConfig().getDockerHost().getScheme();
+            return "unix".equals(scheme) || "npipe".equals(scheme) ? Deflater.NO_COMPRESSION : Deflater.BEST_SPEED;
+        }
+        return Integer.parseInt(compression);
+    }
+
     protected void configure(BuildImageCmd buildImageCmd) {
         buildImageCmd.withTag(this.getDockerImageName());
         this.dockerFilePath.ifPresent(buildImageCmd::withDockerfilePath);
@@ -163,6 +209,161 @@ public class ImageFromDockerfile extends LazyFuture<String> implements
         this.buildArgs.forEach(buildImageCmd::withBuildArg);
     }
 
+    /**
+     * @return whether a subclass customizes the build in {@link #configure(BuildImageCmd)}, possibly depending on
+     * state that the content hash can't cover
+     */
+    private boolean overridesConfigure() {
+        for (Class<?> type = getClass(); type != ImageFromDockerfile.class; type = type.getSuperclass()) {
+            try {
+                type.getDeclaredMethod("configure", BuildImageCmd.class);
+                log.debug("Not using the build cache for {}, {} overrides configure()", dockerImageName, type.getName());
+                return true;
+            } catch (NoSuchMethodException e) {
+                // not overridden on this level
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Computes a hash of everything the built image depends on: the Dockerfile, the files of the build context
+     * (the files of the directory of the Dockerfile not excluded by its .dockerignore file, with
+     * {@link #withDockerfile(Path)}), the build arguments and the base images.
+     */
+    @VisibleForTesting
+    String getContentHash(Collection<String> dependencyImageIds) {
+        Hasher hasher = Hashing.sha256().newHasher();
+
+        try (HashingTarArchiveOutputStream hashingStream = new HashingTarArchiveOutputStream(hasher)) {
+            // subclasses may configure the build differently
+            hasher.putString(getClass().getName(), StandardCharsets.UTF_8);
+
+            new TreeMap<>(transferables).forEach((destination, transferable) -> transferable.transferTo(hashingStream, destination));
+
+            new TreeMap<>(buildArgs).forEach((key, value) -> {
+                Transferable.of(value.getBytes(StandardCharsets.UTF_8)).transferTo(hashingStream, "build-arg:" + key);
+            });
+            dockerFilePath.ifPresent(it -> Transferable.of(it.getBytes(StandardCharsets.UTF_8)).transferTo(hashingStream, "dockerfile-path"));
+            dockerfile.ifPresent(it -> {
+                MountableFile.forHostPath(it).transferTo(hashingStream, "dockerfile");
+                // the daemon gets the directory of the Dockerfile as the build context, not the transferables
+                getBuildContextFiles(it).forEach((destination, file) -> {
+                    MountableFile.forHostPath(file).transferTo(hashingStream, "context/" + destination);
+                });
+            });
+
+            new TreeSet<>(dependencyImageIds).forEach(it -> {
+                Transferable.of(it.getBytes(StandardCharsets.UTF_8)).transferTo(hashingStream, "dependency");
+            });
+        }
+
+        return hasher.hash().toString().substring(0, 32);
+    }
+
+    /**
+     * @return the files sent as the build context of a Dockerfile on disk, by their path in the context: the files of
+     * its directory, except those excluded by its .dockerignore file
+     */
+    @SneakyThrows(IOException.class)
+    private static SortedMap<String, Path> getBuildContextFiles(Path dockerfile) {
+        Path contextDirectory = dockerfile.toAbsolutePath().getParent();
+        List<String> ignores = new Dockerfile(dockerfile.toFile(), contextDirectory.toFile()).getIgnores();
+
+        SortedMap<String, Path> files = new TreeMap<>();
+        try (Stream<Path> paths = Files.walk(contextDirectory)) {
+            paths.filter(Files::isRegularFile).forEach(path -> {
+                String relativePath = FilenameUtils.separatorsToUnix(contextDirectory.relativize(path).toString());
+                if (!isIgnored(ignores, relativePath)) {
+                    files.put(relativePath, path);
+                }
+            });
+        }
+        return files;
+    }
+
+    /**
+     * As with Docker, the last pattern matching the path or one of its parent directories decides whether it is
+     * ignored, patterns starting with {@code !} including paths again
+     */
+    private static boolean isIgnored(List<String> ignores, String relativePath) {
+        boolean ignored = false;
+        for (String pattern : ignores) {
+            boolean exception = pattern.startsWith("!");
+            String goLangPattern = exception ? pattern.substring(1) : pattern;
+            for (String path = relativePath; !path.isEmpty(); path = path.substring(0, Math.max(path.lastIndexOf('/'), 0))) {
+                if (GoLangFileMatch.match(goLangPattern, path)) {
+                    ignored = !exception;
+                    break;
+                }
+            }
+        }
+        return ignored;
+    }
+
+    /**
+     * @return the images this image is built {@code FROM}, whether the Dockerfile is on disk or part of the build context
+     */
+    Set<String> getBaseImageNames() {
+        if (dockerfile.isPresent()) {
+            return new ParsedDockerfile(dockerfile.get()).getDependencyImageNames();
+        }
+
+        String contextPath = dockerFilePath.orElse("Dockerfile");
+        Transferable contextDockerfile = transferables.get(contextPath);
+        if (contextDockerfile instanceof MountableFile) {
+            return new ParsedDockerfile(Paths.get(((MountableFile) contextDockerfile).getResolvedPath())).getDependencyImageNames();
+        }
+        if (contextDockerfile != null) {
+            String content = new String(contextDockerfile.getBytes(), StandardCharsets.UTF_8);
+            return new ParsedDockerfile(Arrays.asList(content.split("\\r?\\n"))).getDependencyImageNames();
+        }
+
+        // the Dockerfile may be part of a directory added to the context, e.g. withFileFromPath(".", directory)
+        for (Map.Entry<String, Transferable> entry : transferables.entrySet()) {
+            if (!(entry.getValue() instanceof MountableFile)) {
+                continue;
+            }
+            Path directory = Paths.get(((MountableFile) entry.getValue()).getResolvedPath());
+            Path relativeDirectory = Paths.get(entry.getKey()).normalize();
+            Path relativeDockerfile = Paths.get(contextPath).normalize();
+            boolean contextRoot = relativeDirectory.toString().isEmpty();
+            if (Files.isDirectory(directory) && (contextRoot || relativeDockerfile.startsWith(relativeDirectory))) {
+                Path pathInDirectory = contextRoot ? relativeDockerfile : relativeDirectory.relativize(relativeDockerfile);
+                Path candidate = directory.resolve(pathInDirectory.toString());
+                if (Files.isRegularFile(candidate)) {
+                    return new ParsedDockerfile(candidate).getDependencyImageNames();
+                }
+            }
+        }
+        return Collections.emptySet();
+    }
+
+    private Set<String> getImageIds(DockerClient dockerClient, Set<String> imageNames) {
+        return imageNames.stream()
+            .map(imageName -> {
+                String imageId = findImageId(dockerClient, imageName);
+                // a base image we can't find locally still has to take part in the hash
+                return imageId != null ? imageId : imageName;
+            })
+            .collect(Collectors.toSet());
+    }
+
+    private static String findImageId(DockerClient dockerClient, String imageName) {
+        try {
+            return dockerClient.inspectImageCmd(imageName).exec().getId();
+        } catch (NotFoundException e) {
+            return null;
+        }
+    }
+
+    private static void tag(DockerClient dockerClient, String imageId, String imageName) {
+        DockerImageName parsedName = DockerImageName.parse(imageName);
+        dockerClient.tagImageCmd(imageId, parsedName.getUnversionedPart(), parsedName.getVersionPart())
+            .withForce()
+            .exec();
+    }
+
     private void prePullDependencyImages(Set<String> imagesToPull) {
         final DockerClient dockerClient = DockerClientFactory.instance().client();
 
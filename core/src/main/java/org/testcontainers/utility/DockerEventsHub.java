@@ -0,0 +1,326 @@
+package org.testcontainers.utility;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.command.EventsCmd;
+import com.github.dockerjava.api.model.Event;
+import com.github.dockerjava.api.model.EventType;
+import com.google.common.annotations.VisibleForTesting;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.Nullable;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.UnstableAPI;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Single, JVM-wide subscription to the Docker events of Testcontainers-managed resources, which dispatches them to
+ * the registered listeners instead of every subsystem polling the daemon on its own.
+ * <p>
+ * The subscription is opened when the first listener is added and re-opened automatically if the stream breaks,
+ * resuming from the last received event. Image events, which are not labelled, use a second stream that is only
+ * opened once an {@link EventType#IMAGE} listener is added. Events of the last {@link #REPLAY_WINDOW} are kept and replayed to new
+ * listeners, so that e.g. a "die" event that happened just before a listener was added is not missed.
+ * <p>
+ * Listeners are called on the event stream thread (or on the registering thread while replaying) and must not block.
+ */
+@Slf4j
+@UnstableAPI
+public final class DockerEventsHub {
+
+    @VisibleForTesting
+    static final Duration REPLAY_WINDOW = Duration.ofSeconds(30);
+
+    private static final int MAX_REPLAYED_EVENTS = 10_000;
+
+    private static final Duration MIN_RECONNECT_DELAY = Duration.ofSeconds(1);
+
+    private static final Duration MAX_RECONNECT_DELAY = Duration.ofSeconds(30);
+
+    private static DockerEventsHub instance;
+
+    private final DockerClient dockerClient;
+
+    private final List<Registration> registrations = new CopyOnWriteArrayList<>();
+
+    private final Deque<Event> recentEvents = new ArrayDeque<>();
+
+    private final ScheduledExecutorService reconnectExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(DockerClientFactory.TESTCONTAINERS_THREAD_GROUP, runnable, "testcontainers-events-reconnect");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final EventStream labelledStream;
+
+    private final EventStream imageStream;
+
+    private boolean closed = false;
+
+    @VisibleForTesting
+    DockerEventsHub(DockerClient dockerClient, Map<String, String> labelFilter) {
+        this.dockerClient = dockerClient;
+        this.labelledStream = new EventStream("labelled", cmd -> cmd.withLabelFilter(labelFilter));
+        // images don't carry the labels of the containers created from them
+        this.imageStream = new EventStream("image", cmd -> cmd.withEventTypeFilter("image"));
+    }
+
+    public static synchronized DockerEventsHub instance() {
+        if (instance == null) {
+            instance = new DockerEventsHub(
+                DockerClientFactory.lazyClient(),
+                Collections.singletonMap(DockerClientFactory.TESTCONTAINERS_LABEL, "true")
+            );
+        }
+        return instance;
+    }
+
+    /**
+     * Registers a listener for all events of the given type.
+     * <p>
+     * Only the events of objects labelled by Testcontainers are received, except for {@link EventType#IMAGE}
+     * events which are received for all images.
+     *
+     * @return the registration, to be closed once the listener is not needed anymore
+     */
+    public Registration addListener(EventType type, Consumer<Event> listener) {
+        return addListener(type, null, listener);
+    }
+
+    /**
+     * Registers a listener for the events of the given type and Docker object (e.g. container).
+     *
+     * @param actorId the ID (or ID prefix) of the object, or null to receive the events of all objects
+     * @return the registration, to be closed once the listener is not needed anymore
+     */
+    public Registration addListener(EventType type, @Nullable String actorId, Consumer<Event> listener) {
+        Registration registration = new Registration(type, actorId, listener);
+
+        List<Event> replay;
+        synchronized (this) {
+            (type == EventType.IMAGE ? imageStream : labelledStream).start();
+            registrations.add(registration);
+            replay = new ArrayList<>(recentEvents);
+        }
+
+        for (Event event : replay) {
+            registration.dispatch(event);
+        }
+        return registration;
+    }
+
+    /**
+     * Closes the subscription, no more events will be dispatched.
+     */
+    public synchronized void close() {
+        closed = true;
+        reconnectExecutor.shutdownNow();
+        labelledStream.close();
+        imageStream.close();
+    }
+
+    private void dispatch(Event event) {
+        List<Registration> targets;
+        synchronized (this) {
+            long timeNano = getTimeNano(event);
+            recentEvents.addLast(event);
+            while (
+                recentEvents.size() > MAX_REPLAYED_EVENTS ||
+                    getTimeNano(recentEvents.peekFirst()) < timeNano - REPLAY_WINDOW.toNanos()
+            ) {
+                recentEvents.removeFirst();
+            }
+
+            targets = new ArrayList<>(registrations);
+        }
+
+        for (Registration registration : targets) {
+            registration.dispatch(event);
+        }
+    }
+
+    /**
+     * A single, automatically reconnecting, stream of events. All state is guarded by the hub's lock.
+     */
+    private final class EventStream {
+
+        private final String name;
+
+        private final UnaryOperator<EventsCmd> filter;
+
+        private boolean started = false;
+
+        private Closeable stream;
+
+        private long lastEventTimeNano = 0;
+
+        private String lastEventKey;
+
+        private Duration reconnectDelay = MIN_RECONNECT_DELAY;
+
+        EventStream(String name, UnaryOperator<EventsCmd> filter) {
+            this.name = name;
+            this.filter = filter;
+        }
+
+        void start() {
+            if (!started) {
+                started = true;
+                connect();
+            }
+        }
+
+        private void connect() {
+            synchronized (DockerEventsHub.this) {
+                if (closed) {
+                    return;
+                }
+
+                long sinceNano = lastEventTimeNano > 0
+                    ? lastEventTimeNano
+                    : TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis()) - REPLAY_WINDOW.toNanos();
+
+                try {
+                    stream = filter.apply(dockerClient.eventsCmd())
+                        .withSince(toTimestamp(sinceNano))
+                        .exec(new ResultCallback.Adapter<Event>() {
+                            @Override
+                            public void onNext(Event event) {
+                                handle(event);
+                            }
+
+                            @Override
+                            public void onError(Throwable throwable) {
+                                log.debug("Docker {} event stream failed", name, throwable);
+                                super.onError(throwable);
+                                scheduleReconnect();
+                            }
+
+                            @Override
+                            public void onComplete() {
+                                super.onComplete();
+                                scheduleReconnect();
+                            }
+                        });
+                } catch (Exception e) {
+                    log.debug("Could not subscribe to Docker {} events", name, e);
+                    scheduleReconnect();
+                }
+            }
+        }
+
+        private void scheduleReconnect() {
+            synchronized (DockerEventsHub.this) {
+                if (closed) {
+                    return;
+                }
+                close();
+
+                log.debug("Will reconnect to the Docker {} event stream in {}s", name, reconnectDelay.getSeconds());
+                reconnectExecutor.schedule(this::connect, reconnectDelay.toMillis(), TimeUnit.MILLISECONDS);
+                reconnectDelay = reconnectDelay.multipliedBy(2).compareTo(MAX_RECONNECT_DELAY) > 0
+                    ? MAX_RECONNECT_DELAY
+                    : reconnectDelay.multipliedBy(2);
+            }
+        }
+
+        private void handle(Event event) {
+            synchronized (DockerEventsHub.this) {
+                reconnectDelay = MIN_RECONNECT_DELAY;
+
+                long timeNano = getTimeNano(event);
+                String key = event.getType() + "/" + getActorId(event) + "/" + event.getStatus();
+                // after a reconnect, the stream starts again at the last received event
+                if (timeNano < lastEventTimeNano || (timeNano == lastEventTimeNano && key.equals(lastEventKey))) {
+                    return;
+                }
+                lastEventTimeNano = timeNano;
+                lastEventKey = key;
+            }
+
+            dispatch(event);
+        }
+
+        void close() {
+            if (stream != null) {
+                try {
+                    stream.close();
+                } catch (Exception e) {
+                    log.trace("Failed to close Docker {} event stream", name, e);
+                }
+                stream = null;
+            }
+        }
+    }
+
+    private static long getTimeNano(Event event) {
+        if (event.getTimeNano() != null) {
+            return event.getTimeNano();
+        }
+        return event.getTime() != null ? TimeUnit.SECONDS.toNanos(event.getTime()) : 0;
+    }
+
+    @Nullable
+    private static String getActorId(Event event) {
+        if (event.getActor() != null && event.getActor().getId() != null) {
+            return event.getActor().getId();
+        }
+        return event.getId();
+    }
+
+    private static String toTimestamp(long timeNano) {
+        return String.format("%d.%09d", TimeUnit.NANOSECONDS.toSeconds(timeNano), timeNano % 1_000_000_000L);
+    }
+
+    public final class Registration implements AutoCloseable {
+
+        private final EventType type;
+
+        @Nullable
+        private final String actorId;
+
+        private final Consumer<Event> listener;
+
+        private Registration(EventType type, @Nullable String actorId, Consumer<Event> listener) {
+            this.type = type;
+            this.actorId = actorId;
+            this.listener = listener;
+        }
+
+        private void dispatch(Event event) {
+            if (event.getType() != type) {
+                return;
+            }
+            if (actorId != null) {
+                String eventActorId = getActorId(event);
+                if (eventActorId == null || !eventActorId.startsWith(actorId)) {
+                    return;
+                }
+            }
+
+            try {
+                listener.accept(event);
+            } catch (Exception e) {
+                log.warn("Docker event listener failed on {}", event, e);
+            }
+        }
+
+        @Override
+        public void close() {
+            registrations.remove(this);
+        }
+    }
+}
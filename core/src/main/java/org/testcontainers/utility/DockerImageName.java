@@ -1,6 +1,9 @@
 package org.testcontainers.utility;
 
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.net.HostAndPort;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -11,17 +14,20 @@ import org.jetbrains.annotations.Nullable;
 import org.testcontainers.utility.Versioning.Sha256Versioning;
 import org.testcontainers.utility.Versioning.TagVersioning;
 
-import java.util.regex.Pattern;
 
 @EqualsAndHashCode(exclude = { "rawName", "compatibleSubstituteFor" })
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
 public final class DockerImageName {
 
-    /* Regex patterns used for validation */
-    private static final String ALPHA_NUMERIC = "[a-z0-9]+";
-    private static final String SEPARATOR = "([.]|_{1,2}|-+)";
-    private static final String REPO_NAME_PART = ALPHA_NUMERIC + "(" + SEPARATOR + ALPHA_NUMERIC + ")*";
-    private static final Pattern REPO_NAME = Pattern.compile(REPO_NAME_PART + "(/" + REPO_NAME_PART + ")*");
+    private static final String SHA256_SEPARATOR = "@sha256:";
+    private static final String LOCALHOST = "localhost";
+
+    /**
+     * Recently parsed names, as e.g. the same names are parsed by every container and pull policy check
+     */
+    private static final Cache<String, DockerImageName> PARSED_NAMES = CacheBuilder.newBuilder()
+        .maximumSize(4096)
+        .build();
 
     private final String rawName;
     private final String registry;
@@ -33,13 +39,47 @@ public final class DockerImageName {
 
     /**
      * Parses a docker image name from a provided string.
+     * <p>
+     * Image names are immutable, so the most recently parsed ones are cached and the same instance is returned when
+     * the same string is parsed again.
      *
      * @param fullImageName in standard Docker format, e.g. <code>name:tag</code>,
      *                      <code>some.registry/path/name:tag</code>,
      *                      <code>some.registry/path/name@sha256:abcdef...</code>, etc.
      */
     public static DockerImageName parse(String fullImageName) {
-        return new DockerImageName(fullImageName);
+        DockerImageName imageName = PARSED_NAMES.getIfPresent(fullImageName);
+        if (imageName == null) {
+            imageName = parseUncached(fullImageName);
+            PARSED_NAMES.put(fullImageName, imageName);
+        }
+        return imageName;
+    }
+
+    @VisibleForTesting
+    static DockerImageName parseUncached(String fullImageName) {
+        final int slashIndex = getRegistrySlashIndex(fullImageName);
+        final String registry = slashIndex == -1 ? "" : fullImageName.substring(0, slashIndex);
+
+        final String repo;
+        final Versioning versioning;
+        final int digestIndex = fullImageName.indexOf(SHA256_SEPARATOR, slashIndex + 1);
+        final int tagIndex = fullImageName.indexOf(':', slashIndex + 1);
+        if (digestIndex != -1) {
+            repo = fullImageName.substring(slashIndex + 1, digestIndex);
+            final int hashStart = digestIndex + SHA256_SEPARATOR.length();
+            final int hashEnd = fullImageName.indexOf(SHA256_SEPARATOR, hashStart);
+            versioning = new Sha256Versioning(fullImageName.substring(hashStart, hashEnd == -1 ? fullImageName.length() : hashEnd));
+        } else if (tagIndex != -1) {
+            repo = fullImageName.substring(slashIndex + 1, tagIndex);
+            final int tagEnd = fullImageName.indexOf(':', tagIndex + 1);
+            versioning = new TagVersioning(fullImageName.substring(tagIndex + 1, tagEnd == -1 ? fullImageName.length() : tagEnd));
+        } else {
+            repo = fullImageName.substring(slashIndex + 1);
+            versioning = Versioning.ANY;
+        }
+
+        return new DockerImageName(fullImageName, registry, repo, versioning, null);
     }
 
     /**
@@ -52,33 +92,12 @@ public final class DockerImageName {
      */
     @Deprecated
     public DockerImageName(String fullImageName) {
+        final DockerImageName parsed = parse(fullImageName);
         this.rawName = fullImageName;
-        final int slashIndex = fullImageName.indexOf('/');
-
-        String remoteName;
-        if (slashIndex == -1 ||
-            (!fullImageName.substring(0, slashIndex).contains(".") &&
-                !fullImageName.substring(0, slashIndex).contains(":") &&
-                !fullImageName.substring(0, slashIndex).equals("localhost"))) {
-            registry = "";
-            remoteName = fullImageName;
-        } else {
-            registry = fullImageName.substring(0, slashIndex);
-            remoteName = fullImageName.substring(slashIndex + 1);
-        }
-
-        if (remoteName.contains("@sha256:")) {
-            repo = remoteName.split("@sha256:")[0];
-            versioning = new Sha256Versioning(remoteName.split("@sha256:")[1]);
-        } else if (remoteName.contains(":")) {
-            repo = remoteName.split(":")[0];
-            versioning = new TagVersioning(remoteName.split(":")[1]);
-        } else {
-            repo = remoteName;
-            versioning = Versioning.ANY;
-        }
-
-        compatibleSubstituteFor = null;
+        this.registry = parsed.registry;
+        this.repo = parsed.repo;
+        this.versioning = parsed.versioning;
+        this.compatibleSubstituteFor = null;
     }
 
     /**
@@ -95,31 +114,38 @@ public final class DockerImageName {
     @Deprecated
     public DockerImageName(String nameWithoutTag, @NotNull String version) {
         this.rawName = nameWithoutTag;
-        final int slashIndex = nameWithoutTag.indexOf('/');
-
-        String remoteName;
-        if (slashIndex == -1 ||
-            (!nameWithoutTag.substring(0, slashIndex).contains(".") &&
-                !nameWithoutTag.substring(0, slashIndex).contains(":") &&
-                !nameWithoutTag.substring(0, slashIndex).equals("localhost"))) {
-            registry = "";
-            remoteName = nameWithoutTag;
-        } else {
-            registry = nameWithoutTag.substring(0, slashIndex);
-            remoteName = nameWithoutTag.substring(slashIndex + 1);
-        }
+        final int slashIndex = getRegistrySlashIndex(nameWithoutTag);
+        registry = slashIndex == -1 ? "" : nameWithoutTag.substring(0, slashIndex);
+        repo = nameWithoutTag.substring(slashIndex + 1);
 
         if (version.startsWith("sha256:")) {
-            repo = remoteName;
             versioning = new Sha256Versioning(version.replace("sha256:", ""));
         } else {
-            repo = remoteName;
             versioning = new TagVersioning(version);
         }
 
         compatibleSubstituteFor = null;
     }
 
+    /**
+     * @return the index of the slash after the registry, or -1 if the name does not start with a registry (i.e. a
+     * host name, with a dot or a port, or {@code localhost})
+     */
+    private static int getRegistrySlashIndex(String name) {
+        final int slashIndex = name.indexOf('/');
+        if (slashIndex == -1) {
+            return -1;
+        }
+
+        for (int i = 0; i < slashIndex; i++) {
+            char c = name.charAt(i);
+            if (c == '.' || c == ':') {
+                return slashIndex;
+            }
+        }
+        return slashIndex == LOCALHOST.length() && name.startsWith(LOCALHOST) ? slashIndex : -1;
+    }
+
     /**
      * @return the unversioned (non 'tag') part of this name
      */
@@ -158,7 +184,7 @@ public final class DockerImageName {
     public void assertValid() {
         //noinspection UnstableApiUsage
         HostAndPort.fromString(registry); // return value ignored - this throws if registry is not a valid host:port string
-        if (!REPO_NAME.matcher(repo).matches()) {
+        if (!isValidRepoName(repo)) {
             throw new IllegalArgumentException(repo + " is not a valid Docker image name (in " + rawName + ")");
         }
         if (!versioning.isValid()) {
@@ -166,6 +192,47 @@ public final class DockerImageName {
         }
     }
 
+    /**
+     * Checks the repository name, i.e. path components separated by <code>/</code>, each made of lowercase
+     * alphanumeric characters separated by a period, one or two underscores, or dashes.
+     */
+    @VisibleForTesting
+    static boolean isValidRepoName(String repo) {
+        final int length = repo.length();
+        // whether the previous character is alphanumeric, as components and separators must start and end with one
+        boolean afterAlphaNumeric = false;
+        for (int i = 0; i < length; i++) {
+            char c = repo.charAt(i);
+            if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                afterAlphaNumeric = true;
+                continue;
+            }
+            if (!afterAlphaNumeric) {
+                return false;
+            }
+            afterAlphaNumeric = false;
+
+            switch (c) {
+                case '/':
+                case '.':
+                    break;
+                case '_':
+                    if (i + 1 < length && repo.charAt(i + 1) == '_') {
+                        i++;
+                    }
+                    break;
+                case '-':
+                    while (i + 1 < length && repo.charAt(i + 1) == '-') {
+                        i++;
+                    }
+                    break;
+                default:
+                    return false;
+            }
+        }
+        return afterAlphaNumeric;
+    }
+
     public String getRegistry() {
         return registry;
     }
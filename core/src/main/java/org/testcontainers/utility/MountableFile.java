@@ -1,6 +1,7 @@
 package org.testcontainers.utility;
 
 import com.google.common.base.Charsets;
+import com.google.common.hash.Hashing;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -9,6 +10,7 @@ import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
 import org.apache.commons.compress.archivers.tar.TarConstants;
 import org.apache.commons.lang.SystemUtils;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.testcontainers.DockerClientFactory;
 import org.testcontainers.UnstableAPI;
 import org.testcontainers.images.builder.Transferable;
@@ -16,17 +18,41 @@ import org.testcontainers.images.builder.Transferable;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.UncheckedIOException;
 import java.io.UnsupportedEncodingException;
 import java.net.URL;
 import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystemLoopException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
+import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.time.Duration;
+import java.util.EnumSet;
 import java.util.Enumeration;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 import java.util.jar.JarEntry;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.jar.JarFile;
 
 import static lombok.AccessLevel.PACKAGE;
@@ -41,9 +67,20 @@ import static org.testcontainers.utility.PathUtils.recursiveDeleteDir;
 public class MountableFile implements Transferable {
 
     private static final String TESTCONTAINERS_TMP_DIR_PREFIX = ".testcontainers-tmp-";
+    private static final String TESTCONTAINERS_CACHE_DIR_PREFIX = ".testcontainers-extracted-";
     private static final String OS_MAC_TMP_DIR = "/tmp";
     private static final int BASE_FILE_MODE = 0100000;
     private static final int BASE_DIR_MODE = 0040000;
+    private static final int COPY_BUFFER_SIZE = 256 * 1024;
+
+    /**
+     * Extracted resources that were not used for this long are deleted from the extraction cache
+     */
+    private static final Duration EXTRACTION_CACHE_MAX_AGE = Duration.ofDays(7);
+    private static final Set<PosixFilePermission> OWNER_ONLY = PosixFilePermissions.fromString("rwx------");
+    private static final AtomicBoolean EXTRACTION_CACHE_EVICTED = new AtomicBoolean(false);
+
+    private static final ThreadLocal<byte[]> COPY_BUFFER = ThreadLocal.withInitial(() -> new byte[COPY_BUFFER_SIZE]);
 
     private final String path;
     private final Integer forcedFileMode;
@@ -178,6 +215,26 @@ public class MountableFile implements Transferable {
         return result;
     }
 
+    /**
+     * Obtain a path like {@link #getResolvedPath()}, except that a classpath resource residing in a JAR is extracted to
+     * a new temporary location of its own rather than to the extraction cache reused by subsequent runs, e.g. for mounts
+     * that containers may write to.
+     *
+     * @return a volume-mountable path.
+     */
+    @UnstableAPI
+    public String getPrivateResolvedPath() {
+        if (!path.contains(".jar!")) {
+            return getResolvedPath();
+        }
+
+        String result = extractClassPathResourceToNewTempLocation(path);
+        if (SystemUtils.IS_OS_WINDOWS && result.startsWith("/")) {
+            result = result.substring(1);
+        }
+        return result;
+    }
+
     /**
      * Obtain a path in local filesystem that the Docker daemon should be able to use to volume mount a file/resource
      * into a container. If this is a classpath resource residing in a JAR, it will be extracted to
@@ -214,10 +271,159 @@ public class MountableFile implements Transferable {
      * @return the path of the temporary file/directory
      */
     private String extractClassPathResourceToTempLocation(final String hostPath) {
+        if (TestcontainersConfiguration.getInstance().isClasspathExtractionCacheEnabled()) {
+            Path cacheDirectory = getExtractionCacheDirectory();
+            if (cacheDirectory != null) {
+                return extractClassPathResourceToCache(hostPath, cacheDirectory);
+            }
+        }
+        return extractClassPathResourceToNewTempLocation(hostPath);
+    }
+
+    /**
+     * Extract a file or directory tree from a JAR file to a new temporary location, deleted when the JVM exits.
+     */
+    private String extractClassPathResourceToNewTempLocation(final String hostPath) {
         File tmpLocation = createTempDirectory();
         //noinspection ResultOfMethodCallIgnored
         tmpLocation.delete();
 
+        extractClassPathResource(hostPath, tmpLocation);
+
+        // Mark temporary files/dirs for deletion at JVM shutdown
+        deleteOnExit(tmpLocation.toPath());
+
+        try {
+            return tmpLocation.getCanonicalPath();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Extract a file or directory tree from a JAR file to a location shared by all JVMs, which is kept for as long as
+     * the JAR file does not change, so that subsequent runs don't need to extract it again.
+     * <p>
+     * The resource is extracted to a temporary location first, then atomically moved to its final location, so that
+     * concurrent JVMs never see a partially extracted resource.
+     *
+     * @param hostPath       the path on the host, expected to be of the format 'file:/path/to/some.jar!/classpath/path/to/resource'
+     * @param cacheDirectory the directory of the current user's extracted resources
+     * @return the path of the extracted file/directory
+     */
+    private String extractClassPathResourceToCache(final String hostPath, final Path cacheDirectory) {
+        File jarFile = new File(unencodeResourceURIToFilePath(hostPath));
+        String internalPath = hostPath.replaceAll("[^!]*!/", "");
+
+        String key = Hashing.sha256().newHasher()
+            .putString(jarFile.getAbsolutePath(), StandardCharsets.UTF_8)
+            .putLong(jarFile.length())
+            .putLong(jarFile.lastModified())
+            .putString(internalPath, StandardCharsets.UTF_8)
+            .hash()
+            .toString()
+            .substring(0, 32);
+
+        Path cachedLocation = cacheDirectory.resolve(key);
+
+        try {
+            if (!Files.exists(cachedLocation)) {
+                Path tmpDirectory = Files.createTempDirectory(cacheDirectory, key + ".tmp-");
+                try {
+                    File tmpLocation = tmpDirectory.resolve("resource").toFile();
+                    extractClassPathResource(hostPath, tmpLocation);
+
+                    if (tmpLocation.exists()) {
+                        try {
+                            Files.move(tmpLocation.toPath(), cachedLocation, StandardCopyOption.ATOMIC_MOVE);
+                        } catch (IOException e) {
+                            // another JVM may have extracted it in the meantime
+                            if (!Files.exists(cachedLocation)) {
+                                throw e;
+                            }
+                        }
+                    }
+                } finally {
+                    recursiveDeleteDir(tmpDirectory);
+                }
+            } else {
+                log.debug("Using classpath resource(s) from {} extracted to {}", hostPath, cachedLocation);
+                // the modification time tells when the resource was last used, see evictExtractionCache
+                Files.setLastModifiedTime(cachedLocation, FileTime.fromMillis(System.currentTimeMillis()));
+            }
+
+            return cachedLocation.toFile().getCanonicalPath();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to extract classpath resource " + hostPath + " to " + cachedLocation, e);
+        }
+    }
+
+    /**
+     * @return the directory of the current user's extracted resources, or null if it can't be used safely: as it is in
+     * the shared temporary directory, it must be a directory (not a link) owned by the current user, and only
+     * accessible by them, so that other users can't tamper with the extracted resources
+     */
+    @Nullable
+    private static Path getExtractionCacheDirectory() {
+        String tmpDir = SystemUtils.IS_OS_MAC ? OS_MAC_TMP_DIR : System.getProperty("java.io.tmpdir");
+        Path directory = Paths.get(tmpDir, TESTCONTAINERS_CACHE_DIR_PREFIX + System.getProperty("user.name").replaceAll("[^A-Za-z0-9._-]", "_"));
+
+        try {
+            if (!directory.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+                // e.g. Windows, where the temporary directory belongs to the user already
+                Files.createDirectories(directory);
+            } else {
+                try {
+                    Files.createDirectory(directory, PosixFilePermissions.asFileAttribute(OWNER_ONLY));
+                } catch (FileAlreadyExistsException e) {
+                    // checked below
+                }
+
+                PosixFileAttributes attributes = Files.readAttributes(directory, PosixFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                UserPrincipal currentUser = directory.getFileSystem().getUserPrincipalLookupService()
+                    .lookupPrincipalByName(System.getProperty("user.name"));
+                if (!attributes.isDirectory() || !attributes.owner().equals(currentUser)) {
+                    log.warn("Not reusing extracted classpath resources, {} is not a directory owned by the current user", directory);
+                    return null;
+                }
+                if (!attributes.permissions().equals(OWNER_ONLY)) {
+                    Files.setPosixFilePermissions(directory, OWNER_ONLY);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Not reusing extracted classpath resources, {} can't be used", directory, e);
+            return null;
+        }
+
+        if (EXTRACTION_CACHE_EVICTED.compareAndSet(false, true)) {
+            evictExtractionCache(directory);
+        }
+        return directory;
+    }
+
+    /**
+     * Deletes the extracted resources that were not used for {@link #EXTRACTION_CACHE_MAX_AGE}, e.g. of JAR files
+     * that changed or are not used anymore, as well as leftovers of interrupted extractions.
+     */
+    private static void evictExtractionCache(Path directory) {
+        long oldestUse = System.currentTimeMillis() - EXTRACTION_CACHE_MAX_AGE.toMillis();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+            for (Path entry : entries) {
+                if (Files.getLastModifiedTime(entry, LinkOption.NOFOLLOW_LINKS).toMillis() < oldestUse) {
+                    log.debug("Deleting extracted classpath resource(s) {}, which were not used recently", entry);
+                    if (Files.isDirectory(entry, LinkOption.NOFOLLOW_LINKS)) {
+                        recursiveDeleteDir(entry);
+                    } else {
+                        Files.deleteIfExists(entry);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.debug("Failed to delete old extracted classpath resources from {}", directory, e);
+        }
+    }
+
+    private void extractClassPathResource(final String hostPath, final File location) {
         String urldecodedJarPath = unencodeResourceURIToFilePath(hostPath);
         String internalPath = hostPath.replaceAll("[^!]*!/", "");
 
@@ -230,23 +436,14 @@ public class MountableFile implements Transferable {
                 if (name.startsWith(internalPath)) {
                     log.debug("Copying classpath resource(s) from {} to {} to permit Docker to bind",
                             hostPath,
-                            tmpLocation);
-                    copyFromJarToLocation(jarFile, entry, internalPath, tmpLocation);
+                            location);
+                    copyFromJarToLocation(jarFile, entry, internalPath, location);
                 }
             }
 
         } catch (IOException e) {
             throw new IllegalStateException("Failed to process JAR file when extracting classpath resource: " + hostPath, e);
         }
-
-        // Mark temporary files/dirs for deletion at JVM shutdown
-        deleteOnExit(tmpLocation.toPath());
-
-        try {
-            return tmpLocation.getCanonicalPath();
-        } catch (IOException e) {
-            throw new IllegalStateException(e);
-        }
     }
 
     private File createTempDirectory() {
@@ -297,50 +494,138 @@ public class MountableFile implements Transferable {
      */
     @Override
     public void transferTo(final TarArchiveOutputStream outputStream, String destinationPathInTar) {
-        recursiveTar(destinationPathInTar, this.getResolvedPath(), this.getResolvedPath(), outputStream);
+        walkTarEntries(destinationPathInTar, (entryName, path, attributes) -> writeTarEntry(outputStream, entryName, path, attributes));
     }
 
-    /*
-     * Recursively copies a file/directory into a TarArchiveOutputStream
+    /**
+     * Lists the entries that {@link #transferTo} writes, one per file or directory, so that the files can be read
+     * independently (e.g. in parallel) while keeping the same names, modes and order.
+     *
+     * @param destinationPathInTar the path of this file or directory in the archive
+     * @return the entries, keyed by their path in the archive
      */
-    private void recursiveTar(String entryFilename, String rootPath, String itemPath, TarArchiveOutputStream tarArchive) {
-        try {
-            final File sourceFile = new File(itemPath).getCanonicalFile();     // e.g. /foo/bar/baz
-            final File sourceRootFile = new File(rootPath).getCanonicalFile();     // e.g. /foo
-            final String relativePathToSourceFile = sourceRootFile.toPath().relativize(sourceFile.toPath()).toFile().toString();    // e.g. /bar/baz
+    @UnstableAPI
+    public Map<String, Transferable> getTarEntries(String destinationPathInTar) {
+        Map<String, Transferable> entries = new LinkedHashMap<>();
+        walkTarEntries(destinationPathInTar, (entryName, path, attributes) -> entries.put(entryName, toTarEntry(path, attributes)));
+        return entries;
+    }
 
-            final String tarEntryFilename;
-            if (relativePathToSourceFile.isEmpty()) {
-                tarEntryFilename = entryFilename; // entry filename e.g. xyz => xyz
-            } else {
-                tarEntryFilename = entryFilename + "/" + relativePathToSourceFile; // entry filename e.g. /xyz/bar/baz => /foo/bar/baz
+    private Transferable toTarEntry(Path path, BasicFileAttributes attributes) {
+        return new Transferable() {
+            @Override
+            public long getSize() {
+                return attributes.isRegularFile() ? attributes.size() : 0;
             }
 
-            final TarArchiveEntry tarEntry = new TarArchiveEntry(sourceFile, tarEntryFilename.replaceAll("^/", ""));
+            @Override
+            public int getFileMode() {
+                return getUnixFileMode(path, attributes);
+            }
 
-            // TarArchiveEntry automatically sets the mode for file/directory, but we can update to ensure that the mode is set exactly (inc executable bits)
-            tarEntry.setMode(getUnixFileMode(itemPath));
-            tarArchive.putArchiveEntry(tarEntry);
+            @Override
+            public void transferTo(TarArchiveOutputStream tarArchive, String destination) {
+                try {
+                    writeTarEntry(tarArchive, destination, path, attributes);
+                } catch (IOException e) {
+                    log.error("Error when copying TAR file entry: {}", path, e);
+                    throw new UncheckedIOException(e);
+                }
+            }
 
-            if (sourceFile.isFile()) {
-                Files.copy(sourceFile.toPath(), tarArchive);
+            @Override
+            public String getDescription() {
+                return path.toString();
             }
-            // a directory entry merely needs to exist in the TAR file - there is no data stored yet
-            tarArchive.closeArchiveEntry();
-
-            final File[] children = sourceFile.listFiles();
-            if (children != null) {
-                // recurse into child files/directories
-                for (final File child : children) {
-                    recursiveTar(entryFilename, sourceRootFile.getCanonicalPath(), child.getCanonicalPath(), tarArchive);
+        };
+    }
+
+    /*
+     * Visits the file/directory and, recursively, its children, in a single walk that resolves the root path only once
+     */
+    private void walkTarEntries(String entryFilename, TarEntryVisitor visitor) {
+        final Path root;
+        try {
+            root = Paths.get(getResolvedPath()).toRealPath();    // e.g. /foo
+        } catch (IOException e) {
+            log.error("Error when copying TAR file entry: {}", getResolvedPath(), e);
+            throw new UncheckedIOException(e);
+        }
+
+        try {
+            Files.walkFileTree(root, EnumSet.of(FileVisitOption.FOLLOW_LINKS), Integer.MAX_VALUE, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attributes) throws IOException {
+                    visitor.visit(getTarEntryName(dir), dir, attributes);
+                    return FileVisitResult.CONTINUE;
                 }
-            }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) throws IOException {
+                    visitor.visit(getTarEntryName(file), file, attributes);
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException e) throws IOException {
+                    if (e instanceof FileSystemLoopException) {
+                        log.warn("Not copying {}, a symbolic link to one of its parent directories", file);
+                        return FileVisitResult.CONTINUE;
+                    }
+                    throw e;
+                }
+
+                private String getTarEntryName(Path path) {
+                    final String relativePath = root.relativize(path).toString();    // e.g. bar/baz
+                    if (relativePath.isEmpty()) {
+                        return entryFilename; // entry filename e.g. xyz => xyz
+                    }
+                    return entryFilename + "/" + relativePath; // entry filename e.g. /xyz/bar/baz => /foo/bar/baz
+                }
+            });
         } catch (IOException e) {
-            log.error("Error when copying TAR file entry: {}", itemPath, e);
+            log.error("Error when copying TAR file entry: {}", root, e);
             throw new UncheckedIOException(e); // fail fast
         }
     }
 
+    private void writeTarEntry(TarArchiveOutputStream tarArchive, String entryName, Path path, BasicFileAttributes attributes) throws IOException {
+        final String name = entryName.replaceAll("^/", "");
+        final TarArchiveEntry tarEntry = new TarArchiveEntry(attributes.isDirectory() && !name.endsWith("/") ? name + "/" : name);
+        tarEntry.setModTime(attributes.lastModifiedTime().toMillis());
+        // set from the attributes read while walking, without checking the file again
+        tarEntry.setSize(attributes.isRegularFile() ? attributes.size() : 0);
+        // ensure that the mode is set exactly (inc executable bits)
+        tarEntry.setMode(getUnixFileMode(path, attributes));
+        tarArchive.putArchiveEntry(tarEntry);
+
+        if (attributes.isRegularFile()) {
+            copyContent(path, attributes.size(), tarArchive);
+        }
+        // a directory entry merely needs to exist in the TAR file - there is no data stored yet
+        tarArchive.closeArchiveEntry();
+    }
+
+    /**
+     * Copies the content of the file through a {@link FileChannel} and a large, per thread, buffer. The buffer is on
+     * the heap, as the tar stream can only be written from a byte array.
+     */
+    private static void copyContent(Path file, long size, OutputStream outputStream) throws IOException {
+        final byte[] buffer = COPY_BUFFER.get();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long remaining = size;
+            while (remaining > 0) {
+                int read = channel.read(ByteBuffer.wrap(buffer, 0, (int) Math.min(buffer.length, remaining)));
+                if (read == -1) {
+                    // the file shrank, closing the entry reports it
+                    break;
+                }
+                outputStream.write(buffer, 0, read);
+                remaining -= read;
+            }
+        }
+    }
+
     @Override
     public long getSize() {
 
@@ -362,6 +647,13 @@ public class MountableFile implements Transferable {
         return getUnixFileMode(this.getResolvedPath());
     }
 
+    private int getUnixFileMode(final Path path, final BasicFileAttributes attributes) {
+        if (this.forcedFileMode != null) {
+            return (attributes.isDirectory() ? BASE_DIR_MODE : BASE_FILE_MODE) | this.forcedFileMode;
+        }
+        return getUnixFileMode(path);
+    }
+
     private int getUnixFileMode(final String pathAsString) {
         final Path path = Paths.get(pathAsString);
         if (this.forcedFileMode != null) {
@@ -399,4 +691,9 @@ public class MountableFile implements Transferable {
         int result = Files.isDirectory(path) ? BASE_DIR_MODE : BASE_FILE_MODE;
         return result | this.forcedFileMode;
     }
+
+    @FunctionalInterface
+    private interface TarEntryVisitor {
+        void visit(String entryName, Path path, BasicFileAttributes attributes) throws IOException;
+    }
 }
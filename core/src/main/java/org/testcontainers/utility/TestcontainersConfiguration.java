@@ -168,6 +168,18 @@ public class TestcontainersConfiguration {
         return Boolean.parseBoolean((String) environmentProperties.getOrDefault("checks.disable", "false"));
     }
 
+    /**
+     * @return for how long (in seconds) successful environment checks are remembered per Docker daemon, 0 to disable
+     */
+    public Integer getChecksCacheTtl() {
+        return Integer.parseInt((String) properties.getOrDefault("checks.cache.ttl", "3600"));
+    }
+
+    @UnstableAPI
+    public boolean isClientMetricsEnabled() {
+        return Boolean.parseBoolean((String) properties.getOrDefault("docker.client.metrics.enable", "false"));
+    }
+
     @UnstableAPI
     public boolean environmentSupportsReuse() {
         return Boolean.parseBoolean((String) environmentProperties.getOrDefault("testcontainers.reuse.enable", "false"));
@@ -177,14 +189,146 @@ public class TestcontainersConfiguration {
         return (String) environmentProperties.get("docker.client.strategy");
     }
 
+    /**
+     * @return ping latency (in milliseconds) of the persisted Docker client strategy, or null if unknown
+     */
+    public Long getDockerClientStrategyLatency() {
+        String latency = (String) environmentProperties.get("docker.client.strategy.latency");
+        if (latency == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(latency.trim());
+        } catch (NumberFormatException e) {
+            log.debug("Ignoring invalid docker.client.strategy.latency value {}", latency);
+            return null;
+        }
+    }
+
     public String getTransportType() {
         return properties.getProperty("transport.type", "okhttp");
     }
 
+    /**
+     * @return for how long (in milliseconds) the result of a container inspection may be reused, {@code 0} by default
+     * so that state polling always sees the current state
+     */
+    public Integer getInspectCacheTtl() {
+        return Integer.parseInt((String) properties.getOrDefault("inspect.cache.ttl", "0"));
+    }
+
+    /**
+     * @return for how long (in seconds) an image that is not available locally is remembered as missing
+     */
+    public Integer getImageCacheNegativeTtl() {
+        return Integer.parseInt((String) properties.getOrDefault("images.cache.negative.ttl", "10"));
+    }
+
+    /**
+     * @return how many images may be pulled at the same time
+     * @throws IllegalArgumentException if the configured value is not a positive number
+     */
+    public Integer getImagePullConcurrency() {
+        String value = (String) properties.getOrDefault("pull.concurrency", "4");
+        int concurrency;
+        try {
+            concurrency = Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("pull.concurrency must be a positive number, but was '" + value + "'", e);
+        }
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("pull.concurrency must be at least 1, but was " + concurrency);
+        }
+        return concurrency;
+    }
+
+    /**
+     * @return whether the images of the containers declared by the tests should be pulled ahead of the tests
+     */
+    public boolean isImagePrefetchEnabled() {
+        return Boolean.parseBoolean((String) properties.getOrDefault("images.prefetch.enable", "false"));
+    }
+
+    /**
+     * @return whether images built from a Dockerfile and kept on exit should be reused when their Dockerfile, files,
+     * build arguments and base images have not changed
+     */
+    public boolean isImageBuildCacheEnabled() {
+        return Boolean.parseBoolean((String) properties.getOrDefault("images.build.cache.enable", "false"));
+    }
+
+    /**
+     * @return the gzip level (0-9) of the build context sent to the daemon, or {@code auto} to only compress it when
+     * the daemon is reached over the network
+     * @throws IllegalArgumentException if the configured value is neither {@code auto} nor a level from 0 to 9
+     */
+    public String getBuildContextCompression() {
+        String value = ((String) properties.getOrDefault("images.build.context.compression", "auto")).trim();
+        if (!"auto".equalsIgnoreCase(value) && !value.matches("[0-9]")) {
+            throw new IllegalArgumentException("images.build.context.compression must be 'auto' or a level from 0 to 9, but was '" + value + "'");
+        }
+        return value;
+    }
+
+    /**
+     * @return the directory of an image bundle to load before the first image is needed, or null
+     */
+    public String getImageBundlePath() {
+        return (String) properties.get("images.bundle.path");
+    }
+
+    /**
+     * @return the directory to export the images used by the test run to when the JVM exits, or null
+     */
+    public String getImageBundleExportPath() {
+        return (String) properties.get("images.bundle.export.path");
+    }
+
+    /**
+     * @return whether classpath resources extracted from JAR files should be kept for subsequent runs
+     */
+    public boolean isClasspathExtractionCacheEnabled() {
+        return Boolean.parseBoolean((String) properties.getOrDefault("classpath.extraction.cache.enable", "true"));
+    }
+
+    /**
+     * @return the number of idle networks kept by the default {@link org.testcontainers.containers.NetworkPool}
+     */
+    @UnstableAPI
+    public int getNetworkPoolSize() {
+        return Integer.parseInt((String) properties.getOrDefault("network.pool.size", "2"));
+    }
+
+    /**
+     * @return how {@link org.testcontainers.Testcontainers#exposeHostPorts(int...)} forwards the ports, {@code ssh} or
+     * {@code relay}
+     */
+    @UnstableAPI
+    public String getHostPortForwardingMode() {
+        return (String) properties.getOrDefault("hostports.forwarding.mode", "ssh");
+    }
+
+    /**
+     * @return whether containers should be reached through their own IP address and the exposed ports, instead of
+     * ports published on the Docker host, when the test JVM can route to them
+     */
+    @UnstableAPI
+    public boolean isContainerDirectAccessEnabled() {
+        return Boolean.parseBoolean((String) properties.getOrDefault("container.direct.access.enable", "false"));
+    }
+
     public Integer getImagePullPauseTimeout() {
         return Integer.parseInt((String) properties.getOrDefault("pull.pause.timeout", "30"));
     }
 
+    /**
+     * @return a property from the user's ~/.testcontainers.properties, ignoring the classpath
+     */
+    @UnstableAPI
+    public String getUserProperty(@NonNull String prop, String defaultValue) {
+        return environmentProperties.getProperty(prop, defaultValue);
+    }
+
     @Synchronized
     public boolean updateGlobalConfig(@NonNull String prop, @NonNull String value) {
         try {
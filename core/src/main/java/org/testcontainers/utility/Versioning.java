@@ -52,9 +52,25 @@ interface Versioning {
             this.tag = tag;
         }
 
+        /**
+         * Same as matching {@link #TAG_REGEX}, without a regular expression
+         */
         @Override
         public boolean isValid() {
-            return tag.matches(TAG_REGEX);
+            if (tag.isEmpty() || tag.length() > 128 || !isWordCharacter(tag.charAt(0))) {
+                return false;
+            }
+            for (int i = 1; i < tag.length(); i++) {
+                char c = tag.charAt(i);
+                if (!isWordCharacter(c) && c != '.' && c != '-') {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean isWordCharacter(char c) {
+            return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
         }
 
         @Override
@@ -77,9 +93,21 @@ interface Versioning {
             this.hash = hash;
         }
 
+        /**
+         * Same as matching {@link #HASH_REGEX}, without a regular expression
+         */
         @Override
         public boolean isValid() {
-            return hash.matches(HASH_REGEX);
+            if (hash.length() < 32) {
+                return false;
+            }
+            for (int i = 0; i < hash.length(); i++) {
+                char c = hash.charAt(i);
+                if (!(c >= '0' && c <= '9') && !(c >= 'a' && c <= 'f') && !(c >= 'A' && c <= 'F')) {
+                    return false;
+                }
+            }
+            return true;
         }
 
         @Override
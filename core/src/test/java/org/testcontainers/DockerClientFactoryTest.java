@@ -88,4 +88,19 @@ public class DockerClientFactoryTest {
             instance.cachedClientFailure = null;
         }
     }
+
+    @Test
+    public void failedEnvironmentChecksDoNotBreakClient() {
+        DockerClientFactory instance = DockerClientFactory.instance();
+        instance.awaitEnvironmentChecks();
+
+        RuntimeException failure = new IllegalStateException("Boom!");
+        instance.environmentChecksFailure = failure;
+        try {
+            assertThat(instance.client()).isNotNull();
+            assertThatThrownBy(instance::awaitEnvironmentChecks).isEqualTo(failure);
+        } finally {
+            instance.environmentChecksFailure = null;
+        }
+    }
 }
@@ -0,0 +1,116 @@
+package org.testcontainers;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.command.InspectContainerCmd;
+import com.github.dockerjava.api.command.InspectContainerResponse;
+import com.github.dockerjava.api.command.StartContainerCmd;
+import com.github.dockerjava.api.exception.NotFoundException;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class InspectCachingDockerClientTest {
+
+    private final DockerClient wrappedClient = mock(DockerClient.class);
+
+    private final InspectContainerCmd inspectCmd = mock(InspectContainerCmd.class);
+
+    private final InspectContainerResponse response = mock(InspectContainerResponse.class);
+
+    @Before
+    public void setUp() {
+        when(wrappedClient.inspectContainerCmd(anyString())).thenReturn(inspectCmd);
+        when(response.getId()).thenReturn("0123456789abcdef");
+    }
+
+    @Test
+    public void shouldReuseRecentInspection() {
+        when(inspectCmd.exec()).thenReturn(response);
+        InspectCachingDockerClient client = new InspectCachingDockerClient(wrappedClient, 60_000);
+
+        assertThat(client.inspectContainerCmd("0123456789abcdef").exec()).isSameAs(response);
+        assertThat(client.inspectContainerCmd("0123456789abcdef").exec()).isSameAs(response);
+
+        verify(inspectCmd, times(1)).exec();
+    }
+
+    @Test
+    public void shouldNotReuseExpiredInspection() {
+        when(inspectCmd.exec()).thenReturn(response);
+        InspectCachingDockerClient client = new InspectCachingDockerClient(wrappedClient, 0);
+
+        client.inspectContainerCmd("0123456789abcdef").exec();
+        client.inspectContainerCmd("0123456789abcdef").exec();
+
+        verify(inspectCmd, times(2)).exec();
+    }
+
+    @Test
+    public void shouldCoalesceConcurrentInspections() throws Exception {
+        CountDownLatch inspectionStarted = new CountDownLatch(1);
+        CountDownLatch releaseInspection = new CountDownLatch(1);
+        when(inspectCmd.exec()).thenAnswer(__ -> {
+            inspectionStarted.countDown();
+            releaseInspection.await(10, TimeUnit.SECONDS);
+            return response;
+        });
+        InspectCachingDockerClient client = new InspectCachingDockerClient(wrappedClient, 0);
+
+        CompletableFuture<InspectContainerResponse> first = CompletableFuture.supplyAsync(() -> client.inspectContainerCmd("foo").exec());
+        assertThat(inspectionStarted.await(10, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<InspectContainerResponse> second = CompletableFuture.supplyAsync(() -> client.inspectContainerCmd("foo").exec());
+
+        Thread.sleep(100);
+        releaseInspection.countDown();
+
+        assertThat(first.get(10, TimeUnit.SECONDS)).isSameAs(response);
+        assertThat(second.get(10, TimeUnit.SECONDS)).isSameAs(response);
+        verify(inspectCmd, times(1)).exec();
+    }
+
+    @Test
+    public void shouldInvalidateOnContainerCommands() {
+        when(inspectCmd.exec()).thenReturn(response);
+        StartContainerCmd startCmd = mock(StartContainerCmd.class);
+        when(wrappedClient.startContainerCmd(anyString())).thenReturn(startCmd);
+        InspectCachingDockerClient client = new InspectCachingDockerClient(wrappedClient, 60_000);
+
+        client.inspectContainerCmd("foo").exec();
+        client.startContainerCmd("0123456789abcdef").exec();
+        client.inspectContainerCmd("foo").exec();
+
+        verify(inspectCmd, times(2)).exec();
+    }
+
+    @Test
+    public void shouldInvalidateByIdPrefix() {
+        when(inspectCmd.exec()).thenReturn(response);
+        InspectCachingDockerClient client = new InspectCachingDockerClient(wrappedClient, 60_000);
+
+        client.inspectContainerCmd("foo").exec();
+        client.invalidate("0123");
+        client.inspectContainerCmd("foo").exec();
+
+        verify(inspectCmd, times(2)).exec();
+    }
+
+    @Test
+    public void shouldNotCacheFailures() {
+        when(inspectCmd.exec()).thenThrow(new NotFoundException("not yet")).thenReturn(response);
+        InspectCachingDockerClient client = new InspectCachingDockerClient(wrappedClient, 60_000);
+
+        assertThatThrownBy(() -> client.inspectContainerCmd("foo").exec()).isInstanceOf(NotFoundException.class);
+        assertThat(client.inspectContainerCmd("foo").exec()).isSameAs(response);
+    }
+}
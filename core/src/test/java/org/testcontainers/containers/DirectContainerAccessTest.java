@@ -0,0 +1,81 @@
+package org.testcontainers.containers;
+
+import com.github.dockerjava.api.model.ExposedPort;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.testcontainers.TestImages;
+import org.testcontainers.utility.MockTestcontainersConfigurationRule;
+import org.testcontainers.utility.TestcontainersConfiguration;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assume.assumeTrue;
+
+public class DirectContainerAccessTest {
+
+    @Rule
+    public MockTestcontainersConfigurationRule configurationRule = new MockTestcontainersConfigurationRule();
+
+    @Test
+    public void shouldConnectToContainerIpWithoutPublishingPorts() throws Exception {
+        Mockito.doReturn(true).when(TestcontainersConfiguration.getInstance()).isContainerDirectAccessEnabled();
+        assumeTrue("containers can be reached directly", DirectContainerAccess.isEnabled());
+
+        try (GenericContainer<?> redis = new GenericContainer<>(TestImages.REDIS_IMAGE).withExposedPorts(6379)) {
+            redis.start();
+
+            String ipAddress = redis.getContainerInfo().getNetworkSettings().getNetworks().values().iterator().next().getIpAddress();
+            assertThat(redis.getHost()).isEqualTo(ipAddress);
+            assertThat(redis.getMappedPort(6379)).isEqualTo(6379);
+            assertThatThrownBy(() -> redis.getMappedPort(1234))
+                .as("ports that are not exposed")
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThat(redis.getContainerInfo().getNetworkSettings().getPorts().getBindings().get(new ExposedPort(6379)))
+                .as("published ports")
+                .isNullOrEmpty();
+
+            try (Socket socket = new Socket(redis.getHost(), redis.getMappedPort(6379))) {
+                socket.getOutputStream().write("PING\r\n".getBytes(StandardCharsets.UTF_8));
+                BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                assertThat(reader.readLine()).isEqualTo("+PONG");
+            }
+        }
+    }
+
+    @Test
+    public void shouldDecideWhetherToPublishPortsPerNetwork() {
+        Mockito.doReturn(true).when(TestcontainersConfiguration.getInstance()).isContainerDirectAccessEnabled();
+        assumeTrue("containers can be reached directly", DirectContainerAccess.isEnabled());
+
+        assertThat(DirectContainerAccess.isReachable(null)).as("default bridge network").isTrue();
+        assertThat(DirectContainerAccess.isReachable("host")).as("host network").isFalse();
+        assertThat(DirectContainerAccess.isReachable("container:other")).as("network of another container").isFalse();
+        try (Network network = Network.newNetwork()) {
+            assertThat(DirectContainerAccess.isReachable(network.getId())).as("local bridge network").isTrue();
+        }
+    }
+
+    @Test
+    public void shouldDecideWhetherToPublishPortsAfterModifiers() {
+        Mockito.doReturn(true).when(TestcontainersConfiguration.getInstance()).isContainerDirectAccessEnabled();
+        assumeTrue("containers can be reached directly", DirectContainerAccess.isEnabled());
+
+        try (
+            GenericContainer<?> redis = new GenericContainer<>(TestImages.REDIS_IMAGE)
+                .withExposedPorts(6379)
+                .withCreateContainerCmdModifier(cmd -> cmd.withPublishAllPorts(true))
+        ) {
+            redis.start();
+
+            assertThat(redis.getContainerInfo().getNetworkSettings().getPorts().getBindings().get(new ExposedPort(6379)))
+                .as("ports published by a modifier")
+                .isNotEmpty();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package org.testcontainers.containers;
+
+import com.github.dockerjava.api.model.Container;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DockerComposeContainerConcurrencyTest {
+
+    private static final File COMPOSE_FILE = new File("src/test/resources/compose-scaling-multiple-containers.yml");
+
+    @Test
+    public void shouldStartIndependentEnvironmentsConcurrently() {
+        try (
+            DockerComposeContainer<?> first = new DockerComposeContainer<>(COMPOSE_FILE).withExposedService("redis", 6379);
+            DockerComposeContainer<?> second = new DockerComposeContainer<>(COMPOSE_FILE).withExposedService("redis", 6379)
+        ) {
+            CompletableFuture.allOf(
+                CompletableFuture.runAsync(first::start),
+                CompletableFuture.runAsync(second::start)
+            ).join();
+
+            assertThat(first.listChildContainers()).hasSize(2);
+            assertThat(second.listChildContainers()).hasSize(2)
+                .extracting(Container::getId)
+                .as("containers of separate compose projects")
+                .doesNotContainAnyElementsOf(first.listChildContainers().stream().map(Container::getId).collect(Collectors.toList()));
+            assertThat(first.getServicePort("redis", 6379)).isNotEqualTo(second.getServicePort("redis", 6379));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package org.testcontainers.containers;
+
+import org.apache.commons.io.output.CountingOutputStream;
+import org.apache.commons.io.output.NullOutputStream;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.testcontainers.containers.output.OutputFrame;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.testcontainers.TestImages.ALPINE_IMAGE;
+
+public class ExecInContainerPatternTest {
+
+    @ClassRule
+    public static GenericContainer<?> container = new GenericContainer<>(ALPINE_IMAGE)
+        .withCommand("top");
+
+    @Test
+    public void shouldStreamLargeOutput() throws Exception {
+        CountingOutputStream stdout = new CountingOutputStream(new NullOutputStream());
+        ByteArrayOutputStream stderr = new ByteArrayOutputStream();
+
+        int exitCode = container.execInContainerStreaming(null, stdout, stderr, "head", "-c", "100000000", "/dev/zero");
+
+        assertThat(exitCode).isZero();
+        assertThat(stdout.getByteCount()).isEqualTo(100_000_000L);
+        assertThat(stderr.size()).isZero();
+    }
+
+    @Test
+    public void shouldStreamFramesAndReturnExitCode() throws Exception {
+        List<OutputFrame> frames = new ArrayList<>();
+
+        int exitCode = container.execInContainerStreaming(frames::add, "sh", "-c", "echo out; echo err >&2; exit 3");
+
+        assertThat(exitCode).isEqualTo(3);
+        assertThat(frames).extracting(OutputFrame::getType).contains(OutputFrame.OutputType.STDOUT, OutputFrame.OutputType.STDERR);
+        assertThat(frames.get(frames.size() - 1)).isSameAs(OutputFrame.END);
+    }
+
+    @Test
+    public void shouldPipeStdin() throws Exception {
+        ByteArrayOutputStream stdout = new ByteArrayOutputStream();
+        byte[] input = "first line\nsecond line\n".getBytes(StandardCharsets.UTF_8);
+
+        int exitCode = container.execInContainerStreaming(
+            new ByteArrayInputStream(input),
+            stdout,
+            new ByteArrayOutputStream(),
+            "wc", "-l"
+        );
+
+        assertThat(exitCode).isZero();
+        assertThat(new String(stdout.toByteArray(), StandardCharsets.UTF_8).trim()).isEqualTo("2");
+    }
+
+    @Test
+    public void shouldRunBatchWithSeparateResults() throws Exception {
+        List<Container.ExecResult> results = container.execInContainerBatch(Arrays.asList(
+            new String[]{"echo", "it's", "$HOME"},
+            new String[]{"sh", "-c", "printf partial; echo error >&2; exit 4"},
+            new String[]{"echo", "after failure"}
+        ), false);
+
+        assertThat(results).hasSize(3);
+        assertThat(results.get(0).getStdout()).isEqualTo("it's $HOME\n");
+        assertThat(results.get(0).getExitCode()).isZero();
+        assertThat(results.get(1).getStdout()).isEqualTo("partial");
+        assertThat(results.get(1).getStderr()).isEqualTo("error\n");
+        assertThat(results.get(1).getExitCode()).isEqualTo(4);
+        assertThat(results.get(2).getStdout()).isEqualTo("after failure\n");
+    }
+
+    @Test
+    public void shouldStopBatchOnFirstFailure() throws Exception {
+        List<Container.ExecResult> results = container.execInContainerBatch(Arrays.asList(
+            new String[]{"true"},
+            new String[]{"false"},
+            new String[]{"echo", "skipped"}
+        ));
+
+        assertThat(results).extracting(Container.ExecResult::getExitCode).containsExactly(0, 1);
+    }
+}
@@ -0,0 +1,43 @@
+package org.testcontainers.containers;
+
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.testcontainers.TestImages.ALPINE_IMAGE;
+
+public class ExecSessionTest {
+
+    @ClassRule
+    public static GenericContainer<?> container = new GenericContainer<>(ALPINE_IMAGE)
+        .withCommand("top");
+
+    @Test
+    public void shouldRunSeveralCommandsWithTheirOwnResults() throws Exception {
+        try (ExecSession session = container.openExecSession()) {
+            Container.ExecResult echo = session.execInContainer("echo", "it's", "$HOME");
+            assertThat(echo.getExitCode()).isZero();
+            assertThat(echo.getStdout()).isEqualTo("it's $HOME\n");
+            assertThat(echo.getStderr()).isEmpty();
+
+            Container.ExecResult failure = session.execInContainer("sh", "-c", "printf partial; echo error >&2; exit 7");
+            assertThat(failure.getExitCode()).isEqualTo(7);
+            assertThat(failure.getStdout()).isEqualTo("partial");
+            assertThat(failure.getStderr()).isEqualTo("error\n");
+
+            Container.ExecResult afterFailure = session.execInContainer("cat", "/etc/hostname");
+            assertThat(afterFailure.getExitCode()).isZero();
+            assertThat(afterFailure.getStdout()).isNotEmpty();
+        }
+    }
+
+    @Test
+    public void shouldRejectCommandsOnceClosed() throws Exception {
+        ExecSession session = container.openExecSession();
+        session.close();
+
+        assertThatThrownBy(() -> session.execInContainer("true"))
+            .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,91 @@
+package org.testcontainers.containers;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HostPortRelayTest {
+
+    private ServerSocket echoServer;
+
+    private HostPortRelay relay;
+
+    @Before
+    public void setUp() throws IOException {
+        echoServer = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread acceptor = new Thread(() -> {
+            while (!echoServer.isClosed()) {
+                try {
+                    Socket socket = echoServer.accept();
+                    CompletableFuture.runAsync(() -> echo(socket));
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        });
+        acceptor.setDaemon(true);
+        acceptor.start();
+
+        relay = new HostPortRelay(InetAddress.getLoopbackAddress());
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        relay.close();
+        echoServer.close();
+    }
+
+    @Test
+    public void shouldRelayBothDirectionsUntilHalfClosed() throws Exception {
+        int relayPort = relay.listen(echoServer.getLocalPort());
+        byte[] data = new byte[10 * 1024 * 1024];
+        new Random(42).nextBytes(data);
+
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), relayPort)) {
+            CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> {
+                try {
+                    socket.getOutputStream().write(data);
+                    socket.shutdownOutput();
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+
+            byte[] echoed = IOUtils.toByteArray(socket.getInputStream());
+            writer.get();
+
+            assertThat(echoed).isEqualTo(data);
+        }
+    }
+
+    @Test
+    public void shouldCloseConnectionWhenHostPortIsNotListening() throws Exception {
+        int unusedPort;
+        try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            unusedPort = socket.getLocalPort();
+        }
+        int relayPort = relay.listen(unusedPort);
+
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), relayPort)) {
+            assertThat(socket.getInputStream().read()).isEqualTo(-1);
+        }
+    }
+
+    private static void echo(Socket socket) {
+        try (Socket connection = socket) {
+            IOUtils.copy(connection.getInputStream(), connection.getOutputStream());
+            connection.shutdownOutput();
+        } catch (IOException ignored) {
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package org.testcontainers.containers;
+
+import com.github.dockerjava.api.model.Container;
+import org.junit.Test;
+import org.testcontainers.DockerClientFactory;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class NativeDockerComposeTest {
+
+    private static final File COMPOSE_FILE = new File("src/test/resources/native-compose-test.yml");
+
+    @Test
+    public void shouldStartDependentServiceOnceDependencyIsHealthy() {
+        try (
+            DockerComposeContainer<?> compose = new DockerComposeContainer<>(COMPOSE_FILE)
+                .withNativeCompose(true)
+                .withServices("app")
+                .withScaledService("db", 2)
+        ) {
+            compose.start();
+
+            List<Container> containers = compose.listChildContainers();
+            assertThat(containers.stream().flatMap(it -> Stream.of(it.getNames())).collect(Collectors.toList()))
+                .hasSize(3)
+                .anyMatch(name -> name.endsWith("_app_1"))
+                .anyMatch(name -> name.endsWith("_db_1"))
+                .anyMatch(name -> name.endsWith("_db_2"));
+
+            // app exits right away if db did not answer
+            String app = containers.stream().filter(it -> it.getNames()[0].endsWith("_app_1")).findFirst().get().getId();
+            assertThat(DockerClientFactory.instance().client().inspectContainerCmd(app).exec().getState().getRunning()).isTrue();
+        }
+    }
+
+    @Test
+    public void shouldRejectUnsupportedKeys() {
+        try (
+            DockerComposeContainer<?> compose = new DockerComposeContainer<>(new File("src/test/resources/compose-options-test/with-deploy-block.yml"))
+                .withNativeCompose(true)
+                .withPull(false)
+        ) {
+            assertThatThrownBy(compose::start)
+                .isInstanceOf(ContainerLaunchException.class)
+                .hasMessageContaining("deploy");
+        }
+    }
+
+    @Test
+    public void shouldRejectPortRanges() {
+        assertThat(NativeDockerCompose.requirePort("web", "127.0.0.1:8080:80/tcp")).isEqualTo("127.0.0.1:8080:80/tcp");
+        assertThatThrownBy(() -> NativeDockerCompose.requirePort("web", "3000-3005"))
+            .isInstanceOf(ContainerLaunchException.class)
+            .hasMessageContaining("port range");
+        assertThatThrownBy(() -> NativeDockerCompose.requirePort("web", "9090-9091:8080-8081"))
+            .isInstanceOf(ContainerLaunchException.class);
+    }
+
+    @Test
+    public void shouldParseRestartPolicies() {
+        assertThat(NativeDockerCompose.getRestartPolicy("web", "on-failure:3")).hasToString("on-failure:3");
+        assertThat(NativeDockerCompose.getRestartPolicy("web", "unless-stopped")).hasToString("unless-stopped");
+        assertThat(NativeDockerCompose.getRestartPolicy("web", false)).hasToString("no");
+        assertThatThrownBy(() -> NativeDockerCompose.getRestartPolicy("web", "sometimes"))
+            .isInstanceOf(ContainerLaunchException.class);
+    }
+
+    @Test
+    public void shouldSplitCommandsLikeShell() {
+        assertThat(NativeDockerCompose.splitCommand("sh -c 'echo \"a b\"' c\\ d \"e\\\"f\""))
+            .containsExactly("sh", "-c", "echo \"a b\"", "c d", "e\"f");
+    }
+
+    @Test
+    public void shouldParseDurations() {
+        assertThat(NativeDockerCompose.parseDuration("1m30s")).isEqualTo(TimeUnit.SECONDS.toNanos(90));
+        assertThat(NativeDockerCompose.parseDuration("500ms")).isEqualTo(TimeUnit.MILLISECONDS.toNanos(500));
+        assertThatThrownBy(() -> NativeDockerCompose.parseDuration("10")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
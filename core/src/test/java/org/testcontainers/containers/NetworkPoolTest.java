@@ -0,0 +1,59 @@
+package org.testcontainers.containers;
+
+import org.junit.Test;
+import org.rnorth.ducttape.unreliables.Unreliables;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.TestImages;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class NetworkPoolTest {
+
+    @Test
+    public void shouldReuseReturnedNetworkWithoutStaleContainers() {
+        try (NetworkPool pool = new NetworkPool(1)) {
+            // created ahead of time
+            Unreliables.retryUntilTrue(10, TimeUnit.SECONDS, () -> pool.getStats().getIdle() == 1);
+
+            Network first = pool.lease();
+            String networkId = first.getId();
+
+            try (
+                GenericContainer<?> container = new GenericContainer<>(TestImages.TINY_IMAGE)
+                    .withNetwork(first)
+                    .withCommand("top")
+            ) {
+                container.start();
+
+                // returned while the container is still attached
+                first.close();
+                Unreliables.retryUntilTrue(10, TimeUnit.SECONDS, () -> pool.getStats().getIdle() == 1);
+
+                assertThat(
+                    DockerClientFactory.instance().client().inspectNetworkCmd().withNetworkId(networkId).exec().getContainers()
+                ).doesNotContainKey(container.getContainerId());
+            }
+
+            Network second = pool.lease();
+            assertThat(second.getId()).isEqualTo(networkId);
+            second.close();
+
+            NetworkPool.Stats stats = pool.getStats();
+            assertThat(stats.getCreated()).isEqualTo(1);
+            assertThat(stats.getLeased()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    public void shouldRejectUseOfReturnedNetwork() {
+        try (NetworkPool pool = new NetworkPool(1)) {
+            Network network = pool.lease();
+            network.close();
+
+            assertThatThrownBy(network::getId).isInstanceOf(IllegalStateException.class);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package org.testcontainers.containers;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.compress.archivers.tar.TarConstants;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assume.assumeTrue;
+
+public class TarExtractorTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldExtractDirectoryContentWithModes() throws Exception {
+        assumeTrue(temporaryFolder.getRoot().toPath().getFileSystem().supportedFileAttributeViews().contains("posix"));
+        Path destination = temporaryFolder.getRoot().toPath().resolve("destination");
+
+        byte[] archive = new ArchiveBuilder()
+            .directory("data/", 0755)
+            .directory("data/sub/", 0750)
+            .file("data/sub/script.sh", 0755, "#!/bin/sh")
+            .file("data/read-only.txt", 0444, "content")
+            .build();
+
+        int files = TarExtractor.extractDirectory(new ByteArrayInputStream(archive), destination);
+
+        assertThat(files).isEqualTo(2);
+        assertThat(destination.resolve("sub/script.sh")).hasContent("#!/bin/sh");
+        assertThat(PosixFilePermissions.toString(Files.getPosixFilePermissions(destination.resolve("sub/script.sh"))))
+            .isEqualTo("rwxr-xr-x");
+        assertThat(PosixFilePermissions.toString(Files.getPosixFilePermissions(destination.resolve("read-only.txt"))))
+            .isEqualTo("r--r--r--");
+        assertThat(PosixFilePermissions.toString(Files.getPosixFilePermissions(destination.resolve("sub"))))
+            .isEqualTo("rwxr-x---");
+    }
+
+    @Test
+    public void shouldRejectEntriesOutsideOfDestination() throws Exception {
+        Path destination = temporaryFolder.newFolder("destination").toPath();
+
+        byte[] archive = new ArchiveBuilder()
+            .directory("data/", 0755)
+            .file("data/../../escaped.txt", 0644, "content")
+            .build();
+
+        assertThatThrownBy(() -> TarExtractor.extractDirectory(new ByteArrayInputStream(archive), destination))
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("outside");
+        assertThat(temporaryFolder.getRoot().toPath().resolve("escaped.txt")).doesNotExist();
+    }
+
+    @Test
+    public void shouldSkipSymbolicLinksPointingOutsideOfDestination() throws Exception {
+        Path destination = temporaryFolder.newFolder("destination").toPath();
+
+        byte[] archive = new ArchiveBuilder()
+            .directory("data/", 0755)
+            .symbolicLink("data/absolute", "/etc")
+            .symbolicLink("data/relative", "../..")
+            .symbolicLink("data/inside", "sub/file.txt")
+            .build();
+
+        TarExtractor.extractDirectory(new ByteArrayInputStream(archive), destination);
+
+        assertThat(Files.exists(destination.resolve("absolute"), LinkOption.NOFOLLOW_LINKS)).isFalse();
+        assertThat(Files.exists(destination.resolve("relative"), LinkOption.NOFOLLOW_LINKS)).isFalse();
+        assertThat(Files.isSymbolicLink(destination.resolve("inside"))).isTrue();
+    }
+
+    @Test
+    public void shouldRejectEntriesWrittenThroughSymbolicLinksLeavingDestination() throws Exception {
+        Path destination = temporaryFolder.newFolder("destination").toPath();
+
+        // "escape/.." only looks like it stays within the destination, as "self" is the destination itself
+        byte[] archive = new ArchiveBuilder()
+            .directory("data/", 0755)
+            .symbolicLink("data/self", ".")
+            .symbolicLink("data/escape", "self/..")
+            .file("data/escape/escaped.txt", 0644, "content")
+            .build();
+
+        assertThatThrownBy(() -> TarExtractor.extractDirectory(new ByteArrayInputStream(archive), destination))
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("outside");
+        assertThat(temporaryFolder.getRoot().toPath().resolve("escaped.txt")).doesNotExist();
+    }
+
+    private static final class ArchiveBuilder {
+
+        private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        private final TarArchiveOutputStream tarArchive = new TarArchiveOutputStream(output);
+
+        ArchiveBuilder directory(String name, int mode) throws IOException {
+            TarArchiveEntry entry = new TarArchiveEntry(name);
+            entry.setMode(TarArchiveEntry.DEFAULT_DIR_MODE & ~0777 | mode);
+            tarArchive.putArchiveEntry(entry);
+            tarArchive.closeArchiveEntry();
+            return this;
+        }
+
+        ArchiveBuilder file(String name, int mode, String content) throws IOException {
+            byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+            TarArchiveEntry entry = new TarArchiveEntry(name);
+            entry.setMode(TarArchiveEntry.DEFAULT_FILE_MODE & ~0777 | mode);
+            entry.setSize(bytes.length);
+            tarArchive.putArchiveEntry(entry);
+            tarArchive.write(bytes);
+            tarArchive.closeArchiveEntry();
+            return this;
+        }
+
+        ArchiveBuilder symbolicLink(String name, String target) throws IOException {
+            TarArchiveEntry entry = new TarArchiveEntry(name, TarConstants.LF_SYMLINK);
+            entry.setLinkName(target);
+            tarArchive.putArchiveEntry(entry);
+            tarArchive.closeArchiveEntry();
+            return this;
+        }
+
+        byte[] build() throws IOException {
+            tarArchive.close();
+            return output.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package org.testcontainers.dockerclient;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.model.Info;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DockerClientProviderStrategyTest {
+
+    @Test
+    public void shouldPickHighestPriorityValidStrategy() {
+        FakeStrategy invalid = new FakeStrategy("invalid", 200, Duration.ZERO, false);
+        FakeStrategy preferred = new FakeStrategy("preferred", 100, Duration.ofMillis(200), true);
+        FakeStrategy fallback = new FakeStrategy("fallback", 50, Duration.ZERO, true);
+
+        List<String> failures = new ArrayList<>();
+        Optional<DockerClientProviderStrategy> result = DockerClientProviderStrategy.probeConcurrently(
+            Arrays.asList(invalid, preferred, fallback),
+            failures
+        );
+
+        assertThat(result).containsSame(preferred);
+        assertThat(failures).hasSize(1);
+        assertThat(failures.get(0)).contains("failed with exception");
+    }
+
+    @Test
+    public void shouldProbeStrategiesConcurrently() {
+        List<DockerClientProviderStrategy> candidates = Arrays.asList(
+            new FakeStrategy("slow-invalid-1", 300, Duration.ofSeconds(1), false),
+            new FakeStrategy("slow-invalid-2", 200, Duration.ofSeconds(1), false),
+            new FakeStrategy("slow-valid", 100, Duration.ofSeconds(1), true)
+        );
+
+        long start = System.nanoTime();
+        Optional<DockerClientProviderStrategy> result = DockerClientProviderStrategy.probeConcurrently(candidates, new ArrayList<>());
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertThat(result).containsSame(candidates.get(2));
+        assertThat(elapsed).isLessThan(Duration.ofMillis(2500));
+    }
+
+    @Test
+    public void shouldNotWaitForUnresponsiveHigherPriorityStrategyOnceLowerOneSucceeded() {
+        // e.g. a stale DOCKER_HOST, whose client is created fine but never answers the ping
+        FakeStrategy unresponsive = new FakeStrategy("unresponsive", 100, Duration.ZERO, true, true);
+        FakeStrategy socket = new FakeStrategy("socket", 80, Duration.ZERO, true);
+
+        List<String> failures = new ArrayList<>();
+        long start = System.nanoTime();
+        Optional<DockerClientProviderStrategy> result = DockerClientProviderStrategy.probeConcurrently(
+            Arrays.asList(unresponsive, socket),
+            failures
+        );
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertThat(result).containsSame(socket);
+        assertThat(elapsed).isLessThan(Duration.ofSeconds(10));
+        assertThat(failures).hasSize(1);
+        assertThat(failures.get(0)).contains("No answer");
+    }
+
+    @Test
+    public void shouldReturnEmptyWhenNoStrategyIsValid() {
+        List<String> failures = new ArrayList<>();
+        Optional<DockerClientProviderStrategy> result = DockerClientProviderStrategy.probeConcurrently(
+            Arrays.asList(
+                new FakeStrategy("first", 100, Duration.ZERO, false),
+                new FakeStrategy("second", 50, Duration.ZERO, false)
+            ),
+            failures
+        );
+
+        assertThat(result).isEmpty();
+        assertThat(failures).hasSize(2);
+    }
+
+    @Test
+    public void shouldDerivePersistedStrategyTimeoutFromLatency() {
+        assertThat(DockerClientProviderStrategy.getPersistedStrategyTimeout(null)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(DockerClientProviderStrategy.getPersistedStrategyTimeout(5L)).isEqualTo(Duration.ofSeconds(2));
+        assertThat(DockerClientProviderStrategy.getPersistedStrategyTimeout(500L)).isEqualTo(Duration.ofSeconds(5));
+        assertThat(DockerClientProviderStrategy.getPersistedStrategyTimeout(10_000L)).isEqualTo(Duration.ofSeconds(30));
+    }
+
+    private static class FakeStrategy extends DockerClientProviderStrategy {
+
+        private final String name;
+
+        private final int priority;
+
+        private final Duration delay;
+
+        private final boolean valid;
+
+        private final DockerClient dockerClient = Mockito.mock(DockerClient.class, Mockito.RETURNS_DEEP_STUBS);
+
+        FakeStrategy(String name, int priority, Duration delay, boolean valid) {
+            this(name, priority, delay, valid, false);
+        }
+
+        /**
+         * @param pingFails whether the client is created, but every ping fails
+         */
+        FakeStrategy(String name, int priority, Duration delay, boolean valid, boolean pingFails) {
+            this.name = name;
+            this.priority = priority;
+            this.delay = delay;
+            this.valid = valid;
+
+            if (pingFails) {
+                Mockito.when(dockerClient.infoCmd().exec()).thenThrow(new RuntimeException(name + " does not answer"));
+            } else {
+                Info info = Mockito.mock(Info.class);
+                Mockito.when(info.getOsType()).thenReturn("linux");
+                Mockito.when(dockerClient.infoCmd().exec()).thenReturn(info);
+            }
+        }
+
+        @Override
+        public DockerClient getDockerClient() {
+            try {
+                Thread.sleep(delay.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (!valid) {
+                throw new InvalidConfigurationException(name + " is not valid");
+            }
+            return dockerClient;
+        }
+
+        @Override
+        public String getDescription() {
+            return name;
+        }
+
+        @Override
+        protected boolean isPersistable() {
+            return false;
+        }
+
+        @Override
+        protected int getPriority() {
+            return priority;
+        }
+
+        @Override
+        public TransportConfig getTransportConfig() {
+            return TransportConfig.builder()
+                .dockerHost(URI.create("tcp://" + name + ":2375"))
+                .build();
+        }
+    }
+}
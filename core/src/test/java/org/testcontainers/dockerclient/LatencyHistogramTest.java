@@ -0,0 +1,44 @@
+package org.testcontainers.dockerclient;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void shouldCountSmallValuesExactly() {
+        for (long value = 0; value < 64; value++) {
+            assertThat(LatencyHistogram.highestEquivalentValue(LatencyHistogram.indexOf(value))).isEqualTo(value);
+        }
+    }
+
+    @Test
+    public void shouldKeepRelativePrecisionForLargeValues() {
+        for (long value = 64; value < 100_000_000L; value = value * 3 + 1) {
+            long equivalent = LatencyHistogram.highestEquivalentValue(LatencyHistogram.indexOf(value));
+            assertThat(equivalent).isGreaterThanOrEqualTo(value);
+            assertThat((double) equivalent / value).isLessThan(1.04);
+        }
+    }
+
+    @Test
+    public void shouldComputePercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+
+        assertThat(histogram.getCount()).isEqualTo(1000);
+        assertThat(histogram.getMaxMicros()).isEqualTo(1_000_000);
+        assertThat(histogram.getMeanMicros()).isCloseTo(500_500, within(0.1));
+        assertThat(histogram.getValueAtPercentile(50)).isBetween(500_000L, 520_000L);
+        assertThat(histogram.getValueAtPercentile(99)).isBetween(990_000L, 1_000_000L);
+        assertThat(histogram.getValueAtPercentile(100)).isEqualTo(1_000_000);
+
+        histogram.reset();
+        assertThat(histogram.getCount()).isZero();
+        assertThat(histogram.getValueAtPercentile(50)).isZero();
+    }
+}
@@ -0,0 +1,85 @@
+package org.testcontainers.dockerclient;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.command.CreateContainerCmd;
+import com.github.dockerjava.api.command.CreateContainerResponse;
+import com.github.dockerjava.api.command.InspectContainerCmd;
+import com.github.dockerjava.api.command.LogContainerCmd;
+import com.github.dockerjava.api.exception.NotFoundException;
+import com.github.dockerjava.api.model.Frame;
+import org.junit.Test;
+import org.testcontainers.dockerclient.DockerClientMetrics.CommandStats;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class MetricsDockerClientTest {
+
+    private final DockerClient wrappedClient = mock(DockerClient.class);
+
+    private final DockerClientMetrics metrics = new DockerClientMetrics();
+
+    private final DockerClient client = new MetricsDockerClient(wrappedClient, metrics);
+
+    @Test
+    public void shouldMeasureFluentSyncCommands() {
+        CreateContainerCmd cmd = mock(CreateContainerCmd.class);
+        when(wrappedClient.createContainerCmd(anyString())).thenReturn(cmd);
+        when(cmd.withName(anyString())).thenReturn(cmd);
+        when(cmd.exec()).thenReturn(new CreateContainerResponse());
+
+        client.createContainerCmd("alpine").withName("foo").exec();
+        client.createContainerCmd("alpine").exec();
+
+        CommandStats stats = metrics.getSnapshot().get("CreateContainerCmd");
+        assertThat(stats.getCount()).isEqualTo(2);
+        assertThat(stats.getErrors()).isZero();
+        assertThat(stats.getInFlight()).isZero();
+    }
+
+    @Test
+    public void shouldCountErrors() {
+        InspectContainerCmd cmd = mock(InspectContainerCmd.class);
+        when(wrappedClient.inspectContainerCmd(anyString())).thenReturn(cmd);
+        when(cmd.exec()).thenThrow(new NotFoundException("gone"));
+
+        assertThatThrownBy(() -> client.inspectContainerCmd("foo").exec()).isInstanceOf(NotFoundException.class);
+
+        CommandStats stats = metrics.getSnapshot().get("InspectContainerCmd");
+        assertThat(stats.getCount()).isEqualTo(1);
+        assertThat(stats.getErrors()).isEqualTo(1);
+        assertThat(metrics.getSummary()).contains("InspectContainerCmd");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldMeasureAsyncCommandsUntilCompletion() {
+        LogContainerCmd cmd = mock(LogContainerCmd.class);
+        when(wrappedClient.logContainerCmd(anyString())).thenReturn(cmd);
+        AtomicReference<ResultCallback<Frame>> passedCallback = new AtomicReference<>();
+        when(cmd.exec(any())).thenAnswer(invocation -> {
+            passedCallback.set(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+
+        ResultCallback.Adapter<Frame> callback = new ResultCallback.Adapter<>();
+        assertThat(client.logContainerCmd("foo").exec(callback)).isSameAs(callback);
+
+        CommandStats stats = metrics.getSnapshot().get("LogContainerCmd");
+        assertThat(stats.getInFlight()).isEqualTo(1);
+        assertThat(stats.getCount()).isZero();
+
+        passedCallback.get().onComplete();
+
+        stats = metrics.getSnapshot().get("LogContainerCmd");
+        assertThat(stats.getInFlight()).isZero();
+        assertThat(stats.getCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,90 @@
+package org.testcontainers.images;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.images.ImageBundle.Entry;
+import org.testcontainers.utility.DockerImageName;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.testcontainers.TestImages.TINY_IMAGE;
+
+public class ImageBundleTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldReadWrittenManifest() throws Exception {
+        Path directory = temporaryFolder.getRoot().toPath();
+        List<Entry> entries = Arrays.asList(
+            new Entry(DockerImageName.parse("alpine:3.12"), "sha256:1234", "alpine_3.12.tar", "abcd"),
+            new Entry(DockerImageName.parse("registry.example.com:5000/org/app@sha256:" + repeat('f', 64)), "sha256:5678", "app.tar", "ef01")
+        );
+
+        ImageBundle.writeManifest(directory, entries);
+
+        assertThat(ImageBundle.readManifest(directory)).isEqualTo(entries);
+    }
+
+    @Test
+    public void shouldTreatMissingManifestAsEmptyBundle() {
+        assertThat(ImageBundle.readManifest(temporaryFolder.getRoot().toPath())).isEmpty();
+    }
+
+    @Test
+    public void shouldExportAndDetectStaleImages() throws Exception {
+        Path directory = temporaryFolder.newFolder("bundle").toPath();
+        new RemoteDockerImage(TINY_IMAGE).get();
+
+        ImageBundle.export(directory, Collections.singletonList(TINY_IMAGE));
+
+        List<Entry> entries = ImageBundle.readManifest(directory);
+        assertThat(entries).hasSize(1);
+        Entry entry = entries.get(0);
+        assertThat(entry.getImageName()).isEqualTo(TINY_IMAGE);
+        assertThat(entry.getImageId()).isEqualTo(
+            DockerClientFactory.instance().client().inspectImageCmd(TINY_IMAGE.asCanonicalNameString()).exec().getId()
+        );
+        assertThat(Files.size(directory.resolve(entry.getFileName()))).isPositive();
+
+        ImageBundle.LoadResult upToDate = ImageBundle.load(directory);
+        assertThat(upToDate.getUpToDate()).containsExactly(TINY_IMAGE);
+        assertThat(upToDate.getLoaded()).isEmpty();
+        assertThat(upToDate.getStale()).isEmpty();
+
+        // as if the bundle was exported before the image changed
+        ImageBundle.writeManifest(directory, Collections.singletonList(
+            new Entry(entry.getImageName(), "sha256:" + repeat('0', 64), entry.getFileName(), entry.getSha256())
+        ));
+
+        ImageBundle.LoadResult stale = ImageBundle.load(directory);
+        assertThat(stale.getStale()).containsExactly(TINY_IMAGE);
+        assertThat(stale.getLoaded()).isEmpty();
+    }
+
+    @Test
+    public void shouldDeleteFilesOfImagesNotExportedAnymore() throws Exception {
+        Path directory = temporaryFolder.newFolder("bundle").toPath();
+        Path oldImageFile = Files.write(directory.resolve("old_image.tar"), new byte[]{1});
+        new RemoteDockerImage(TINY_IMAGE).get();
+
+        ImageBundle.export(directory, Collections.singletonList(TINY_IMAGE));
+
+        assertThat(oldImageFile).doesNotExist();
+        assertThat(directory.resolve(ImageBundle.readManifest(directory).get(0).getFileName())).exists();
+    }
+
+    private static String repeat(char c, int count) {
+        char[] chars = new char[count];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+}
@@ -0,0 +1,114 @@
+package org.testcontainers.images;
+
+import org.junit.After;
+import org.junit.Test;
+import org.testcontainers.containers.ContainerFetchException;
+import org.testcontainers.utility.DockerImageName;
+import org.testcontainers.utility.TestcontainersConfiguration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ImagePullCoordinatorTest {
+
+    private final DockerImageName imageName = DockerImageName.parse(UUID.randomUUID().toString());
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldShareOngoingPullOfSameImage() throws Exception {
+        AtomicInteger pulls = new AtomicInteger();
+        CountDownLatch pullStarted = new CountDownLatch(1);
+        CountDownLatch releasePull = new CountDownLatch(1);
+
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> ImagePullCoordinator.INSTANCE.pull(imageName, false, () -> {
+            pulls.incrementAndGet();
+            pullStarted.countDown();
+            releasePull.await(10, TimeUnit.SECONDS);
+            return 42L;
+        }), executor);
+        assertThat(pullStarted.await(10, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Void> second = CompletableFuture.runAsync(() -> ImagePullCoordinator.INSTANCE.pull(imageName, false, () -> {
+            pulls.incrementAndGet();
+            return 42L;
+        }), executor);
+        Thread.sleep(100);
+        releasePull.countDown();
+
+        first.get(10, TimeUnit.SECONDS);
+        second.get(10, TimeUnit.SECONDS);
+        assertThat(pulls).hasValue(1);
+        assertThat(ImagePullStatistics.all())
+            .filteredOn(it -> it.getImageName().equals(imageName))
+            .singleElement()
+            .extracting(ImagePullStatistics::getBytesPulled)
+            .isEqualTo(42L);
+    }
+
+    @Test
+    public void shouldLetForegroundPullTakeOverQueuedBackgroundPull() throws Exception {
+        int slots = TestcontainersConfiguration.getInstance().getImagePullConcurrency();
+        CountDownLatch slotsTaken = new CountDownLatch(slots);
+        CountDownLatch releaseSlots = new CountDownLatch(1);
+        List<CompletableFuture<Void>> blockingPulls = new ArrayList<>();
+        for (int i = 0; i < slots; i++) {
+            DockerImageName otherImage = DockerImageName.parse(UUID.randomUUID().toString());
+            blockingPulls.add(CompletableFuture.runAsync(() -> ImagePullCoordinator.INSTANCE.pull(otherImage, false, () -> {
+                slotsTaken.countDown();
+                releaseSlots.await(10, TimeUnit.SECONDS);
+                return 0L;
+            }), executor));
+        }
+        assertThat(slotsTaken.await(10, TimeUnit.SECONDS)).isTrue();
+
+        AtomicInteger backgroundPulls = new AtomicInteger();
+        CompletableFuture<Void> prefetch = CompletableFuture.runAsync(() -> ImagePullCoordinator.INSTANCE.pull(imageName, true, () -> {
+            backgroundPulls.incrementAndGet();
+            return 0L;
+        }), executor);
+        Thread.sleep(100);
+        AtomicInteger foregroundPulls = new AtomicInteger();
+        CompletableFuture<Void> foreground = CompletableFuture.runAsync(() -> ImagePullCoordinator.INSTANCE.pull(imageName, false, () -> {
+            foregroundPulls.incrementAndGet();
+            return 0L;
+        }), executor);
+        Thread.sleep(100);
+        releaseSlots.countDown();
+
+        foreground.get(10, TimeUnit.SECONDS);
+        prefetch.get(10, TimeUnit.SECONDS);
+        for (CompletableFuture<Void> blockingPull : blockingPulls) {
+            blockingPull.get(10, TimeUnit.SECONDS);
+        }
+        assertThat(foregroundPulls).hasValue(1);
+        assertThat(backgroundPulls).hasValue(0);
+    }
+
+    @Test
+    public void shouldNotRememberFailedPulls() {
+        assertThatThrownBy(() -> ImagePullCoordinator.INSTANCE.pull(imageName, false, () -> {
+            throw new ContainerFetchException("Failed to pull image: " + imageName);
+        })).isInstanceOf(ContainerFetchException.class);
+
+        AtomicInteger pulls = new AtomicInteger();
+        ImagePullCoordinator.INSTANCE.pull(imageName, false, () -> (long) pulls.incrementAndGet());
+
+        assertThat(pulls).hasValue(1);
+    }
+}
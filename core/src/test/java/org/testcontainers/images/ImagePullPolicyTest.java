@@ -63,7 +63,7 @@ public class ImagePullPolicyTest {
         // Clean up local cache
         removeImage();
 
-        LocalImagesCache.INSTANCE.cache.remove(imageName);
+        LocalImagesCache.INSTANCE.invalidate(imageName);
     }
 
     @Test
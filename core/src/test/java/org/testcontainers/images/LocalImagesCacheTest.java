@@ -0,0 +1,158 @@
+package org.testcontainers.images;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.command.InspectImageCmd;
+import com.github.dockerjava.api.command.InspectImageResponse;
+import com.github.dockerjava.api.exception.NotFoundException;
+import com.github.dockerjava.api.model.Event;
+import com.github.dockerjava.api.model.EventActor;
+import com.github.dockerjava.api.model.EventType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class LocalImagesCacheTest {
+
+    private static final DockerImageName IMAGE = DockerImageName.parse("alpine:3.5");
+
+    private final LocalImagesCache localImagesCache = LocalImagesCache.INSTANCE;
+
+    private final DockerClient dockerClient = mock(DockerClient.class);
+
+    private final InspectImageCmd inspectCmd = mock(InspectImageCmd.class);
+
+    private final InspectImageResponse response = mock(InspectImageResponse.class);
+
+    private DockerClient originalClient;
+
+    @Before
+    public void setUp() {
+        originalClient = localImagesCache.dockerClient;
+        localImagesCache.dockerClient = dockerClient;
+        localImagesCache.clear();
+
+        when(dockerClient.inspectImageCmd(anyString())).thenReturn(inspectCmd);
+        when(response.getId()).thenReturn("sha256:0123456789abcdef");
+        when(response.getCreated()).thenReturn("2020-01-01T00:00:00Z");
+    }
+
+    @After
+    public void tearDown() {
+        localImagesCache.clear();
+        localImagesCache.dockerClient = originalClient;
+    }
+
+    @Test
+    public void shouldAnswerFromMemoryAfterFirstLookup() {
+        when(inspectCmd.exec()).thenReturn(response);
+
+        assertThat(localImagesCache.find(IMAGE)).isPresent();
+        assertThat(localImagesCache.find(IMAGE)).isPresent();
+
+        verify(inspectCmd, times(1)).exec();
+        assertThat(ImageCacheStatistics.current()).isEqualTo(new ImageCacheStatistics(1, 0, 1));
+    }
+
+    @Test
+    public void shouldRememberMissingImages() {
+        when(inspectCmd.exec()).thenThrow(new NotFoundException("no such image"));
+
+        assertThat(localImagesCache.find(IMAGE)).isEmpty();
+        assertThat(localImagesCache.find(IMAGE)).isEmpty();
+
+        verify(inspectCmd, times(1)).exec();
+        assertThat(ImageCacheStatistics.current()).isEqualTo(new ImageCacheStatistics(0, 1, 1));
+    }
+
+    @Test
+    public void shouldForgetMissingImageWhenPulled() {
+        when(inspectCmd.exec()).thenThrow(new NotFoundException("no such image")).thenReturn(response);
+
+        assertThat(localImagesCache.find(IMAGE)).isEmpty();
+        localImagesCache.onImageEvent(event("pull", "docker.io/library/alpine:3.5", null));
+
+        assertThat(localImagesCache.find(IMAGE)).isPresent();
+    }
+
+    @Test
+    public void shouldForgetDeletedImages() {
+        when(inspectCmd.exec()).thenReturn(response).thenThrow(new NotFoundException("no such image"));
+
+        assertThat(localImagesCache.find(IMAGE)).isPresent();
+        localImagesCache.onImageEvent(event("delete", "sha256:0123456789abcdef", "sha256:0123456789abcdef"));
+
+        assertThat(localImagesCache.find(IMAGE)).isEmpty();
+        verify(inspectCmd, times(2)).exec();
+    }
+
+    @Test
+    public void shouldForgetRetaggedImages() {
+        when(inspectCmd.exec()).thenReturn(response);
+
+        localImagesCache.find(IMAGE);
+        localImagesCache.onImageEvent(event("tag", "sha256:fedcba9876543210", "alpine:3.5"));
+        localImagesCache.find(IMAGE);
+
+        verify(inspectCmd, times(2)).exec();
+    }
+
+    @Test
+    public void shouldOnlyDiscardInspectionsRacingWithEventsAboutTheSameImage() {
+        when(inspectCmd.exec())
+            .then(invocation -> {
+                localImagesCache.onImageEvent(event("pull", "redis:6", "redis:6"));
+                return response;
+            })
+            .then(invocation -> {
+                localImagesCache.onImageEvent(event("pull", "docker.io/library/alpine:3.5", null));
+                return response;
+            })
+            .thenReturn(response);
+
+        localImagesCache.find(IMAGE);
+        localImagesCache.find(IMAGE);
+        verify(inspectCmd, times(1)).exec();
+
+        localImagesCache.invalidate(IMAGE);
+        localImagesCache.find(IMAGE);
+        localImagesCache.find(IMAGE);
+        verify(inspectCmd, times(3)).exec();
+    }
+
+    @Test
+    public void shouldBypassCacheWithDeprecatedUseFilterProperty() {
+        when(inspectCmd.exec()).thenReturn(response);
+
+        System.setProperty("useFilter", "true");
+        try {
+            localImagesCache.find(IMAGE);
+            localImagesCache.find(IMAGE);
+        } finally {
+            System.clearProperty("useFilter");
+        }
+
+        verify(inspectCmd, times(2)).exec();
+    }
+
+    private static Event event(String action, String actorId, String name) {
+        EventActor actor = mock(EventActor.class);
+        when(actor.getId()).thenReturn(actorId);
+        when(actor.getAttributes()).thenReturn(name != null ? Collections.singletonMap("name", name) : null);
+
+        Event event = mock(Event.class);
+        when(event.getType()).thenReturn(EventType.IMAGE);
+        when(event.getAction()).thenReturn(action);
+        when(event.getActor()).thenReturn(actor);
+        return event;
+    }
+}
@@ -0,0 +1,108 @@
+package org.testcontainers.images.builder;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.io.IOUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.testcontainers.utility.MountableFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(Parameterized.class)
+public class BuildContextWriterTest {
+
+    @Parameterized.Parameters(name = "compression level {0}")
+    public static Object[] compressionLevels() {
+        return new Object[]{Deflater.NO_COMPRESSION, Deflater.BEST_SPEED, Deflater.DEFAULT_COMPRESSION};
+    }
+
+    @Parameterized.Parameter
+    public int compressionLevel;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldArchiveEveryEntryInOrder() throws IOException {
+        Map<String, byte[]> contents = new LinkedHashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 50; i++) {
+            // mix of small entries (archived ahead) and large ones (streamed)
+            byte[] content = new byte[i % 10 == 0 ? 3 * 1024 * 1024 : random.nextInt(10_000)];
+            random.nextBytes(content);
+            contents.put("dir-" + (i % 3) + "/a-file-with-a-rather-long-name-to-exceed-the-hundred-characters-of-the-ustar-format-" + i, content);
+        }
+        Map<String, Transferable> transferables = new LinkedHashMap<>();
+        contents.forEach((name, content) -> transferables.put(name, Transferable.of(content)));
+
+        ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        long size = new BuildContextWriter(compressionLevel).write(transferables, archive);
+
+        assertThat(size).isEqualTo(contents.values().stream().mapToLong(it -> it.length).sum());
+
+        InputStream archiveStream = new ByteArrayInputStream(archive.toByteArray());
+        if (compressionLevel != Deflater.NO_COMPRESSION) {
+            archiveStream = new GZIPInputStream(archiveStream);
+        }
+        try (TarArchiveInputStream tarArchive = new TarArchiveInputStream(archiveStream)) {
+            for (Map.Entry<String, byte[]> expected : contents.entrySet()) {
+                TarArchiveEntry entry = tarArchive.getNextTarEntry();
+                assertThat(entry.getName()).isEqualTo(expected.getKey());
+                assertThat(Arrays.equals(IOUtils.toByteArray(tarArchive), expected.getValue()))
+                    .as("content of %s", expected.getKey())
+                    .isTrue();
+            }
+            assertThat(tarArchive.getNextTarEntry()).isNull();
+        }
+    }
+
+    @Test
+    public void shouldArchiveDirectoriesFileByFile() throws IOException {
+        File directory = temporaryFolder.newFolder("context");
+        new File(directory, "sub").mkdir();
+        Files.write(new File(directory, "first").toPath(), "first".getBytes());
+        Files.write(new File(directory, "sub/second").toPath(), "second".getBytes());
+
+        Map<String, Transferable> transferables = new LinkedHashMap<>();
+        transferables.put("app", MountableFile.forHostPath(directory.toPath()));
+
+        ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        new BuildContextWriter(compressionLevel).write(transferables, archive);
+
+        InputStream archiveStream = new ByteArrayInputStream(archive.toByteArray());
+        if (compressionLevel != Deflater.NO_COMPRESSION) {
+            archiveStream = new GZIPInputStream(archiveStream);
+        }
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (TarArchiveInputStream tarArchive = new TarArchiveInputStream(archiveStream)) {
+            TarArchiveEntry entry;
+            while ((entry = tarArchive.getNextTarEntry()) != null) {
+                entries.put(entry.getName(), entry.isDirectory() ? null : new String(IOUtils.toByteArray(tarArchive)));
+            }
+        }
+
+        assertThat(entries)
+            .containsEntry("app/", null)
+            .containsEntry("app/first", "first")
+            .containsEntry("app/sub/", null)
+            .containsEntry("app/sub/second", "second")
+            .hasSize(4);
+    }
+}
@@ -0,0 +1,108 @@
+package org.testcontainers.images.builder;
+
+import org.junit.Test;
+import org.testcontainers.utility.LazyFuture;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ImageBuildGraphTest {
+
+    private final List<String> built = new CopyOnWriteArrayList<>();
+
+    private final AtomicInteger runningBuilds = new AtomicInteger();
+
+    private final AtomicInteger maxRunningBuilds = new AtomicInteger();
+
+    @Test
+    public void shouldBuildImagesAfterTheirBases() {
+        new ImageBuildGraph()
+            .withImage("app-1", () -> set("base:1.0", "alpine:3.12"), image("app-1"))
+            .withImage("app-2", () -> set("base:1.0"), image("app-2"))
+            .withImage("extension", () -> set("app-1"), image("extension"))
+            .withImage("base:1.0", () -> set("alpine:3.12"), image("base:1.0"))
+            .build();
+
+        assertThat(built).containsExactlyInAnyOrder("base:1.0", "app-1", "app-2", "extension");
+        assertThat(built.indexOf("base:1.0")).isLessThan(built.indexOf("app-1")).isLessThan(built.indexOf("extension"));
+        assertThat(built.indexOf("base:1.0")).isLessThan(built.indexOf("app-2"));
+    }
+
+    @Test
+    public void shouldMatchImplicitLatestTag() {
+        new ImageBuildGraph()
+            .withImage("app", () -> set("base"), image("app"))
+            .withImage("base:latest", Collections::emptySet, image("base:latest"))
+            .build();
+
+        assertThat(built).containsExactly("base:latest", "app");
+    }
+
+    @Test
+    public void shouldBoundConcurrentBuilds() {
+        ImageBuildGraph graph = new ImageBuildGraph().withMaxConcurrency(2);
+        for (int i = 0; i < 8; i++) {
+            graph.withImage("image-" + i, Collections::emptySet, image("image-" + i));
+        }
+        graph.build();
+
+        assertThat(built).hasSize(8);
+        assertThat(maxRunningBuilds.get()).isBetween(1, 2);
+    }
+
+    @Test
+    public void shouldRejectCycles() {
+        ImageBuildGraph graph = new ImageBuildGraph()
+            .withImage("a", () -> set("b"), image("a"))
+            .withImage("b", () -> set("a"), image("b"));
+
+        assertThatThrownBy(graph::build)
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("cycle");
+        assertThat(built).isEmpty();
+    }
+
+    @Test
+    public void shouldNotBuildImagesWhoseBaseFailed() {
+        ImageBuildGraph graph = new ImageBuildGraph()
+            .withImage("base", Collections::emptySet, new LazyFuture<String>() {
+                @Override
+                protected String resolve() {
+                    throw new IllegalStateException("build failed");
+                }
+            })
+            .withImage("app", () -> set("base"), image("app"));
+
+        assertThatThrownBy(graph::build).hasMessage("build failed");
+        assertThat(built).isEmpty();
+    }
+
+    private LazyFuture<String> image(String imageName) {
+        return new LazyFuture<String>() {
+            @Override
+            protected String resolve() {
+                int running = runningBuilds.incrementAndGet();
+                maxRunningBuilds.accumulateAndGet(running, Math::max);
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                runningBuilds.decrementAndGet();
+                built.add(imageName);
+                return imageName;
+            }
+        };
+    }
+
+    private static HashSet<String> set(String... imageNames) {
+        return new HashSet<>(Arrays.asList(imageNames));
+    }
+}
@@ -2,13 +2,31 @@ package org.testcontainers.images.builder;
 
 import com.github.dockerjava.api.DockerClient;
 import com.github.dockerjava.api.command.InspectImageResponse;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
 import org.testcontainers.DockerClientFactory;
+import org.testcontainers.utility.MockTestcontainersConfigurationRule;
+import org.testcontainers.utility.TestcontainersConfiguration;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class ImageFromDockerfileTest {
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Rule
+    public MockTestcontainersConfigurationRule configurationRule = new MockTestcontainersConfigurationRule();
+
     @Test
     public void shouldAddDefaultLabels() {
         ImageFromDockerfile image = new ImageFromDockerfile()
@@ -24,4 +42,109 @@ public class ImageFromDockerfileTest {
             .containsAllEntriesOf(DockerClientFactory.DEFAULT_LABELS);
     }
 
+    @Test
+    public void shouldReuseImageBuiltFromSameContent() {
+        Mockito.doReturn(true).when(TestcontainersConfiguration.getInstance()).isImageBuildCacheEnabled();
+
+        String content = UUID.randomUUID().toString();
+        String firstImage = new ImageFromDockerfile("testcontainers/" + UUID.randomUUID(), false)
+            .withDockerfileFromBuilder(it -> it.from("scratch").label("content", content))
+            .resolve();
+        String secondImage = new ImageFromDockerfile("testcontainers/" + UUID.randomUUID(), false)
+            .withDockerfileFromBuilder(it -> it.from("scratch").label("content", content))
+            .resolve();
+
+        DockerClient dockerClient = DockerClientFactory.instance().client();
+        try {
+            assertThat(secondImage).isNotEqualTo(firstImage);
+            assertThat(dockerClient.inspectImageCmd(secondImage).exec().getId())
+                .isEqualTo(dockerClient.inspectImageCmd(firstImage).exec().getId());
+        } finally {
+            dockerClient.removeImageCmd(firstImage).exec();
+            dockerClient.removeImageCmd(secondImage).exec();
+        }
+    }
+
+    @Test
+    public void shouldHashContentRegardlessOfInsertionOrder() {
+        ImageFromDockerfile first = new ImageFromDockerfile()
+            .withFileFromString("a.txt", "a")
+            .withFileFromString("b.txt", "b")
+            .withBuildArg("foo", "bar");
+        ImageFromDockerfile second = new ImageFromDockerfile()
+            .withBuildArg("foo", "bar")
+            .withFileFromString("b.txt", "b")
+            .withFileFromString("a.txt", "a");
+
+        assertThat(first.getContentHash(Collections.emptySet())).isEqualTo(second.getContentHash(Collections.emptySet()));
+    }
+
+    @Test
+    public void shouldHashFilesBuildArgsAndBaseImages() {
+        String hash = new ImageFromDockerfile()
+            .withFileFromString("a.txt", "a")
+            .withBuildArg("foo", "bar")
+            .getContentHash(Collections.singleton("sha256:1234"));
+
+        assertThat(new ImageFromDockerfile().withFileFromString("a.txt", "b").withBuildArg("foo", "bar")
+            .getContentHash(Collections.singleton("sha256:1234")))
+            .isNotEqualTo(hash);
+        assertThat(new ImageFromDockerfile().withFileFromString("a.txt", "a").withBuildArg("foo", "baz")
+            .getContentHash(Collections.singleton("sha256:1234")))
+            .isNotEqualTo(hash);
+        assertThat(new ImageFromDockerfile().withFileFromString("a.txt", "a").withBuildArg("foo", "bar")
+            .getContentHash(Collections.singleton("sha256:5678")))
+            .isNotEqualTo(hash);
+    }
+
+    @Test
+    public void shouldHashContextDirectoryOfDockerfile() throws Exception {
+        File context = temporaryFolder.newFolder();
+        Path dockerfile = Files.write(context.toPath().resolve("Dockerfile"), "FROM alpine:3.12\nCOPY app.txt /".getBytes(StandardCharsets.UTF_8));
+        Path app = Files.write(context.toPath().resolve("app.txt"), "1".getBytes(StandardCharsets.UTF_8));
+
+        String hash = new ImageFromDockerfile().withDockerfile(dockerfile).getContentHash(Collections.emptySet());
+        Files.write(app, "2".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(new ImageFromDockerfile().withDockerfile(dockerfile).getContentHash(Collections.emptySet()))
+            .isNotEqualTo(hash);
+    }
+
+    @Test
+    public void shouldNotHashFilesExcludedByDockerignore() throws Exception {
+        File context = temporaryFolder.newFolder();
+        Path dockerfile = Files.write(context.toPath().resolve("Dockerfile"), "FROM alpine:3.12\nCOPY app.txt /".getBytes(StandardCharsets.UTF_8));
+        Files.write(context.toPath().resolve(".dockerignore"), "target\n*.log\n!keep.log".getBytes(StandardCharsets.UTF_8));
+        Files.createDirectories(context.toPath().resolve("target"));
+        Path ignoredFile = Files.write(context.toPath().resolve("target/app.jar"), "1".getBytes(StandardCharsets.UTF_8));
+        Path ignoredLog = Files.write(context.toPath().resolve("build.log"), "1".getBytes(StandardCharsets.UTF_8));
+        Path includedLog = Files.write(context.toPath().resolve("keep.log"), "1".getBytes(StandardCharsets.UTF_8));
+
+        String hash = new ImageFromDockerfile().withDockerfile(dockerfile).getContentHash(Collections.emptySet());
+        Files.write(ignoredFile, "2".getBytes(StandardCharsets.UTF_8));
+        Files.write(ignoredLog, "2".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(new ImageFromDockerfile().withDockerfile(dockerfile).getContentHash(Collections.emptySet()))
+            .as("hash after changing ignored files")
+            .isEqualTo(hash);
+
+        Files.write(includedLog, "2".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(new ImageFromDockerfile().withDockerfile(dockerfile).getContentHash(Collections.emptySet()))
+            .as("hash after changing a file included again")
+            .isNotEqualTo(hash);
+    }
+
+    @Test
+    public void shouldFindBaseImagesOfEveryKindOfDockerfile() throws Exception {
+        File context = temporaryFolder.newFolder();
+        Files.write(context.toPath().resolve("Dockerfile"), "FROM alpine:3.12".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(new ImageFromDockerfile().withDockerfile(context.toPath().resolve("Dockerfile")).getBaseImageNames())
+            .containsExactly("alpine:3.12");
+        assertThat(new ImageFromDockerfile().withDockerfileFromBuilder(it -> it.from("alpine:3.13")).getBaseImageNames())
+            .containsExactly("alpine:3.13");
+        assertThat(new ImageFromDockerfile().withFileFromPath(".", context.toPath()).getBaseImageNames())
+            .containsExactly("alpine:3.12");
+    }
 }
@@ -2,6 +2,7 @@ package org.testcontainers.junit;
 
 import com.github.dockerjava.api.exception.NotFoundException;
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang.StringUtils;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
@@ -10,7 +11,9 @@ import org.testcontainers.utility.MountableFile;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
+import static org.rnorth.visibleassertions.VisibleAssertions.assertEquals;
 import static org.rnorth.visibleassertions.VisibleAssertions.assertTrue;
 import static org.testcontainers.TestImages.ALPINE_IMAGE;
 
@@ -103,4 +106,89 @@ public class FileOperationsTest {
             assertTrue("Files aren't same ", FileUtils.contentEquals(expectedFile, actualFile));
         }
     }
+
+    @Test
+    public void shouldCopyDirectoryFromContainerTest() throws Exception {
+        try (
+            GenericContainer alpineCopyFromContainer = new GenericContainer(ALPINE_IMAGE)
+                .withCommand("top")
+        ) {
+
+            alpineCopyFromContainer.start();
+            alpineCopyFromContainer.execInContainer("sh", "-c",
+                "mkdir -p /home/test/nested && echo first > /home/test/first.txt && " +
+                    "echo second > /home/test/nested/second.sh && chmod 755 /home/test/nested/second.sh"
+            );
+
+            File destination = new File(temporaryFolder.getRoot(), "copied");
+            alpineCopyFromContainer.copyDirectoryFromContainer("/home/test", destination.getPath());
+
+            assertEquals("first file is copied", "first\n", FileUtils.readFileToString(new File(destination, "first.txt"), StandardCharsets.UTF_8));
+            File nestedFile = new File(destination, "nested/second.sh");
+            assertEquals("nested file is copied", "second\n", FileUtils.readFileToString(nestedFile, StandardCharsets.UTF_8));
+            assertTrue("file mode is preserved", nestedFile.canExecute());
+        }
+    }
+
+    @Test
+    public void shouldSyncOnlyChangedFilesToContainerTest() throws Exception {
+        try (
+            GenericContainer alpineSyncToContainer = new GenericContainer(ALPINE_IMAGE)
+                .withCommand("top")
+        ) {
+
+            alpineSyncToContainer.start();
+            File source = temporaryFolder.newFolder("source");
+            FileUtils.writeStringToFile(new File(source, "unchanged.txt"), "unchanged", StandardCharsets.UTF_8);
+            FileUtils.writeStringToFile(new File(source, "changed.txt"), "before", StandardCharsets.UTF_8);
+            FileUtils.writeStringToFile(new File(source, "nested/deleted.txt"), "deleted", StandardCharsets.UTF_8);
+
+            alpineSyncToContainer.syncDirectoryToContainer(source.getPath(), "/home/sync");
+            assertEquals("files are synced", "unchanged before deleted",
+                alpineSyncToContainer.execInContainer("sh", "-c",
+                    "echo $(cat /home/sync/unchanged.txt /home/sync/changed.txt /home/sync/nested/deleted.txt)"
+                ).getStdout().trim()
+            );
+
+            // a file which is not sent again keeps the content set in the container
+            alpineSyncToContainer.execInContainer("sh", "-c", "echo -n untouched > /home/sync/unchanged.txt");
+            FileUtils.writeStringToFile(new File(source, "changed.txt"), "after", StandardCharsets.UTF_8);
+            FileUtils.writeStringToFile(new File(source, "nested/added.txt"), "added", StandardCharsets.UTF_8);
+            FileUtils.forceDelete(new File(source, "nested/deleted.txt"));
+
+            alpineSyncToContainer.syncDirectoryToContainer(source.getPath(), "/home/sync");
+            assertEquals("only changes are synced", "untouched after added",
+                alpineSyncToContainer.execInContainer("sh", "-c",
+                    "echo $(cat /home/sync/unchanged.txt /home/sync/changed.txt /home/sync/nested/added.txt)"
+                ).getStdout().trim()
+            );
+            assertEquals("deleted files are removed", 1,
+                alpineSyncToContainer.execInContainer("test", "-e", "/home/sync/nested/deleted.txt").getExitCode()
+            );
+        }
+    }
+
+    @Test
+    public void shouldRemoveManyDeletedFilesFromContainerTest() throws Exception {
+        try (
+            GenericContainer alpineSyncToContainer = new GenericContainer(ALPINE_IMAGE)
+                .withCommand("top")
+        ) {
+
+            alpineSyncToContainer.start();
+            File source = temporaryFolder.newFolder("source");
+            // more paths than a single command accepts
+            String longName = StringUtils.repeat("x", 200);
+            for (int i = 0; i < 2000; i++) {
+                FileUtils.writeStringToFile(new File(source, longName + i), "deleted", StandardCharsets.UTF_8);
+            }
+            alpineSyncToContainer.syncDirectoryToContainer(source.getPath(), "/home/sync");
+
+            FileUtils.cleanDirectory(source);
+            alpineSyncToContainer.syncDirectoryToContainer(source.getPath(), "/home/sync");
+            assertEquals("deleted files are removed", "0",
+                alpineSyncToContainer.execInContainer("sh", "-c", "ls /home/sync | wc -l").getStdout().trim()
+            );
+        }
+    }
 }
@@ -0,0 +1,142 @@
+package org.testcontainers.utility;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.command.EventsCmd;
+import com.github.dockerjava.api.model.Event;
+import com.github.dockerjava.api.model.EventType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class DockerEventsHubTest {
+
+    private final DockerClient dockerClient = mock(DockerClient.class);
+
+    private final EventsCmd eventsCmd = mock(EventsCmd.class);
+
+    private final List<ResultCallback<Event>> callbacks = new ArrayList<>();
+
+    private DockerEventsHub hub;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        when(dockerClient.eventsCmd()).thenReturn(eventsCmd);
+        when(eventsCmd.withLabelFilter(anyMap())).thenReturn(eventsCmd);
+        when(eventsCmd.withEventTypeFilter(anyString())).thenReturn(eventsCmd);
+        when(eventsCmd.withSince(anyString())).thenReturn(eventsCmd);
+        when(eventsCmd.exec(any())).thenAnswer(invocation -> {
+            callbacks.add(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+
+        hub = new DockerEventsHub(dockerClient, Collections.singletonMap("org.testcontainers", "true"));
+    }
+
+    @After
+    public void tearDown() {
+        hub.close();
+    }
+
+    @Test
+    public void shouldDispatchEventsByTypeAndActor() {
+        List<Event> allContainers = new ArrayList<>();
+        List<Event> singleContainer = new ArrayList<>();
+        List<Event> networks = new ArrayList<>();
+        hub.addListener(EventType.CONTAINER, allContainers::add);
+        hub.addListener(EventType.CONTAINER, "abc", singleContainer::add);
+        hub.addListener(EventType.NETWORK, networks::add);
+
+        Event first = event(EventType.CONTAINER, "abcdef", "start", 1);
+        Event second = event(EventType.CONTAINER, "123456", "die", 2);
+        emit(first);
+        emit(second);
+
+        assertThat(allContainers).containsExactly(first, second);
+        assertThat(singleContainer).containsExactly(first);
+        assertThat(networks).isEmpty();
+        verify(dockerClient, times(1)).eventsCmd();
+    }
+
+    @Test
+    public void shouldReplayRecentEventsToNewListeners() {
+        hub.addListener(EventType.NETWORK, __ -> {});
+
+        long now = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+        Event old = event(EventType.CONTAINER, "abcdef", "create", now - DockerEventsHub.REPLAY_WINDOW.toNanos() - 1);
+        Event recent = event(EventType.CONTAINER, "abcdef", "die", now);
+        emit(old);
+        emit(recent);
+
+        List<Event> received = new ArrayList<>();
+        hub.addListener(EventType.CONTAINER, "abcdef", received::add);
+
+        assertThat(received).containsExactly(recent);
+    }
+
+    @Test
+    public void shouldSkipEventsReceivedAgainAfterReconnect() {
+        List<Event> received = new ArrayList<>();
+        hub.addListener(EventType.CONTAINER, received::add);
+
+        Event event = event(EventType.CONTAINER, "abcdef", "start", 10);
+        emit(event);
+        emit(event(EventType.CONTAINER, "abcdef", "start", 10));
+        emit(event(EventType.CONTAINER, "abcdef", "create", 5));
+
+        assertThat(received).containsExactly(event);
+    }
+
+    @Test
+    public void shouldNotDispatchToClosedRegistrations() {
+        List<Event> received = new ArrayList<>();
+        hub.addListener(EventType.CONTAINER, received::add).close();
+
+        emit(event(EventType.CONTAINER, "abcdef", "start", 1));
+
+        assertThat(received).isEmpty();
+    }
+
+    @Test
+    public void shouldOpenSeparateStreamForImageEvents() {
+        List<Event> images = new ArrayList<>();
+        hub.addListener(EventType.CONTAINER, __ -> {});
+        hub.addListener(EventType.IMAGE, images::add);
+        hub.addListener(EventType.IMAGE, __ -> {});
+
+        Event pulled = event(EventType.IMAGE, "alpine:3.5", "pull", 1);
+        callbacks.get(1).onNext(pulled);
+
+        assertThat(callbacks).hasSize(2);
+        assertThat(images).containsExactly(pulled);
+        verify(eventsCmd).withEventTypeFilter("image");
+    }
+
+    private void emit(Event event) {
+        callbacks.get(0).onNext(event);
+    }
+
+    private static Event event(EventType type, String id, String status, long timeNano) {
+        Event event = mock(Event.class);
+        when(event.getType()).thenReturn(type);
+        when(event.getId()).thenReturn(id);
+        when(event.getStatus()).thenReturn(status);
+        when(event.getTimeNano()).thenReturn(timeNano);
+        return event;
+    }
+}
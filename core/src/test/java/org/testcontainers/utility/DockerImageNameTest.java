@@ -7,6 +7,8 @@ import org.junit.runners.Parameterized;
 import org.rnorth.visibleassertions.VisibleAssertions;
 
 import static org.rnorth.visibleassertions.VisibleAssertions.assertEquals;
+import static org.rnorth.visibleassertions.VisibleAssertions.assertFalse;
+import static org.rnorth.visibleassertions.VisibleAssertions.assertTrue;
 
 @RunWith(Enclosed.class)
 public class DockerImageNameTest {
@@ -138,4 +140,37 @@ public class DockerImageNameTest {
             }
         }
     }
+
+    public static class Caching {
+
+        @Test
+        public void testSameNameParsedOnce() {
+            DockerImageName first = DockerImageName.parse("registry.foo.com:1234/repo/my-name:1.0");
+            DockerImageName second = DockerImageName.parse("registry.foo.com:1234/repo/my-name:1.0");
+
+            assertTrue("the parsed name is reused", first == second);
+            assertEquals("the uncached parsing gives the same result",
+                DockerImageName.parseUncached("registry.foo.com:1234/repo/my-name:1.0"), first);
+        }
+
+        @Test
+        public void testDeprecatedConstructorUsesParsedName() {
+            @SuppressWarnings("deprecation")
+            DockerImageName imageName = new DockerImageName("localhost/my-name@sha256:1234abcd1234abcd1234abcd1234abcd");
+
+            assertEquals("has registry", "localhost", imageName.getRegistry());
+            assertEquals("has version part", "sha256:1234abcd1234abcd1234abcd1234abcd", imageName.getVersionPart());
+            assertEquals("equals the parsed name", DockerImageName.parse("localhost/my-name@sha256:1234abcd1234abcd1234abcd1234abcd"), imageName);
+        }
+
+        @Test
+        public void testRepoNameValidation() {
+            for (String valid : new String[]{"a", "my-name", "my--name", "repo_here/my__name", "a.b/c-d/e_f"}) {
+                assertTrue(valid + " is valid", DockerImageName.isValidRepoName(valid));
+            }
+            for (String invalid : new String[]{"", "/a", "a/", "a//b", "A", "a___b", "a-", "-a", "a.-b", "a:b"}) {
+                assertFalse(invalid + " is invalid", DockerImageName.isValidRepoName(invalid));
+            }
+        }
+    }
 }
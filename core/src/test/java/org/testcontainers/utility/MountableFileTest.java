@@ -2,8 +2,10 @@ package org.testcontainers.utility;
 
 import lombok.Cleanup;
 import org.apache.commons.compress.archivers.ArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
 import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
 import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.io.IOUtils;
 import org.jetbrains.annotations.NotNull;
 import org.junit.Test;
 
@@ -11,10 +13,21 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.LinkOption;
 import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import static org.junit.Assume.assumeTrue;
 import static org.rnorth.visibleassertions.VisibleAssertions.*;
 
 public class MountableFileTest {
@@ -51,6 +64,51 @@ public class MountableFileTest {
         performChecks(mountableFile);
     }
 
+    @Test
+    public void forClasspathResourceFromJarIsExtractedOnce() throws Exception {
+        final String firstPath = MountableFile.forClasspathResource("recursive/dir").getResolvedPath();
+        final File extractedFile = new File(firstPath, "content.txt");
+        final long extractedAt = extractedFile.lastModified();
+
+        final String secondPath = MountableFile.forClasspathResource("recursive/dir").getResolvedPath();
+
+        assertEquals("The resource is extracted to the same location", firstPath, secondPath);
+        assertTrue("The extracted file exists", extractedFile.exists());
+        assertEquals("The extracted file was not extracted again", extractedAt, extractedFile.lastModified());
+    }
+
+    @Test
+    public void forClasspathResourceFromJarExtractedConcurrently() throws Exception {
+        final List<CompletableFuture<String>> resolvedPaths = IntStream.range(0, 8)
+            .mapToObj(__ -> CompletableFuture.supplyAsync(() -> MountableFile.forClasspathResource("META-INF/dummy_unique_name.txt").getResolvedPath()))
+            .collect(Collectors.toList());
+
+        for (CompletableFuture<String> resolvedPath : resolvedPaths) {
+            assertEquals("The resource is extracted to the same location", resolvedPaths.get(0).get(), resolvedPath.get());
+            assertEquals("The extracted resource is complete", 35L, new File(resolvedPath.get()).length());
+        }
+    }
+
+    @Test
+    public void forClasspathResourceFromJarIsExtractedToDirectoryOfCurrentUserOnly() throws Exception {
+        final Path extracted = Paths.get(MountableFile.forClasspathResource("META-INF/dummy_unique_name.txt").getResolvedPath());
+        final Path cacheDirectory = extracted.getParent();
+
+        assumeTrue("POSIX file system", cacheDirectory.getFileSystem().supportedFileAttributeViews().contains("posix"));
+        assertEquals("The directory is only accessible by the current user", "rwx------",
+            PosixFilePermissions.toString(Files.getPosixFilePermissions(cacheDirectory, LinkOption.NOFOLLOW_LINKS)));
+    }
+
+    @Test
+    public void forClasspathResourceFromJarPrivateCopy() throws Exception {
+        final MountableFile mountableFile = MountableFile.forClasspathResource("META-INF/dummy_unique_name.txt");
+
+        final String privatePath = mountableFile.getPrivateResolvedPath();
+
+        assertNotEquals("The private copy is not the reused one", mountableFile.getResolvedPath(), privatePath);
+        assertEquals("The private copy is complete", 35L, new File(privatePath).length());
+    }
+
     @Test
     public void forHostPath() throws Exception {
         final Path file = createTempFile("somepath");
@@ -122,6 +180,35 @@ public class MountableFileTest {
         }
     }
 
+    @Test
+    public void directoryIsArchivedRecursively() throws Exception {
+        final Path dir = createTempDir();
+        Files.createDirectories(dir.resolve("a/b"));
+        Files.write(dir.resolve("a/b/file.txt"), "content".getBytes());
+        Files.write(dir.resolve("top.txt"), new byte[0]);
+
+        @Cleanup final TarArchiveInputStream tais = intoTarArchive((taos) -> {
+            MountableFile.forHostPath(dir).transferTo(taos, "/root");
+        });
+
+        final Map<String, Long> entries = new TreeMap<>();
+        TarArchiveEntry entry;
+        while ((entry = tais.getNextTarEntry()) != null) {
+            entries.put(entry.getName(), entry.getSize());
+            if (entry.getName().equals("root/a/b/file.txt")) {
+                assertEquals("file content is archived", "content", IOUtils.toString(tais, StandardCharsets.UTF_8));
+            }
+        }
+
+        final Map<String, Long> expected = new TreeMap<>();
+        expected.put("root/", 0L);
+        expected.put("root/a/", 0L);
+        expected.put("root/a/b/", 0L);
+        expected.put("root/a/b/file.txt", 7L);
+        expected.put("root/top.txt", 0L);
+        assertEquals("all files and directories are archived with their size", expected, entries);
+    }
+
     private TarArchiveInputStream intoTarArchive(Consumer<TarArchiveOutputStream> consumer) throws IOException {
         @Cleanup final ByteArrayOutputStream baos = new ByteArrayOutputStream();
         @Cleanup final TarArchiveOutputStream taos = new TarArchiveOutputStream(baos);
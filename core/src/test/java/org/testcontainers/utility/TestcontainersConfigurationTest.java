@@ -2,6 +2,7 @@ package org.testcontainers.utility;
 
 import static org.rnorth.visibleassertions.VisibleAssertions.assertEquals;
 import static org.rnorth.visibleassertions.VisibleAssertions.assertFalse;
+import static org.rnorth.visibleassertions.VisibleAssertions.assertThrows;
 import static org.rnorth.visibleassertions.VisibleAssertions.assertTrue;
 
 import java.util.Properties;
@@ -36,6 +37,66 @@ public class TestcontainersConfigurationTest {
         assertEquals("Docker client strategy is changed", "foo", newConfig().getDockerClientStrategyClassName());
     }
 
+    @Test
+    public void shouldReadDockerClientStrategyLatencyFromEnvironmentOnly() {
+        classpathProperties.setProperty("docker.client.strategy.latency", "42");
+        assertEquals("Docker client strategy latency is not affected by classpath properties", null, newConfig().getDockerClientStrategyLatency());
+
+        environmentProperties.setProperty("docker.client.strategy.latency", "12");
+        assertEquals("Docker client strategy latency is read", 12L, newConfig().getDockerClientStrategyLatency());
+
+        environmentProperties.setProperty("docker.client.strategy.latency", "not a number");
+        assertEquals("invalid Docker client strategy latency is ignored", null, newConfig().getDockerClientStrategyLatency());
+    }
+
+    @Test
+    public void shouldReadChecksCacheTtl() {
+        assertEquals("checks are cached for an hour by default", 3600, newConfig().getChecksCacheTtl());
+
+        classpathProperties.setProperty("checks.cache.ttl", "60");
+        assertEquals("checks cache TTL is read from classpath properties", 60, newConfig().getChecksCacheTtl());
+
+        environmentProperties.setProperty("checks.cache.ttl", "0");
+        assertEquals("checks cache TTL is overridden by environment properties", 0, newConfig().getChecksCacheTtl());
+    }
+
+    @Test
+    public void shouldReadImagePullConcurrency() {
+        assertEquals("4 images are pulled at the same time by default", 4, (int) newConfig().getImagePullConcurrency());
+
+        classpathProperties.setProperty("pull.concurrency", "2");
+        assertEquals("pull concurrency is read from classpath properties", 2, (int) newConfig().getImagePullConcurrency());
+
+        environmentProperties.setProperty("pull.concurrency", "0");
+        assertThrows("pull concurrency below 1 is rejected", IllegalArgumentException.class, () -> newConfig().getImagePullConcurrency());
+
+        environmentProperties.setProperty("pull.concurrency", "many");
+        assertThrows("non numeric pull concurrency is rejected", IllegalArgumentException.class, () -> newConfig().getImagePullConcurrency());
+    }
+
+    @Test
+    public void shouldReadBuildContextCompression() {
+        assertEquals("the build context compression depends on the daemon by default", "auto", newConfig().getBuildContextCompression());
+
+        classpathProperties.setProperty("images.build.context.compression", "9");
+        assertEquals("build context compression is read from classpath properties", "9", newConfig().getBuildContextCompression());
+
+        environmentProperties.setProperty("images.build.context.compression", "10");
+        assertThrows("compression levels above 9 are rejected", IllegalArgumentException.class, () -> newConfig().getBuildContextCompression());
+
+        environmentProperties.setProperty("images.build.context.compression", "fast");
+        assertThrows("unknown build context compression is rejected", IllegalArgumentException.class, () -> newConfig().getBuildContextCompression());
+    }
+
+    @Test
+    public void shouldReadUserPropertiesFromEnvironmentOnly() {
+        classpathProperties.setProperty("checks.cache.daemon", "foo");
+        assertEquals("user properties are not affected by classpath properties", "default", newConfig().getUserProperty("checks.cache.daemon", "default"));
+
+        environmentProperties.setProperty("checks.cache.daemon", "bar");
+        assertEquals("user property is read", "bar", newConfig().getUserProperty("checks.cache.daemon", "default"));
+    }
+
     @Test
     public void shouldReadReuseFromEnvironmentOnly() {
         assertFalse("no reuse by default", newConfig().environmentSupportsReuse());
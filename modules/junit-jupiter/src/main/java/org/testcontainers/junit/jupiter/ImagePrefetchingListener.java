@@ -0,0 +1,159 @@
+package org.testcontainers.junit.jupiter;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.junit.platform.commons.util.ReflectionUtils;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.images.RemoteDockerImage;
+import org.testcontainers.utility.TestcontainersConfiguration;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Starts pulling the images of the static {@link Container} fields of the {@link Testcontainers} test classes of the
+ * test plan ahead of their tests, so that the tests don't wait for the pull of their images.
+ * <p>
+ * Test classes are never initialized or instantiated by this listener, as their static initializers and constructors
+ * may have side effects (e.g. start singleton containers) and their failures must be reported by the tests. Only the
+ * fields of classes that are initialized already are read, when the test run starts and whenever a test class starts,
+ * e.g. of classes sharing containers through a common base class. Whether a class is initialized is only known where
+ * {@code sun.misc.Unsafe} tells, otherwise nothing is prefetched.
+ * <p>
+ * Pulls needed by starting containers always take precedence over prefetches. Enabled with
+ * {@code images.prefetch.enable=true}.
+ */
+@Slf4j
+public class ImagePrefetchingListener implements TestExecutionListener {
+
+    private final Set<Class<?>> pendingTestClasses = Collections.synchronizedSet(new LinkedHashSet<>());
+
+    @Override
+    public void testPlanExecutionStarted(TestPlan testPlan) {
+        if (!TestcontainersConfiguration.getInstance().isImagePrefetchEnabled()) {
+            return;
+        }
+        if (!ClassInitialization.isDetectable()) {
+            log.info("Images can't be prefetched, as this JVM doesn't tell whether test classes are initialized");
+            return;
+        }
+
+        for (TestIdentifier root : testPlan.getRoots()) {
+            for (TestIdentifier testIdentifier : testPlan.getDescendants(root)) {
+                testIdentifier.getSource()
+                    .filter(ClassSource.class::isInstance)
+                    .map(source -> ((ClassSource) source).getJavaClass())
+                    .filter(testClass -> AnnotationSupport.isAnnotated(testClass, Testcontainers.class))
+                    .ifPresent(pendingTestClasses::add);
+            }
+        }
+        prefetchInitializedClasses();
+    }
+
+    @Override
+    public void executionStarted(TestIdentifier testIdentifier) {
+        if (testIdentifier.getSource().filter(ClassSource.class::isInstance).isPresent()) {
+            prefetchInitializedClasses();
+        }
+    }
+
+    private void prefetchInitializedClasses() {
+        List<Class<?>> testClasses;
+        synchronized (pendingTestClasses) {
+            testClasses = new ArrayList<>(pendingTestClasses);
+        }
+        for (Class<?> testClass : testClasses) {
+            List<RemoteDockerImage> images = findImages(testClass);
+            if (images != null && pendingTestClasses.remove(testClass)) {
+                images.forEach(RemoteDockerImage::prefetch);
+            }
+        }
+    }
+
+    /**
+     * @return the images of the static container fields of the test class, or null if the class (or one of its
+     * superclasses declaring such fields) is not initialized yet, and the images can't be read without initializing it
+     */
+    static List<RemoteDockerImage> findImages(Class<?> testClass) {
+        List<RemoteDockerImage> images = new ArrayList<>();
+        try {
+            List<Field> fields = ReflectionUtils.findFields(
+                testClass,
+                field -> ReflectionUtils.isStatic(field)
+                    && AnnotationSupport.isAnnotated(field, Container.class)
+                    && GenericContainer.class.isAssignableFrom(field.getType()),
+                ReflectionUtils.HierarchyTraversalMode.TOP_DOWN
+            );
+
+            for (Field field : fields) {
+                if (!ClassInitialization.isInitialized(field.getDeclaringClass())) {
+                    return null;
+                }
+            }
+            for (Field field : fields) {
+                field.setAccessible(true);
+                Object container = field.get(null);
+                if (container != null) {
+                    images.add(((GenericContainer<?>) container).getImage());
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Could not find the images used by {}, they won't be prefetched", testClass.getName(), e);
+        }
+        return images;
+    }
+
+    /**
+     * Tells whether a class is initialized without initializing it, through {@code sun.misc.Unsafe}, which is the only
+     * way to do so
+     */
+    static final class ClassInitialization {
+
+        private static final Object UNSAFE;
+
+        private static final Method SHOULD_BE_INITIALIZED;
+
+        static {
+            Object unsafe = null;
+            Method shouldBeInitialized = null;
+            try {
+                Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+                Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+                theUnsafe.setAccessible(true);
+                unsafe = theUnsafe.get(null);
+                shouldBeInitialized = unsafeClass.getMethod("shouldBeInitialized", Class.class);
+            } catch (Exception e) {
+                log.debug("Can't tell whether classes are initialized", e);
+            }
+            UNSAFE = unsafe;
+            SHOULD_BE_INITIALIZED = shouldBeInitialized;
+        }
+
+        private ClassInitialization() {
+        }
+
+        static boolean isDetectable() {
+            return UNSAFE != null && SHOULD_BE_INITIALIZED != null;
+        }
+
+        static boolean isInitialized(Class<?> type) {
+            if (!isDetectable()) {
+                return false;
+            }
+            try {
+                return !(Boolean) SHOULD_BE_INITIALIZED.invoke(UNSAFE, type);
+            } catch (Exception e) {
+                return false;
+            }
+        }
+    }
+}
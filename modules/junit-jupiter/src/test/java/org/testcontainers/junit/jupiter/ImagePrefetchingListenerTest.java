@@ -0,0 +1,77 @@
+package org.testcontainers.junit.jupiter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.testcontainers.junit.jupiter.JUnitJupiterTestImages.HTTPD_IMAGE;
+import static org.testcontainers.junit.jupiter.JUnitJupiterTestImages.POSTGRES_IMAGE;
+
+class ImagePrefetchingListenerTest {
+
+    @BeforeEach
+    void assumeInitializationIsDetectable() {
+        assumeTrue(ImagePrefetchingListener.ClassInitialization.isDetectable());
+    }
+
+    @Test
+    void should_find_images_of_static_containers_only() {
+        assertThat(DeclaringContainers.instances).as("test class instances before").isZero();
+
+        assertThat(ImagePrefetchingListener.findImages(DeclaringContainers.class))
+            .extracting(Object::toString)
+            .hasSize(1)
+            .allSatisfy(it -> assertThat(it).contains(POSTGRES_IMAGE.asCanonicalNameString()));
+        assertThat(DeclaringContainers.instances).as("test class instances").isZero();
+    }
+
+    @Test
+    void should_ignore_classes_without_containers() {
+        assertThat(ImagePrefetchingListener.findImages(ImagePrefetchingListenerTest.class)).isEmpty();
+    }
+
+    @Test
+    void should_not_initialize_test_classes() throws Exception {
+        Class<?> testClass = Class.forName(FailingInitialization.class.getName(), false, getClass().getClassLoader());
+
+        assertThat(ImagePrefetchingListener.findImages(testClass)).as("images of an uninitialized class").isNull();
+        assertThatThrownBy(() -> Class.forName(testClass.getName(), true, testClass.getClassLoader()))
+            .as("the original failure of the static initializer")
+            .isInstanceOf(ExceptionInInitializerError.class)
+            .hasRootCauseInstanceOf(IllegalStateException.class)
+            .hasRootCauseMessage("original failure");
+    }
+
+    @Testcontainers
+    static class DeclaringContainers {
+
+        @Container
+        private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(POSTGRES_IMAGE);
+
+        @Container
+        private final GenericContainer<?> httpd = new GenericContainer<>(HTTPD_IMAGE);
+
+        private final GenericContainer<?> notManaged = new GenericContainer<>(HTTPD_IMAGE);
+
+        static int instances;
+
+        DeclaringContainers() {
+            instances++;
+        }
+    }
+
+    @Testcontainers
+    static class FailingInitialization {
+
+        @Container
+        private static final GenericContainer<?> httpd = failToCreate();
+
+        private static GenericContainer<?> failToCreate() {
+            throw new IllegalStateException("original failure");
+        }
+    }
+}
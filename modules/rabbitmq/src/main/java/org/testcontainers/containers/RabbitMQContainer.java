@@ -14,6 +14,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import static java.lang.String.join;
 import static java.util.Arrays.asList;
@@ -80,16 +81,23 @@ public class RabbitMQContainer extends GenericContainer<RabbitMQContainer> {
     @Override
     protected void containerIsStarted(InspectContainerResponse containerInfo) {
 
-        values.forEach(command -> {
-            try {
-                ExecResult execResult = execInContainer(command.toArray(new String[0]));
-                if (execResult.getExitCode() != 0) {
-                    logger().error("Could not execute command {}: {}", command, execResult.getStderr());
+        if (values.isEmpty()) {
+            return;
+        }
+
+        List<String[]> commands = values.stream()
+            .map(command -> command.toArray(new String[0]))
+            .collect(Collectors.toList());
+        try {
+            List<ExecResult> execResults = execInContainerBatch(commands, false);
+            for (int i = 0; i < execResults.size(); i++) {
+                if (execResults.get(i).getExitCode() != 0) {
+                    logger().error("Could not execute command {}: {}", values.get(i), execResults.get(i).getStderr());
                 }
-            } catch (IOException | InterruptedException e) {
-                logger().error("Could not execute command {}: {}", command, e.getMessage());
             }
-        });
+        } catch (IOException | InterruptedException e) {
+            logger().error("Could not execute commands {}: {}", values, e.getMessage());
+        }
     }
 
     /**